@@ -0,0 +1,53 @@
+package jp.co.soramitsu.sora.didresolver;
+
+import static java.time.Instant.now;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.security.SignatureException;
+import jp.co.soramitsu.sora.didresolver.util.DDOSigner;
+
+/**
+ * Signed DDOs of different sizes used by benchmarks
+ */
+public final class DDOFixtures {
+
+  public static final String IROHA_ACCOUNT = "admin@test";
+  public static final String PUBLIC_KEY =
+      "313a07e6384776ed95447710d15e59148473ccfc052a681317a72a69f2a49910";
+  public static final String PRIVATE_KEY =
+      "f101537e319568c765b2cc89698325604991dca57b9716b58016b253506cab70";
+
+  /**
+   * Size of the DDO by the number of its public keys and authentications
+   */
+  public enum DDOSize {
+    SMALL(1),
+    TYPICAL(5),
+    HUGE(200);
+
+    private final int keys;
+
+    DDOSize(int keys) {
+      this.keys = keys;
+    }
+
+    public int getKeys() {
+      return keys;
+    }
+  }
+
+  private static final ThreadLocal<DDOSigner> signer = ThreadLocal.withInitial(DDOSigner::new);
+
+  private DDOFixtures() {
+
+  }
+
+  /**
+   * Creates DDO with public keys and authentications, proof creator is the first key
+   */
+  public static JsonNode signedDDO(DDOSize size) throws IOException, SignatureException {
+    DDOSigner ddoSigner = signer.get();
+    return ddoSigner.sign(ddoSigner.newIdentity(size.getKeys()), now(), null);
+  }
+}
@@ -0,0 +1,85 @@
+package jp.co.soramitsu.sora.didresolver.commons;
+
+import static java.util.regex.Pattern.compile;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link DIDScanner} with the regular expressions it replaced in DID, public key and
+ * Iroha key handling
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DIDScannerBenchmark {
+
+  private static final Pattern DID_PATTERN = compile("did:sora:.+");
+  private static final Pattern IDENTIFIER_PATTERN = compile(DIDTypeEnum.USERNAME.getRegexp());
+  private static final Pattern KEY_PATTERN = compile("keys-\\d+");
+  private static final String IROHA_KEY_REGEXP = "[\\s-:.@]";
+
+  @Param({"did:sora:soraUser8", "did:sora:abcdefghijklmnopqrstuvwxyz012345"})
+  private String did;
+
+  private URI publicKey;
+
+  @Setup
+  public void setUp() {
+    publicKey = URI.create(did + "#keys-1");
+  }
+
+  @Benchmark
+  public boolean regexDID() {
+    if (StringUtils.isNotBlank(did) && DID_PATTERN.matcher(did).matches()) {
+      return IDENTIFIER_PATTERN.matcher(StringUtils.split(did, ':')[2]).matches();
+    }
+    return false;
+  }
+
+  @Benchmark
+  public boolean scannerDID() {
+    return DIDScanner.isValidDID(did);
+  }
+
+  @Benchmark
+  public boolean regexPublicKey() {
+    String keyDID = publicKey.getScheme() + ":" + publicKey.getSchemeSpecificPart();
+    String fragment = publicKey.getFragment();
+    return fragment != null && DID_PATTERN.matcher(keyDID).matches()
+        && IDENTIFIER_PATTERN.matcher(StringUtils.split(keyDID, ':')[2]).matches()
+        && KEY_PATTERN.matcher(fragment).matches();
+  }
+
+  @Benchmark
+  public boolean scannerPublicKey() {
+    return DIDScanner.isValidKeyFragment(publicKey.getFragment())
+        && DIDScanner.isValidDID(publicKey.getScheme(), publicKey.getSchemeSpecificPart());
+  }
+
+  @Benchmark
+  public String regexIrohaKey() {
+    return did.replaceAll(IROHA_KEY_REGEXP, "_");
+  }
+
+  @Benchmark
+  public String scannerIrohaKey() {
+    return DIDScanner.toIrohaKey(did);
+  }
+}
@@ -0,0 +1,54 @@
+package jp.co.soramitsu.sora.didresolver.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import javax.validation.Validation;
+import jp.co.soramitsu.sora.didresolver.DDOFixtures.DDOSize;
+import jp.co.soramitsu.sora.didresolver.DDOFixtures;
+import jp.co.soramitsu.sora.didresolver.dto.SignedDDO;
+import jp.co.soramitsu.sora.didresolver.exceptions.DDOUnparseableException;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
+import jp.co.soramitsu.sora.sdk.json.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding and validation of the body of DDO write requests
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DDODecoderBenchmark {
+
+  @Param({"SMALL", "TYPICAL", "HUGE"})
+  private DDOSize size;
+
+  private DDODecoder decoder;
+  private byte[] body;
+
+  @Setup
+  public void setUp() throws Exception {
+    ObjectMapper mapper = JsonUtil.buildMapper();
+    decoder = new DDODecoder(mapper, Validation.buildDefaultValidatorFactory().getValidator(),
+        new StageMetrics(new SimpleMeterRegistry()));
+    body = mapper.writeValueAsBytes(DDOFixtures.signedDDO(size));
+  }
+
+  @Benchmark
+  public SignedDDO decode() throws DDOUnparseableException {
+    return decoder.decode(body);
+  }
+}
@@ -0,0 +1,85 @@
+package jp.co.soramitsu.sora.didresolver.services.impl;
+
+import static jp.co.soramitsu.sora.didresolver.DDOFixtures.IROHA_ACCOUNT;
+import static jp.co.soramitsu.sora.didresolver.DDOFixtures.PRIVATE_KEY;
+import static jp.co.soramitsu.sora.didresolver.DDOFixtures.PUBLIC_KEY;
+import static jp.co.soramitsu.sora.didresolver.commons.DIDScanner.toIrohaKey;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import jp.co.soramitsu.sora.didresolver.DDOFixtures.DDOSize;
+import jp.co.soramitsu.sora.didresolver.DDOFixtures;
+import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
+import jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics;
+import jp.co.soramitsu.sora.sdk.json.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read path of DDO after Iroha has answered: JsonPath extraction of the detail from account detail
+ * response and parsing of the DDO stored in it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IrohaDetailBenchmark {
+
+  @Param({"SMALL", "TYPICAL", "HUGE"})
+  private DDOSize size;
+
+  private IrohaServiceImpl irohaService;
+  private StorageServiceImpl storageService;
+  private String key;
+  private String detail;
+  private String response;
+
+  @Setup
+  public void setUp() throws Exception {
+    ObjectMapper mapper = JsonUtil.buildMapper();
+    IrohaProperties irohaProperties = new IrohaProperties();
+    irohaProperties.getAccount().setName(IROHA_ACCOUNT);
+    irohaProperties.getAccount().setPublicKey(PUBLIC_KEY);
+    irohaProperties.getAccount().setPrivateKey(PRIVATE_KEY);
+    // Iroha is never called, only parsing of its responses is measured
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    StageMetrics stageMetrics = new StageMetrics(registry);
+    irohaService = new IrohaServiceImpl(mapper, irohaProperties, null, null, stageMetrics,
+        new TransactionMetrics(registry));
+    ResolveProperties resolveProperties = new ResolveProperties();
+    resolveProperties.getCache().setEnabled(false);
+    storageService = new StorageServiceImpl(irohaService, stageMetrics, resolveProperties);
+
+    JsonNode ddo = DDOFixtures.signedDDO(size);
+    key = toIrohaKey(ddo.get("id").asText());
+    detail = mapper.writeValueAsString(ddo);
+    response = mapper.writeValueAsString(
+        mapper.createObjectNode().set(IROHA_ACCOUNT, mapper.createObjectNode().put(key, detail)));
+  }
+
+  @Benchmark
+  public Optional<String> readDetail() {
+    return irohaService.readDetail(response, key);
+  }
+
+  @Benchmark
+  public JsonNode parseDdoFromIrohaResponse() {
+    return storageService.parseDdoFromIrohaResponse(detail);
+  }
+}
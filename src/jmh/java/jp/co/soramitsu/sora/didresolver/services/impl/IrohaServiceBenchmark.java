@@ -0,0 +1,101 @@
+package jp.co.soramitsu.sora.didresolver.services.impl;
+
+import static java.util.Collections.singletonList;
+import static jp.co.soramitsu.sora.didresolver.DDOFixtures.IROHA_ACCOUNT;
+import static jp.co.soramitsu.sora.didresolver.DDOFixtures.PRIVATE_KEY;
+import static jp.co.soramitsu.sora.didresolver.DDOFixtures.PUBLIC_KEY;
+import static jp.co.soramitsu.sora.didresolver.config.IrohaBeansConfig.QUERIES;
+import static jp.co.soramitsu.sora.didresolver.config.IrohaBeansConfig.TRANSACTIONS;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import jp.co.soramitsu.sora.didresolver.DDOFixtures.DDOSize;
+import jp.co.soramitsu.sora.didresolver.DDOFixtures;
+import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties;
+import jp.co.soramitsu.sora.didresolver.iroha.FakeIrohaPeer;
+import jp.co.soramitsu.sora.didresolver.iroha.FakeIrohaPeerSettings;
+import jp.co.soramitsu.sora.didresolver.iroha.IrohaBulkhead;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
+import jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics;
+import jp.co.soramitsu.sora.sdk.json.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Iroha client path of the resolver, i.e. signing, gRPC and response handling, against {@link
+ * FakeIrohaPeer} so that the ledger itself doesn't dominate the results
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IrohaServiceBenchmark {
+
+  @Param({"SMALL", "TYPICAL", "HUGE"})
+  private DDOSize size;
+
+  @Param({"0", "5"})
+  private long commitLatencyMillis;
+
+  private FakeIrohaPeer peer;
+  private IrohaBulkhead queries;
+  private IrohaBulkhead transactions;
+  private IrohaServiceImpl irohaService;
+  private String did;
+  private String ddo;
+
+  @Setup
+  public void setUp() throws Exception {
+    peer = FakeIrohaPeer.start(FakeIrohaPeerSettings.builder()
+        .commitLatency(Duration.ofMillis(commitLatencyMillis))
+        .build());
+    IrohaProperties irohaProperties = new IrohaProperties();
+    irohaProperties.getAccount().setName(IROHA_ACCOUNT);
+    irohaProperties.getAccount().setPublicKey(PUBLIC_KEY);
+    irohaProperties.getAccount().setPrivateKey(PRIVATE_KEY);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    queries = new IrohaBulkhead(QUERIES, singletonList(peer.api()),
+        irohaProperties.getQueries(), registry);
+    transactions = new IrohaBulkhead(TRANSACTIONS, singletonList(peer.api()),
+        irohaProperties.getTransactions(), registry);
+    irohaService = new IrohaServiceImpl(JsonUtil.buildMapper(), irohaProperties, queries,
+        transactions, new StageMetrics(registry), new TransactionMetrics(registry));
+
+    JsonNode json = DDOFixtures.signedDDO(size);
+    ddo = JsonUtil.buildMapper().writeValueAsString(json);
+    did = json.get("id").asText();
+    irohaService.setAccountDetails(did, ddo);
+  }
+
+  @TearDown
+  public void tearDown() {
+    queries.close();
+    transactions.close();
+    peer.close();
+  }
+
+  @Benchmark
+  public Optional<String> getAccountDetails() {
+    return irohaService.getAccountDetails(did);
+  }
+
+  @Benchmark
+  public void setAccountDetails() {
+    irohaService.setAccountDetails(did, ddo);
+  }
+}
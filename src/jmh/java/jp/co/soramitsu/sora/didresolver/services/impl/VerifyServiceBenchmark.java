@@ -0,0 +1,61 @@
+package jp.co.soramitsu.sora.didresolver.services.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import jp.co.soramitsu.sora.didresolver.DDOFixtures;
+import jp.co.soramitsu.sora.didresolver.DDOFixtures.DDOSize;
+import jp.co.soramitsu.sora.didresolver.config.properties.VerifyProperties;
+import jp.co.soramitsu.sora.didresolver.dto.SignedDDO;
+import jp.co.soramitsu.sora.didresolver.exceptions.DIDResolverException;
+import jp.co.soramitsu.sora.sdk.did.model.dto.DDO;
+import jp.co.soramitsu.sora.sdk.json.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Proof verification of DDOs, with and without the verification cache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerifyServiceBenchmark {
+
+  @Param({"SMALL", "TYPICAL", "HUGE"})
+  private DDOSize size;
+
+  @Param({"false", "true"})
+  private boolean cached;
+
+  private VerifyServiceImpl verifyService;
+  private SignedDDO signedDDO;
+
+  @Setup
+  public void setUp() throws Exception {
+    VerifyProperties verifyProperties = new VerifyProperties();
+    verifyProperties.getCache().setEnabled(cached);
+    verifyService = new VerifyServiceImpl(verifyProperties);
+
+    ObjectMapper mapper = JsonUtil.buildMapper();
+    JsonNode json = DDOFixtures.signedDDO(size);
+    signedDDO = new SignedDDO(mapper.treeToValue(json, DDO.class), json,
+        mapper.writeValueAsBytes(json));
+  }
+
+  @Benchmark
+  public boolean verifyIntegrityOfDDO() throws DIDResolverException {
+    return verifyService.verifyIntegrityOfDDO(signedDDO);
+  }
+}
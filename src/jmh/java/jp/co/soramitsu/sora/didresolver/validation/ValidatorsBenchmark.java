@@ -0,0 +1,110 @@
+package jp.co.soramitsu.sora.didresolver.validation;
+
+import static jp.co.soramitsu.sora.didresolver.commons.CryptoActionTypeEnum.VERIFY;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import jp.co.soramitsu.sora.didresolver.commons.CryptoTypeEnum;
+import jp.co.soramitsu.sora.didresolver.validation.constrains.CryptoTypeConstraint;
+import jp.co.soramitsu.sora.didresolver.validation.constrains.ExactlyOneConstraint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanWrapperImpl;
+
+/**
+ * Compares validators with precomputed accessors and crypto type sets against reflective Hibernate
+ * Validator run and the former per-call {@link BeanWrapperImpl} / list based checks
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorsBenchmark {
+
+  private static final String[] GROUP = {"publicKeyHex", "publicKeyBase64", "publicKeyPem"};
+
+  private Validator hibernateValidator;
+  private ExactlyOneValidator exactlyOneValidator;
+  private CryptoTypeValidator cryptoTypeValidator;
+  private Key key;
+
+  @Setup
+  public void setUp() {
+    hibernateValidator = Validation.buildDefaultValidatorFactory().getValidator();
+    exactlyOneValidator = new ExactlyOneValidator();
+    exactlyOneValidator.initialize(Key.class.getAnnotation(ExactlyOneConstraint.class));
+    cryptoTypeValidator = new CryptoTypeValidator();
+    cryptoTypeValidator.initialize(annotationOf("type", CryptoTypeConstraint.class));
+    key = new Key();
+    hibernateValidator.validate(key);
+  }
+
+  @Benchmark
+  public Object hibernateValidator() {
+    return hibernateValidator.validate(key);
+  }
+
+  @Benchmark
+  public boolean precompiledValidators() {
+    return exactlyOneValidator.isValid(key, null)
+        & cryptoTypeValidator.isValid(key.getType(), null);
+  }
+
+  @Benchmark
+  public boolean reflectiveValidators() {
+    int filled = 0;
+    for (String element : GROUP) {
+      if (new BeanWrapperImpl(key).getPropertyValue(element) != null) {
+        filled++;
+      }
+    }
+    return filled == 1 & CryptoTypeEnum.getCryptoTypes(VERIFY).contains(key.getType());
+  }
+
+  private static <A extends Annotation> A annotationOf(String field, Class<A> annotation) {
+    try {
+      return Key.class.getDeclaredField(field).getAnnotation(annotation);
+    } catch (NoSuchFieldException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @ExactlyOneConstraint(group = {"publicKeyHex", "publicKeyBase64", "publicKeyPem"})
+  public static class Key {
+
+    @CryptoTypeConstraint(cryptoTypeEnum = VERIFY)
+    private String type = "Ed25519Sha3VerificationKey";
+    private String publicKeyHex =
+        "313a07e6384776ed95447710d15e59148473ccfc052a681317a72a69f2a49910";
+    private String publicKeyBase64;
+    private String publicKeyPem;
+
+    public String getType() {
+      return type;
+    }
+
+    public String getPublicKeyHex() {
+      return publicKeyHex;
+    }
+
+    public String getPublicKeyBase64() {
+      return publicKeyBase64;
+    }
+
+    public String getPublicKeyPem() {
+      return publicKeyPem;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package jp.co.soramitsu.sora.didresolver.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import lombok.AllArgsConstructor;
+
+/**
+ * Bounded LRU of DDOs resolved from the ledger by DID. Entries expire after a fixed time, writes
+ * made by this instance invalidate the DID right away, writes of other instances become visible
+ * on expiration. Absent DDOs are not cached, so a registration is visible immediately.
+ *
+ * <p>A DDO loaded before an invalidation may be older than the write that caused it, such DDO is
+ * not put into the cache. Loads are tagged with the number of invalidations of their DID made
+ * before them, so writes of other DIDs don't keep DDOs out of the cache. The numbers are kept for
+ * every DID written by this instance
+ */
+public class DDOCache {
+
+  private final Map<String, Entry> entries;
+  private final long expireAfterNanos;
+  /**
+   * Number of invalidations by DID, changed under the lock of the entries
+   */
+  private final Map<String, Long> invalidations = new ConcurrentHashMap<>();
+
+  public DDOCache(int maxSize, long expireAfterNanos) {
+    this.expireAfterNanos = expireAfterNanos;
+    this.entries = Collections.synchronizedMap(
+        new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+          }
+        });
+  }
+
+  public Optional<ResolvedDDO> get(String did) {
+    Entry entry = entries.get(did);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (System.nanoTime() - entry.loadedAt > expireAfterNanos) {
+      entries.remove(did, entry);
+      return Optional.empty();
+    }
+    return Optional.of(entry.ddo);
+  }
+
+  /**
+   * Has to be called before the DDO is read from the ledger
+   *
+   * @return tag of the load to pass to {@link #put(String, ResolvedDDO, long)}
+   */
+  public long startLoad(String did) {
+    return invalidations.getOrDefault(did, 0L);
+  }
+
+  /**
+   * Caches the DDO unless the DID was invalidated since the load started
+   */
+  public void put(String did, ResolvedDDO ddo, long load) {
+    synchronized (entries) {
+      if (invalidations.getOrDefault(did, 0L) == load) {
+        entries.put(did, new Entry(ddo, System.nanoTime()));
+      }
+    }
+  }
+
+  public void invalidate(String did) {
+    synchronized (entries) {
+      invalidations.merge(did, 1L, Long::sum);
+      entries.remove(did);
+    }
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  @AllArgsConstructor
+  private static final class Entry {
+
+    private final ResolvedDDO ddo;
+    private final long loadedAt;
+  }
+}
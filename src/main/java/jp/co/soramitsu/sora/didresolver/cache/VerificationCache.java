@@ -0,0 +1,70 @@
+package jp.co.soramitsu.sora.didresolver.cache;
+
+import static java.lang.Boolean.TRUE;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded LRU record of DDOs whose proof has already been verified successfully. Entries are keyed by
+ * SHA-256 of the serialized DDO (proof included) and the raw bytes of the creator public key, so a
+ * byte-identical resubmission is recognized without running Ed25519 verification again. Failed
+ * verifications are never remembered.
+ */
+@Slf4j
+public class VerificationCache {
+
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+
+  private final Map<ByteBuffer, Boolean> verified;
+
+  public VerificationCache(int maxSize) {
+    this.verified = Collections.synchronizedMap(
+        new LinkedHashMap<ByteBuffer, Boolean>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Boolean> eldest) {
+            return size() > maxSize;
+          }
+        });
+  }
+
+  /**
+   * Builds cache key for the given DDO representation and creator public key
+   *
+   * @param serializedDDO - serialized DDO including its proof
+   * @param publicKey - value of the public key referenced by proof creator
+   */
+  public ByteBuffer key(byte[] serializedDDO, byte[] publicKey) {
+    MessageDigest digest = newDigest();
+    digest.update(serializedDDO);
+    digest.update(publicKey);
+    return ByteBuffer.wrap(digest.digest());
+  }
+
+  public boolean isVerified(ByteBuffer key) {
+    // get instead of containsKey so that the hit refreshes entry recency
+    return verified.get(key) != null;
+  }
+
+  public void markVerified(ByteBuffer key) {
+    verified.put(key, TRUE);
+  }
+
+  public int size() {
+    return verified.size();
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      log.error("{} is not supported by the security provider", DIGEST_ALGORITHM);
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package jp.co.soramitsu.sora.didresolver.changes;
+
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.TOO_MANY_REQUESTS;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import jp.co.soramitsu.sora.didresolver.changes.ChangeSubscription.BlockChanges;
+import jp.co.soramitsu.sora.didresolver.config.properties.ChangeFeedProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.DDOChange;
+import jp.co.soramitsu.sora.didresolver.exceptions.DIDResolverException;
+import jp.co.soramitsu.sora.didresolver.exceptions.VersionNotIndexedException;
+import jp.co.soramitsu.sora.didresolver.iroha.BlockFollower;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock;
+import jp.co.soramitsu.sora.didresolver.services.HistoryService;
+import jp.co.soramitsu.sora.didresolver.services.IrohaService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes changes of DDOs to subscribers as blocks are followed. Changes of a followed block are
+ * read once and queued for every live subscriber. A subscriber which resumes from an earlier block,
+ * or which falls behind, reads the missed blocks from the ledger on its own thread until it catches
+ * up with the followed height and goes live again, so slow subscribers don't hold the follower
+ */
+@Slf4j
+@Component
+public class ChangeFeed implements Closeable {
+
+  private final HistoryService historyService;
+  private final IrohaService irohaService;
+  private final BlockFollower blockFollower;
+  private final boolean enabled;
+  private final int maxSubscribers;
+  private final int maxQueuedBlocks;
+  private final long heartbeatMillis;
+  private final ExecutorService senders;
+  private final Set<ChangeSubscription> subscriptions = new HashSet<>();
+  /**
+   * Height of the last followed block
+   */
+  private long height;
+
+  public ChangeFeed(HistoryService historyService, IrohaService irohaService,
+      BlockFollower blockFollower, ResolveProperties resolveProperties,
+      ChangeFeedProperties changeFeedProperties) {
+    this.historyService = historyService;
+    this.irohaService = irohaService;
+    this.blockFollower = blockFollower;
+    // changes are told apart by versions of DDOs
+    this.enabled = resolveProperties.getHistory().isEnabled();
+    this.maxSubscribers = changeFeedProperties.getMaxSubscribers();
+    this.maxQueuedBlocks = changeFeedProperties.getMaxQueuedBlocks();
+    this.heartbeatMillis = changeFeedProperties.getHeartbeatInterval().toMillis();
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("changes-");
+    threadFactory.setDaemon(true);
+    this.senders = Executors.newCachedThreadPool(threadFactory);
+    if (enabled) {
+      blockFollower.addListener(this::followed);
+    }
+  }
+
+  /**
+   * Opens stream of changes
+   *
+   * @param filter - only matching changes are sent
+   * @param after - height of the block after which changes are sent, {@code null} for changes
+   * committed from now on, not above the followed height
+   */
+  public SseEmitter subscribe(Predicate<DDOChange> filter, Long after)
+      throws DIDResolverException {
+    if (!enabled) {
+      throw new VersionNotIndexedException("Changes are not available, versions are not indexed");
+    }
+    if (!blockFollower.isLive()) {
+      throw new VersionNotIndexedException(
+          "Blocks are being indexed, the last indexed block is " + blockFollower.getHeight());
+    }
+    // the stream stays open until the client or the server closes it
+    SseEmitter emitter = new SseEmitter(0L);
+    ChangeSubscription subscription;
+    synchronized (this) {
+      if (subscriptions.size() >= maxSubscribers) {
+        throw new DIDResolverException(
+            "Limit of " + maxSubscribers + " streams of changes is reached", TOO_MANY_REQUESTS);
+      }
+      if (after != null && after > height) {
+        // the subscription would go live at once and be sent followed blocks up to the height
+        throw new IllegalArgumentException(
+            "Height of the block " + after + " is above the followed height " + height);
+      }
+      subscription = new ChangeSubscription(emitter, filter, after == null ? height : after,
+          maxQueuedBlocks);
+      subscriptions.add(subscription);
+    }
+    emitter.onCompletion(() -> unsubscribe(subscription));
+    emitter.onTimeout(() -> unsubscribe(subscription));
+    emitter.onError(error -> unsubscribe(subscription));
+    senders.execute(() -> send(subscription));
+    log.debug("stream of changes after block {} is opened", subscription.getSent());
+    return emitter;
+  }
+
+  @Override
+  public void close() {
+    senders.shutdownNow();
+    List<ChangeSubscription> open;
+    synchronized (this) {
+      open = new ArrayList<>(subscriptions);
+      subscriptions.clear();
+    }
+    open.forEach(ChangeSubscription::complete);
+  }
+
+  /**
+   * Queues changes of the block for live subscribers, called on the thread of the follower
+   */
+  private void followed(CommittedBlock block) {
+    synchronized (this) {
+      if (subscriptions.isEmpty()) {
+        // subscribers which come later start after this block
+        height = block.getHeight();
+        return;
+      }
+    }
+    BlockChanges changes = new BlockChanges(block.getHeight(), historyService.readChanges(block));
+    synchronized (this) {
+      height = block.getHeight();
+      for (ChangeSubscription subscription : subscriptions) {
+        if (subscription.isLive()) {
+          subscription.publish(changes);
+        }
+      }
+    }
+  }
+
+  private void send(ChangeSubscription subscription) {
+    try {
+      while (!subscription.isClosed()) {
+        if (!isLive(subscription)) {
+          sendNextBlock(subscription);
+          continue;
+        }
+        BlockChanges changes = subscription.poll(heartbeatMillis);
+        if (changes != null) {
+          subscription.send(changes);
+        } else if (!subscription.isClosed()) {
+          subscription.heartbeat();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      log.debug("subscriber of changes is gone: {}", e.getMessage());
+    } catch (Exception e) {
+      // also IrohaUnavailableException, which bulkheads throw unchecked
+      log.warn("stream of changes failed after block {}", subscription.getSent(), e);
+    } finally {
+      subscription.complete();
+      unsubscribe(subscription);
+    }
+  }
+
+  /**
+   * Makes the subscription live when every followed block is sent to it
+   */
+  private synchronized boolean isLive(ChangeSubscription subscription) {
+    if (!subscription.isLive() && subscription.getSent() >= height) {
+      subscription.goLive();
+    }
+    return subscription.isLive();
+  }
+
+  private void sendNextBlock(ChangeSubscription subscription) throws IOException {
+    long next = subscription.getSent() + 1;
+    CommittedBlock block = irohaService.getBlock(next)
+        .orElseThrow(() -> new IllegalStateException("Block " + next + " can't be read"));
+    subscription.send(new BlockChanges(next, historyService.readChanges(block)));
+  }
+
+  private synchronized void unsubscribe(ChangeSubscription subscription) {
+    subscription.closed();
+    subscriptions.remove(subscription);
+  }
+}
@@ -0,0 +1,142 @@
+package jp.co.soramitsu.sora.didresolver.changes;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Predicate;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.DDOChange;
+import lombok.Value;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Stream of changes of one subscriber. Changes are sent on the thread of the subscription, blocks
+ * published while the subscriber is live are queued for it. The id of the last event of a block is
+ * the height of the block, so a reconnecting client resumes right after it with
+ * {@code Last-Event-ID}
+ */
+class ChangeSubscription {
+
+  private final SseEmitter emitter;
+  private final Predicate<DDOChange> filter;
+  private final BlockingQueue<BlockChanges> queue;
+  /**
+   * Height of the last sent block, only the thread of the subscription reads and writes it
+   */
+  private long sent;
+  /**
+   * Whether published blocks are queued, otherwise the subscription reads blocks from the ledger.
+   * Guarded by {@link ChangeFeed}
+   */
+  private boolean live;
+  private volatile boolean closed;
+
+  ChangeSubscription(SseEmitter emitter, Predicate<DDOChange> filter, long after,
+      int maxQueuedBlocks) {
+    this.emitter = emitter;
+    this.filter = filter;
+    this.sent = after;
+    this.queue = new ArrayBlockingQueue<>(maxQueuedBlocks);
+  }
+
+  long getSent() {
+    return sent;
+  }
+
+  boolean isLive() {
+    return live;
+  }
+
+  /**
+   * Starts queueing published blocks, the caller guarantees that every block up to the sent one is
+   * sent
+   */
+  void goLive() {
+    live = true;
+  }
+
+  /**
+   * Queues the block, when the queue is full the subscription goes back to reading blocks from the
+   * ledger starting after the last sent one
+   */
+  void publish(BlockChanges changes) {
+    if (!queue.offer(changes)) {
+      live = false;
+      queue.clear();
+    }
+  }
+
+  /**
+   * Next published block, {@code null} when there is none within the timeout
+   */
+  BlockChanges poll(long timeoutMillis) throws InterruptedException {
+    return queue.poll(timeoutMillis, MILLISECONDS);
+  }
+
+  void send(BlockChanges block) throws IOException {
+    if (block.getHeight() <= sent) {
+      return;
+    }
+    List<DDOChange> changes = block.getChanges();
+    int last = -1;
+    for (int i = 0; i < changes.size(); i++) {
+      if (filter.test(changes.get(i))) {
+        last = i;
+      }
+    }
+    for (int i = 0; i <= last; i++) {
+      DDOChange change = changes.get(i);
+      if (!filter.test(change)) {
+        continue;
+      }
+      SseEmitter.SseEventBuilder event = SseEmitter.event()
+          .name(change.getKind().name().toLowerCase(Locale.ROOT))
+          .data(change, APPLICATION_JSON);
+      emitter.send(i == last ? event.id(String.valueOf(block.getHeight())) : event);
+    }
+    sent = block.getHeight();
+  }
+
+  /**
+   * Event without data, it moves the last event id of the client to the last sent block and fails
+   * when the client is gone
+   */
+  void heartbeat() throws IOException {
+    emitter.send(SseEmitter.event().id(String.valueOf(sent)));
+  }
+
+  /**
+   * Ends the stream, the thread of the subscription stops before its next event
+   */
+  void complete() {
+    if (!closed) {
+      closed = true;
+      emitter.complete();
+    }
+  }
+
+  /**
+   * Marks the subscription closed by the client or the server
+   */
+  void closed() {
+    closed = true;
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Changes of DDOs made by a block
+   */
+  @Value
+  static class BlockChanges {
+
+    long height;
+    List<DDOChange> changes;
+  }
+}
@@ -1,7 +1,13 @@
 package jp.co.soramitsu.sora.didresolver.commons;
 
+import static java.util.Collections.unmodifiableSet;
+
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Possible algorithms for installing and verifying the signature
@@ -12,6 +18,16 @@ import java.util.List;
 public enum CryptoTypeEnum {
   Ed25519Sha3;
 
+  private static final Map<CryptoActionTypeEnum, Set<String>> CRYPTO_TYPES =
+      new EnumMap<>(CryptoActionTypeEnum.class);
+
+  static {
+    for (CryptoActionTypeEnum actionTypeEnum : CryptoActionTypeEnum.values()) {
+      CRYPTO_TYPES.put(actionTypeEnum,
+          unmodifiableSet(new HashSet<>(getCryptoTypes(actionTypeEnum))));
+    }
+  }
+
   /**
    * Get various crypto types for given crypto action
    */
@@ -22,4 +38,11 @@ public enum CryptoTypeEnum {
     }
     return cryptoTypes;
   }
+
+  /**
+   * Get precomputed set of crypto types for given crypto action
+   */
+  public static Set<String> getCryptoTypeSet(CryptoActionTypeEnum actionTypeEnum) {
+    return CRYPTO_TYPES.get(actionTypeEnum);
+  }
 }
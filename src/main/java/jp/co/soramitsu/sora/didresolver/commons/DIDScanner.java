@@ -0,0 +1,175 @@
+package jp.co.soramitsu.sora.didresolver.commons;
+
+/**
+ * Hand-written scanner of Sora DIDs shared by validators and the Iroha key derivation. It replaces
+ * the regular expressions previously used for the same checks and does not allocate, the only
+ * exception being the Iroha key when the DID contains characters that have to be replaced.
+ *
+ * <p>DID is valid when it starts with {@code did:sora:}, has no line terminators and the first
+ * non-empty segment after the prefix is the {@link DIDTypeEnum#USERNAME} identifier, i.e. 6 to 32
+ * latin letters or digits. Segments after the identifier are not restricted.
+ */
+public final class DIDScanner {
+
+  private static final String SCHEME = "did";
+  private static final String METHOD = "sora";
+  private static final String PREFIX = SCHEME + ":" + METHOD + ":";
+  private static final String KEY_FRAGMENT_PREFIX = "keys-";
+  private static final char DELIMITER = ':';
+  private static final char IROHA_KEY_REPLACEMENT = '_';
+  private static final int MIN_IDENTIFIER_LENGTH = 6;
+  private static final int MAX_IDENTIFIER_LENGTH = 32;
+
+  private DIDScanner() {
+
+  }
+
+  /**
+   * Checks format of the DID
+   *
+   * @param did - DID, may be {@code null}
+   */
+  public static boolean isValidDID(CharSequence did) {
+    return did != null && startsWith(did, 0, PREFIX)
+        && isValidAfterMethod(did, PREFIX.length());
+  }
+
+  /**
+   * Checks that the value looks like a Sora DID, i.e. {@code did:sora:} followed by at least one
+   * character, without checking the identifier
+   */
+  public static boolean isStructuredDID(CharSequence did) {
+    if (did == null || did.length() == PREFIX.length() || !startsWith(did, 0, PREFIX)) {
+      return false;
+    }
+    return !containsLineTerminator(did, PREFIX.length());
+  }
+
+  /**
+   * Checks format of the DID split by {@link java.net.URI} into scheme and scheme specific part
+   *
+   * @param scheme - scheme of the DID URI, expected to be "did"
+   * @param schemeSpecificPart - the rest of DID URI without fragment
+   */
+  public static boolean isValidDID(String scheme, String schemeSpecificPart) {
+    return SCHEME.equals(scheme) && schemeSpecificPart != null
+        && startsWith(schemeSpecificPart, 0, METHOD)
+        && schemeSpecificPart.length() > METHOD.length()
+        && schemeSpecificPart.charAt(METHOD.length()) == DELIMITER
+        && isValidAfterMethod(schemeSpecificPart, METHOD.length() + 1);
+  }
+
+  /**
+   * Checks that fragment of the public key id is {@code keys-<number>}
+   */
+  public static boolean isValidKeyFragment(CharSequence fragment) {
+    if (fragment == null || !startsWith(fragment, 0, KEY_FRAGMENT_PREFIX)
+        || fragment.length() == KEY_FRAGMENT_PREFIX.length()) {
+      return false;
+    }
+    for (int i = KEY_FRAGMENT_PREFIX.length(); i < fragment.length(); i++) {
+      char c = fragment.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Maps DID to a key accepted by Iroha account details, whitespace and {@code - : . @} are
+   * replaced with underscore. The given string is returned as is when there is nothing to replace
+   */
+  public static String toIrohaKey(String did) {
+    int first = 0;
+    while (first < did.length() && !isReplacedInIrohaKey(did.charAt(first))) {
+      first++;
+    }
+    if (first == did.length()) {
+      return did;
+    }
+    char[] key = did.toCharArray();
+    for (int i = first; i < key.length; i++) {
+      if (isReplacedInIrohaKey(key[i])) {
+        key[i] = IROHA_KEY_REPLACEMENT;
+      }
+    }
+    return new String(key);
+  }
+
+  /**
+   * Checks the part of the DID after {@code did:sora:}
+   */
+  private static boolean isValidAfterMethod(CharSequence did, int from) {
+    int length = did.length();
+    if (from >= length || containsLineTerminator(did, from)) {
+      return false;
+    }
+    int start = from;
+    while (start < length && did.charAt(start) == DELIMITER) {
+      start++;
+    }
+    if (start == length) {
+      return false;
+    }
+    int end = start;
+    while (end < length && did.charAt(end) != DELIMITER) {
+      if (!isLatinLetterOrDigit(did.charAt(end))) {
+        return false;
+      }
+      end++;
+    }
+    int identifierLength = end - start;
+    return identifierLength >= MIN_IDENTIFIER_LENGTH && identifierLength <= MAX_IDENTIFIER_LENGTH;
+  }
+
+  private static boolean containsLineTerminator(CharSequence value, int from) {
+    for (int i = from; i < value.length(); i++) {
+      if (isLineTerminator(value.charAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean startsWith(CharSequence value, int offset, String prefix) {
+    if (value.length() - offset < prefix.length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (value.charAt(offset + i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isLatinLetterOrDigit(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+  }
+
+  /**
+   * Characters not matched by '.' in regular expressions
+   */
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
+
+  private static boolean isReplacedInIrohaKey(char c) {
+    switch (c) {
+      case ' ':
+      case '\t':
+      case '\n':
+      case '\u000B':
+      case '\f':
+      case '\r':
+      case '-':
+      case ':':
+      case '.':
+      case '@':
+        return true;
+      default:
+        return false;
+    }
+  }
+}
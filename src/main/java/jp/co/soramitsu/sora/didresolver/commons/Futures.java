@@ -0,0 +1,25 @@
+package jp.co.soramitsu.sora.didresolver.commons;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.SneakyThrows;
+
+public final class Futures {
+
+  private Futures() {
+
+  }
+
+  /**
+   * Result of the task, exceptions of the task, e.g. of the ledger, are rethrown as they are
+   * instead of being wrapped in {@link CompletionException}
+   */
+  @SneakyThrows
+  public static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw e.getCause() == null ? e : e.getCause();
+    }
+  }
+}
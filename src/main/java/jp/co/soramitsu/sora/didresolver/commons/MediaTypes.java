@@ -0,0 +1,18 @@
+package jp.co.soramitsu.sora.didresolver.commons;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import lombok.NoArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Binary formats of responses negotiated by {@code Accept} in addition to JSON
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class MediaTypes {
+
+  public static final String APPLICATION_CBOR_VALUE = "application/cbor";
+  public static final MediaType APPLICATION_CBOR = MediaType.valueOf(APPLICATION_CBOR_VALUE);
+  public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+  public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+}
@@ -8,6 +8,12 @@ import lombok.NoArgsConstructor;
 public final class URIConstants {
 
   public static final String ID_PARAM = "/{did}";
+  public static final String KEY_PARAM = "/keys/{fragment}";
   private static final String V1 = "/v1";
   public static final String PATH = V1 + "/did";
+  public static final String BATCH = "/batch";
+  public static final String LOOKUP = "/lookup";
+  public static final String CHANGES = "/changes";
+  public static final String VERIFY = "/verify";
+  public static final String VERIFY_BATCH = VERIFY + "/batch";
 }
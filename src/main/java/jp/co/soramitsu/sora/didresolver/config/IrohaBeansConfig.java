@@ -1,7 +1,12 @@
 package jp.co.soramitsu.sora.didresolver.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
 import jp.co.soramitsu.iroha.java.IrohaAPI;
 import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties.BulkheadProperties;
+import jp.co.soramitsu.sora.didresolver.iroha.IrohaBulkhead;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.context.annotation.Bean;
@@ -11,13 +16,31 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class IrohaBeansConfig {
 
-  @Bean
-  public IrohaAPI irohaApi(IrohaProperties irohaProperties) {
-    val api = new IrohaAPI(
-        irohaProperties.getConnection().getHost(),
-        irohaProperties.getConnection().getPort()
-    );
-    log.debug("creating Iroha channel instance: {}", api.getUri());
-    return api;
+  public static final String QUERIES = "queries";
+  public static final String TRANSACTIONS = "transactions";
+
+  @Bean(destroyMethod = "close")
+  public IrohaBulkhead irohaQueries(IrohaProperties irohaProperties, MeterRegistry registry) {
+    return bulkhead(QUERIES, irohaProperties, irohaProperties.getQueries(), registry);
+  }
+
+  @Bean(destroyMethod = "close")
+  public IrohaBulkhead irohaTransactions(IrohaProperties irohaProperties,
+      MeterRegistry registry) {
+    return bulkhead(TRANSACTIONS, irohaProperties, irohaProperties.getTransactions(), registry);
+  }
+
+  private static IrohaBulkhead bulkhead(String name, IrohaProperties irohaProperties,
+      BulkheadProperties bulkheadProperties, MeterRegistry registry) {
+    List<IrohaAPI> channels = new ArrayList<>(bulkheadProperties.getChannels());
+    for (int i = 0; i < bulkheadProperties.getChannels(); i++) {
+      val api = new IrohaAPI(
+          irohaProperties.getConnection().getHost(),
+          irohaProperties.getConnection().getPort()
+      );
+      log.debug("creating Iroha {} channel instance: {}", name, api.getUri());
+      channels.add(api);
+    }
+    return new IrohaBulkhead(name, channels, bulkheadProperties, registry);
   }
 }
@@ -1,17 +1,44 @@
 package jp.co.soramitsu.sora.didresolver.config;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties.ExecutorProperties;
 import jp.co.soramitsu.sora.sdk.json.JsonUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 @Slf4j
 @Configuration
 public class MiscBeansConfig {
 
+  public static final String RESOLUTION_EXECUTOR = "resolutionExecutor";
+
   @Bean
   public ObjectMapper mapper() {
     return JsonUtil.buildMapper();
   }
+
+  /**
+   * Bounded pool for work a single request fans out, e.g. resolution of referenced DDOs or
+   * verification of a batch. The common fork join pool is not used, so blocking reads from the
+   * ledger don't starve other parallel work. When the queue is full the request thread runs the
+   * task itself
+   */
+  @Bean(name = RESOLUTION_EXECUTOR, destroyMethod = "shutdownNow")
+  public ExecutorService resolutionExecutor(ResolveProperties resolveProperties) {
+    ExecutorProperties properties = resolveProperties.getExecutor();
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("resolution-");
+    threadFactory.setDaemon(true);
+    return new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0,
+        MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueSize()), threadFactory,
+        new CallerRunsPolicy());
+  }
 }
@@ -0,0 +1,43 @@
+package jp.co.soramitsu.sora.didresolver.config;
+
+import static org.springframework.cloud.sleuth.zipkin2.ZipkinAutoConfiguration.REPORTER_BEAN_NAME;
+
+import jp.co.soramitsu.sora.didresolver.config.properties.TracingProperties;
+import jp.co.soramitsu.sora.didresolver.tracing.TailSamplingReporter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import zipkin2.Span;
+import zipkin2.reporter.Reporter;
+
+@Slf4j
+@Configuration
+public class TracingConfig {
+
+  /**
+   * Puts tail-based sampling in front of the Zipkin reporter created by Sleuth
+   */
+  @Bean
+  public static BeanPostProcessor tailSamplingPostProcessor(
+      ObjectProvider<TracingProperties> tracingProperties) {
+    return new BeanPostProcessor() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!REPORTER_BEAN_NAME.equals(beanName) || !(bean instanceof Reporter)) {
+          return bean;
+        }
+        val sampling = tracingProperties.getObject().getSampling();
+        if (!sampling.isEnabled()) {
+          return bean;
+        }
+        log.info("exporting traces slower than {}, with errors or at base rate {}",
+            sampling.getSlowThreshold(), sampling.getBaseRate());
+        return new TailSamplingReporter((Reporter<Span>) bean, sampling);
+      }
+    };
+  }
+}
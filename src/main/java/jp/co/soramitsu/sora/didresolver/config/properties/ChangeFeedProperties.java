@@ -0,0 +1,27 @@
+package jp.co.soramitsu.sora.didresolver.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@ConfigurationProperties(prefix = "changes", ignoreUnknownFields = false)
+@Component
+@Data
+public class ChangeFeedProperties {
+
+  /**
+   * Maximum number of open streams of changes, each stream takes a thread
+   */
+  private int maxSubscribers = 100;
+  /**
+   * Blocks waiting to be sent to a subscriber, a subscriber which falls behind further reads the
+   * missed blocks from the ledger instead
+   */
+  private int maxQueuedBlocks = 1000;
+  /**
+   * Interval of events without data sent to idle subscribers, they carry the height of the last
+   * sent block and reveal closed connections
+   */
+  private Duration heartbeatInterval = Duration.ofSeconds(15);
+}
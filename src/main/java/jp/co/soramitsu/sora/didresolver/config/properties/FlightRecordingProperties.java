@@ -0,0 +1,23 @@
+package jp.co.soramitsu.sora.didresolver.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "jfr", ignoreUnknownFields = false)
+@Component
+@Data
+public class FlightRecordingProperties {
+
+  /**
+   * Name of the JDK recording configuration, "default" or "profile"
+   */
+  private String settings = "profile";
+  /**
+   * Upper bound of the data kept by a recording, requests may only lower it
+   */
+  private Duration maxAge = Duration.ofMinutes(10);
+  private DataSize maxSize = DataSize.ofMegabytes(100);
+}
@@ -5,7 +5,10 @@ import static jp.co.soramitsu.crypto.ed25519.Ed25519Sha3.privateKeyFromBytes;
 import static jp.co.soramitsu.crypto.ed25519.Ed25519Sha3.publicKeyFromBytes;
 
 import java.security.KeyPair;
+import java.time.Duration;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
@@ -25,6 +28,27 @@ public class IrohaProperties {
   @NestedConfigurationProperty
   private ConnectionProperties connection = new ConnectionProperties();
 
+  /**
+   * Channels and threads of account detail queries
+   */
+  @NestedConfigurationProperty
+  private BulkheadProperties queries = new BulkheadProperties(2, 32, 256, Duration.ofSeconds(10));
+
+  /**
+   * Channels and threads of transactions, threads wait for the commit
+   */
+  @NestedConfigurationProperty
+  private BulkheadProperties transactions =
+      new BulkheadProperties(1, 16, 64, Duration.ofSeconds(60));
+
+  @NestedConfigurationProperty
+  private BlocksProperties blocks = new BlocksProperties();
+
+  /**
+   * Number of account details read by one query when all of them are read, e.g. to rebuild indexes
+   */
+  private int detailsPageSize = 100;
+
   @Data
   public static class AccountProperties {
 
@@ -45,4 +69,33 @@ public class IrohaProperties {
     private String host;
     private int port;
   }
+
+  @Data
+  public static class BlocksProperties {
+
+    /**
+     * Delay before following blocks of the ledger is retried after the stream breaks
+     */
+    private Duration retryInterval = Duration.ofSeconds(5);
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class BulkheadProperties {
+
+    /**
+     * Number of gRPC channels calls are spread over
+     */
+    private int channels = 1;
+    private int threads = 16;
+    /**
+     * Calls waiting for a thread above this number are rejected
+     */
+    private int queueSize = 64;
+    /**
+     * Time to wait for the result of a call, including time in the queue
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+  }
 }
@@ -0,0 +1,50 @@
+package jp.co.soramitsu.sora.didresolver.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.stereotype.Component;
+
+@ConfigurationProperties(prefix = "limits", ignoreUnknownFields = false)
+@Component
+@Data
+public class LimitProperties {
+
+  /**
+   * Limit of GET requests of the DID API and of signature verification, which is posted to
+   * {@code /verify} and {@code /verify/batch} but doesn't change DDOs
+   */
+  @NestedConfigurationProperty
+  private LimiterProperties read = new LimiterProperties();
+
+  /**
+   * Limit of the other requests of the DID API, which register and update DDOs
+   */
+  @NestedConfigurationProperty
+  private LimiterProperties write = new LimiterProperties();
+
+  @Data
+  public static class LimiterProperties {
+
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 500;
+    /**
+     * Ratio of current to long term latency tolerated before the limit is lowered
+     */
+    private double rttTolerance = 1.5;
+    /**
+     * Weight of a new estimation of the limit, from 0 to 1
+     */
+    private double smoothing = 0.2;
+    /**
+     * Number of samples the long term latency is averaged over
+     */
+    private int longWindow = 600;
+    /**
+     * Requests allowed over the estimated limit, so that the limit can grow
+     */
+    private int queueSize = 4;
+  }
+}
@@ -0,0 +1,110 @@
+package jp.co.soramitsu.sora.didresolver.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.stereotype.Component;
+
+@ConfigurationProperties(prefix = "resolve", ignoreUnknownFields = false)
+@Component
+@Data
+public class ResolveProperties {
+
+  @NestedConfigurationProperty
+  private DDOCacheProperties cache = new DDOCacheProperties();
+
+  @NestedConfigurationProperty
+  private IndexProperties index = new IndexProperties();
+
+  @NestedConfigurationProperty
+  private HistoryProperties history = new HistoryProperties();
+
+  @NestedConfigurationProperty
+  private ReferencesProperties references = new ReferencesProperties();
+
+  @NestedConfigurationProperty
+  private CompressionProperties compression = new CompressionProperties();
+
+  @NestedConfigurationProperty
+  private ExecutorProperties executor = new ExecutorProperties();
+
+  @Data
+  public static class DDOCacheProperties {
+
+    private boolean enabled = true;
+    /**
+     * Maximum number of resolved DDOs kept
+     */
+    private int maxSize = 10_000;
+    /**
+     * Time a DDO is served from the cache, bounds staleness of changes made by other instances
+     */
+    private Duration expireAfter = Duration.ofSeconds(30);
+  }
+
+  @Data
+  public static class IndexProperties {
+
+    /**
+     * Whether indexes of DDOs are rebuilt from the ledger when the application is ready, otherwise
+     * they contain only DDOs written after the start
+     */
+    private boolean rebuildOnStartup = true;
+    /**
+     * Maximum number of DIDs in a page of the listing
+     */
+    private int maxPageSize = 1000;
+  }
+
+  @Data
+  public static class HistoryProperties {
+
+    /**
+     * Whether versions of DDOs are indexed from blocks of the ledger for historical resolution, the
+     * Iroha account needs the permission to read blocks
+     */
+    private boolean enabled = true;
+  }
+
+  @Data
+  public static class ReferencesProperties {
+
+    /**
+     * Maximum depth of referenced DDOs resolved together with the requested one
+     */
+    private int maxDepth = 3;
+    /**
+     * Maximum number of referenced DDOs in one response, references past it are not resolved
+     */
+    private int maxDocuments = 100;
+  }
+
+  @Data
+  public static class CompressionProperties {
+
+    /**
+     * Whether gzip form of responses with resolved DDOs is kept with cached DDOs and served to
+     * clients which accept it
+     */
+    private boolean enabled = true;
+    /**
+     * Minimum size of a response in bytes to be compressed
+     */
+    private int minSize = 1024;
+  }
+
+  @Data
+  public static class ExecutorProperties {
+
+    /**
+     * Number of threads resolving and verifying in parallel for a single request, e.g. referenced
+     * DDOs or signatures of a batch
+     */
+    private int threads = 8;
+    /**
+     * Number of tasks waiting for a thread, when the queue is full the request thread runs the task
+     */
+    private int queueSize = 256;
+  }
+}
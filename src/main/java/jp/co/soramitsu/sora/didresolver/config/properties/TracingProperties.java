@@ -0,0 +1,38 @@
+package jp.co.soramitsu.sora.didresolver.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.stereotype.Component;
+
+@ConfigurationProperties(prefix = "tracing", ignoreUnknownFields = false)
+@Component
+@Data
+public class TracingProperties {
+
+  @NestedConfigurationProperty
+  private SamplingProperties sampling = new SamplingProperties();
+
+  @Data
+  public static class SamplingProperties {
+
+    private boolean enabled = true;
+    /**
+     * Traces whose local root span takes at least this long are always exported
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+    /**
+     * Fraction of the remaining traces exported, from 0 to 1
+     */
+    private double baseRate = 0.01;
+    /**
+     * Maximum number of traces waiting for their local root span, the oldest are dropped
+     */
+    private int maxPendingTraces = 10_000;
+    /**
+     * Spans of a trace above this number are dropped
+     */
+    private int maxSpansPerTrace = 1_000;
+  }
+}
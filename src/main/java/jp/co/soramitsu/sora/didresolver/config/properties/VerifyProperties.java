@@ -0,0 +1,49 @@
+package jp.co.soramitsu.sora.didresolver.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.stereotype.Component;
+
+@ConfigurationProperties(prefix = "verify", ignoreUnknownFields = false)
+@Component
+@Data
+public class VerifyProperties {
+
+  @NestedConfigurationProperty
+  private CacheProperties cache = new CacheProperties();
+
+  @NestedConfigurationProperty
+  private SignatureProperties signatures = new SignatureProperties();
+
+  @NestedConfigurationProperty
+  private DDOProperties ddos = new DDOProperties();
+
+  @Data
+  public static class CacheProperties {
+
+    private boolean enabled = true;
+    /**
+     * Maximum number of successful verifications remembered
+     */
+    private int maxSize = 10_000;
+  }
+
+  @Data
+  public static class SignatureProperties {
+
+    /**
+     * Maximum number of signatures verified by one batch request
+     */
+    private int maxBatchSize = 100;
+  }
+
+  @Data
+  public static class DDOProperties {
+
+    /**
+     * Maximum number of DDOs registered by one batch request
+     */
+    private int maxBatchSize = 100;
+  }
+}
@@ -0,0 +1,128 @@
+package jp.co.soramitsu.sora.didresolver.controllers;
+
+import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import jp.co.soramitsu.sora.didresolver.dto.SignedDDO;
+import jp.co.soramitsu.sora.didresolver.exceptions.DDOUnparseableException;
+import jp.co.soramitsu.sora.didresolver.metrics.SizeMetric;
+import jp.co.soramitsu.sora.didresolver.metrics.Stage;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
+import jp.co.soramitsu.sora.sdk.did.model.dto.DDO;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decodes DDO from the body of write requests. Body is parsed once, and the typed DDO, its JSON and
+ * the compact encoding of the JSON are produced together, so verification and storage don't need
+ * to parse or encode the document again
+ */
+@Slf4j
+@Component
+public class DDODecoder {
+
+  private final ObjectMapper mapper;
+  private final Validator validator;
+  private final StageMetrics stageMetrics;
+
+  public DDODecoder(ObjectMapper mapper, Validator validator, StageMetrics stageMetrics) {
+    this.mapper = mapper;
+    this.validator = validator;
+    this.stageMetrics = stageMetrics;
+    // constraint metadata of the DDO graph is built on startup instead of the first request
+    log.debug("DDO has constraints: {}",
+        validator.getConstraintsForClass(DDO.class).isBeanConstrained());
+  }
+
+  public SignedDDO decode(byte[] body) throws DDOUnparseableException {
+    stageMetrics.size(SizeMetric.DDO, body.length);
+    try {
+      val signedDDO = parse(body);
+      validate(signedDDO.getDdo());
+      return signedDDO;
+    } catch (IOException | ValidationException e) {
+      log.error("Could not handle DDO", e);
+      throw new DDOUnparseableException(e);
+    }
+  }
+
+  /**
+   * Decodes DDOs of a batch, the body is a JSON array of DDOs. The array is read element by
+   * element, so a batch above the limit is rejected without decoding the rest of it
+   *
+   * @throws IllegalArgumentException if the batch has more than {@code maxCount} DDOs
+   */
+  public List<SignedDDO> decodeAll(byte[] body, int maxCount) throws DDOUnparseableException {
+    try {
+      val signedDDOs = parseAll(body, maxCount);
+      for (SignedDDO signedDDO : signedDDOs) {
+        stageMetrics.size(SizeMetric.DDO, signedDDO.getSerialized().length);
+        validate(signedDDO.getDdo());
+      }
+      return signedDDOs;
+    } catch (IOException | ValidationException e) {
+      log.error("Could not handle DDOs", e);
+      throw new DDOUnparseableException(e);
+    }
+  }
+
+  private SignedDDO parse(byte[] body) throws IOException {
+    val start = stageMetrics.start();
+    try {
+      return toSignedDDO(mapper.readTree(body));
+    } finally {
+      stageMetrics.stop(Stage.DECODE, start);
+    }
+  }
+
+  private List<SignedDDO> parseAll(byte[] body, int maxCount) throws IOException {
+    val start = stageMetrics.start();
+    try (JsonParser parser = mapper.getFactory().createParser(body)) {
+      if (parser.nextToken() != START_ARRAY) {
+        throw new ValidationException("DDOs are not an array");
+      }
+      List<SignedDDO> signedDDOs = new ArrayList<>();
+      while (parser.nextToken() != END_ARRAY) {
+        if (signedDDOs.size() == maxCount) {
+          throw new IllegalArgumentException("Batch exceeds the limit of " + maxCount + " DDOs");
+        }
+        signedDDOs.add(toSignedDDO(mapper.readTree(parser)));
+      }
+      return signedDDOs;
+    } finally {
+      stageMetrics.stop(Stage.DECODE, start);
+    }
+  }
+
+  private SignedDDO toSignedDDO(JsonNode json) throws IOException {
+    if (json == null || json.isNull() || json.isMissingNode()) {
+      throw new ValidationException("DDO is null");
+    }
+    return new SignedDDO(mapper.treeToValue(json, DDO.class), json,
+        mapper.writeValueAsBytes(json));
+  }
+
+  private void validate(DDO ddo) {
+    if (ddo == null) {
+      throw new ValidationException("DDO is null");
+    }
+    val start = stageMetrics.start();
+    try {
+      val errors = validator.validate(ddo);
+      if (!errors.isEmpty()) {
+        throw new ValidationException("DDO violates constraints:" + errors);
+      }
+    } finally {
+      stageMetrics.stop(Stage.VALIDATION, start);
+    }
+  }
+}
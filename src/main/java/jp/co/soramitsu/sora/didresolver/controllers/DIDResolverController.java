@@ -1,43 +1,89 @@
 package jp.co.soramitsu.sora.didresolver.controllers;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.format.DateTimeFormatter.ISO_DATE_TIME;
 import static java.util.Objects.isNull;
 import static jp.co.soramitsu.sora.didresolver.commons.CommonsConst.MAX_IROHA_KEY_LENGTH;
+import static jp.co.soramitsu.sora.didresolver.commons.MediaTypes.APPLICATION_CBOR_VALUE;
+import static jp.co.soramitsu.sora.didresolver.commons.MediaTypes.APPLICATION_SMILE_VALUE;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.BATCH;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.CHANGES;
 import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.ID_PARAM;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.KEY_PARAM;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.LOOKUP;
 import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.PATH;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.VERIFY;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.VERIFY_BATCH;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.ERROR;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.INVALID_PROOF_SIGNATURE;
+import static jp.co.soramitsu.sora.didresolver.jfr.DDOWriteEvent.REGISTRATION;
+import static jp.co.soramitsu.sora.didresolver.jfr.DDOWriteEvent.UPDATE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8_VALUE;
 import static org.springframework.http.ResponseEntity.ok;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
-import javax.validation.ValidationException;
-import javax.validation.Validator;
+import java.util.function.Predicate;
+import javax.validation.Valid;
+import javax.xml.bind.DatatypeConverter;
+import jp.co.soramitsu.sora.didresolver.changes.ChangeFeed;
+import jp.co.soramitsu.sora.didresolver.config.properties.VerifyProperties;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.CreateDDOsRs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.DDOChange;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.DDOProjection;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.DDORegistration;
 import jp.co.soramitsu.sora.didresolver.controllers.dto.GenericResponse;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GetDDOProjectionRs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GetDDOReferencesRs;
 import jp.co.soramitsu.sora.didresolver.controllers.dto.GetDDORs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GetPublicKeyRs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GetResolvedDDORs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.ListDIDsRs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.LookupDIDsRs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode;
 import jp.co.soramitsu.sora.didresolver.controllers.dto.SuccessfulResponse;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignatureRq;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignatureRs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignaturesRq;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignaturesRs;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import jp.co.soramitsu.sora.didresolver.dto.SignedDDO;
 import jp.co.soramitsu.sora.didresolver.exceptions.DDOUnparseableException;
 import jp.co.soramitsu.sora.didresolver.exceptions.DIDDuplicateException;
 import jp.co.soramitsu.sora.didresolver.exceptions.DIDIsTooLongException;
 import jp.co.soramitsu.sora.didresolver.exceptions.DIDNotFoundException;
+import jp.co.soramitsu.sora.didresolver.exceptions.DIDResolverException;
 import jp.co.soramitsu.sora.didresolver.exceptions.IncorrectUpdateException;
 import jp.co.soramitsu.sora.didresolver.exceptions.InvalidProofException;
 import jp.co.soramitsu.sora.didresolver.exceptions.ProofSignatureVerificationException;
+import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyNotFoundException;
 import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyValueNotPresentedException;
+import jp.co.soramitsu.sora.didresolver.exceptions.VersionNotIndexedException;
+import jp.co.soramitsu.sora.didresolver.jfr.DDOWriteEvent;
+import jp.co.soramitsu.sora.didresolver.metrics.Stage;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
+import jp.co.soramitsu.sora.didresolver.services.HistoryService;
+import jp.co.soramitsu.sora.didresolver.services.ReferenceService;
+import jp.co.soramitsu.sora.didresolver.services.SignatureService;
 import jp.co.soramitsu.sora.didresolver.services.StorageService;
 import jp.co.soramitsu.sora.didresolver.services.VerifyService;
 import jp.co.soramitsu.sora.didresolver.validation.constrains.DIDConstraint;
 import jp.co.soramitsu.sora.sdk.did.model.dto.DDO;
 import jp.co.soramitsu.sora.sdk.did.model.dto.DID;
-import jp.co.soramitsu.sora.sdk.json.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -48,8 +94,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * S4529 - Exposing Spring endpoints - warning for security auditors to check if endpoint is safe
@@ -64,9 +113,16 @@ public class DIDResolverController {
 
   private StorageService storageService;
   private VerifyService verifyService;
-  private Validator validator;
+  private SignatureService signatureService;
+  private DDODecoder decoder;
+  private StageMetrics stageMetrics;
 
-  private ObjectMapper mapper = JsonUtil.buildMapper();
+  private HistoryService historyService;
+  private ChangeFeed changeFeed;
+  private ReferenceService referenceService;
+  private VerifyProperties verifyProperties;
+
+  private static final String LAST_EVENT_ID = "Last-Event-ID";
 
   private static final Function<String, LocalDateTime> DATE_TIME_MAPPER = iso8601String ->
       LocalDateTime.parse(iso8601String, ISO_DATE_TIME);
@@ -89,39 +145,315 @@ public class DIDResolverController {
           code = 400,
           message = "Failed. Returns when validation of received DDO has failed")})
   public ResponseEntity<GenericResponse> createDDO(
-      @ApiParam(value = "url encoded DID", required = true) @RequestBody JsonNode ddoJson)
+      @ApiParam(value = "DDO in JSON", required = true) @RequestBody byte[] body)
       throws DIDIsTooLongException, DIDDuplicateException, ProofSignatureVerificationException, InvalidProofException, PublicKeyValueNotPresentedException, DDOUnparseableException {
-    DDO ddo = deserialize(ddoJson);
-    final String id = ddo.getId().toString();
-    log.info("starting creation of DDO for DID - {}", id);
-    if (id.length() > MAX_IROHA_KEY_LENGTH) {
-      throw new DIDIsTooLongException(id);
+    val event = new DDOWriteEvent(REGISTRATION, body.length);
+    event.begin();
+    try {
+      SignedDDO signedDDO = decoder.decode(body);
+      DDO ddo = signedDDO.getDdo();
+      final String id = ddo.getId().toString();
+      event.setDid(id);
+      log.info("starting creation of DDO for DID - {}", id);
+      checkDIDLength(id);
+      verifyDDOProof(signedDDO);
+      register(id, signedDDO);
+      event.succeeded();
+      return ok(new SuccessfulResponse());
+    } catch (DIDResolverException e) {
+      event.failed(e);
+      throw e;
+    } finally {
+      event.commit();
+    }
+  }
+
+  @PostMapping(value = BATCH, consumes = {APPLICATION_JSON_UTF8_VALUE})
+  @ApiOperation("This operation is used to register several new DID-DDO pairs at once, every DDO has its own result")
+  @ApiResponses({
+      @ApiResponse(
+          code = 200,
+          message = "Server returns CreateDDOsRs which can contain next statuses:\n"
+              + "OK - Returns when DDOs are processed, every DDO has its own status, the same as "
+              + "the one of the registration of a single DDO, or ERROR and IROHA_UNAVAILABLE when "
+              + "the DDO could not be written\n"
+              + "DID_UNPARSEABLE - Returns when the body is not an array of valid DDOs\n"
+              + "INCORRECT_QUERY_PARAMS - Returns when there are more DDOs than allowed",
+          response = CreateDDOsRs.class),
+      @ApiResponse(
+          code = 400,
+          message = "Failed. Returns when the body is absent")})
+  public ResponseEntity<CreateDDOsRs> createDDOs(
+      @ApiParam(value = "JSON array of DDOs", required = true) @RequestBody byte[] body)
+      throws DDOUnparseableException {
+    List<SignedDDO> signedDDOs =
+        decoder.decodeAll(body, verifyProperties.getDdos().getMaxBatchSize());
+    log.info("starting creation of {} DDOs", signedDDOs.size());
+    List<DDORegistration> results = new ArrayList<>(signedDDOs.size());
+    List<SignedDDO> checked = new ArrayList<>(signedDDOs.size());
+    for (SignedDDO signedDDO : signedDDOs) {
+      String id = signedDDO.getDdo().getId().toString();
+      try {
+        checkDIDLength(id);
+        checkCreatorValidity(signedDDO.getDdo());
+        checked.add(signedDDO);
+        results.add(null);
+      } catch (DIDResolverException e) {
+        results.add(new DDORegistration(id, e.getResponseCode()));
+      }
+    }
+
+    val start = stageMetrics.start();
+    final List<Boolean> verified;
+    try {
+      verified = verifyService.verifyIntegrityOfDDOs(checked);
+    } finally {
+      stageMetrics.stop(Stage.PROOF_VERIFICATION, start);
+    }
+    // DDOs are written one by one, so a DID repeated in the batch is a duplicate of the first one
+    Iterator<Boolean> verifiedIterator = verified.iterator();
+    for (int i = 0; i < signedDDOs.size(); i++) {
+      if (results.get(i) != null) {
+        continue;
+      }
+      SignedDDO signedDDO = signedDDOs.get(i);
+      results.set(i, verifiedIterator.next()
+          ? registerOfBatch(signedDDO)
+          : new DDORegistration(signedDDO.getDdo().getId().toString(), INVALID_PROOF_SIGNATURE));
+    }
+    return ok(new CreateDDOsRs(results));
+  }
+
+  /**
+   * Writes DDO of a batch, its proof is already verified. Failure to write the DDO is its own
+   * result, so DDOs written before it are still reported
+   */
+  private DDORegistration registerOfBatch(SignedDDO signedDDO) {
+    final String id = signedDDO.getDdo().getId().toString();
+    val event = new DDOWriteEvent(REGISTRATION, signedDDO.getSerialized().length);
+    event.setDid(id);
+    event.begin();
+    try {
+      register(id, signedDDO);
+      event.succeeded();
+      return new DDORegistration(id, ResponseCode.OK);
+    } catch (DIDResolverException e) {
+      event.failed(e);
+      return new DDORegistration(id, e.getResponseCode());
+    } catch (RuntimeException e) {
+      log.error("DDO with DID {} of the batch is not written", id, e);
+      event.failed(ERROR);
+      return new DDORegistration(id, ERROR);
+    } finally {
+      event.commit();
     }
-    verifyDDOProof(ddo, ddoJson);
-    val optionalDDO = storageService.findDDObyDID(id);
-    if (optionalDDO.isPresent()) {
+  }
+
+  /**
+   * Writes DDO which proof is already verified, unless its DID is registered
+   */
+  private void register(String id, SignedDDO signedDDO)
+      throws DIDDuplicateException, DDOUnparseableException {
+    if (storageService.findDDObyDID(id).isPresent()) {
       throw new DIDDuplicateException(id);
     }
     log.info("write to storage DDO with DID - {}", id);
-    storageService.createOrUpdate(id, ddoJson);
-    return ok(new SuccessfulResponse());
+    storageService.createOrUpdate(id, new String(signedDDO.getSerialized(), UTF_8));
   }
 
-  @GetMapping(value = ID_PARAM, produces = {APPLICATION_JSON_UTF8_VALUE})
+  @GetMapping(value = ID_PARAM, produces = {APPLICATION_JSON_UTF8_VALUE,
+      APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
   @ApiOperation(value = "This operation is used to query DDO given DID.", response = ResponseEntity.class)
   @ApiResponses({
       @ApiResponse(
           code = 200,
           message = "Server returns GetDDORs which can contain next statuses:\n"
               + "OK - Returns when DID-DDO pair successfully registered.\n"
-              + "DID_NOT_FOUND - Returns when DID has not found",
+              + "DID_NOT_FOUND - Returns when DID has not found or had no DDO at the version\n"
+              + "VERSION_NOT_INDEXED - Returns when the version is not indexed yet\n"
+              + "INCORRECT_QUERY_PARAMS - Returns when depth of references is out of range",
           response = GetDDORs.class)})
-  public ResponseEntity<GetDDORs> getDDO(
-      @ApiParam(value = "url encoded DID", required = true) @DIDConstraint(isNullable = false) @PathVariable String did)
-      throws DIDNotFoundException, DDOUnparseableException {
+  public ResponseEntity<SuccessfulResponse> getDDO(
+      @ApiParam(value = "url encoded DID", required = true) @DIDConstraint(isNullable = false) @PathVariable String did,
+      @ApiParam(value = "top level members of DDO to return, e.g. publicKey,authentication. Whole DDO when omitted") @RequestParam(required = false) List<String> fields,
+      @ApiParam(value = "DDO as it was at the time, e.g. 2019-07-01T10:00:00Z") @RequestParam(required = false) Instant versionTime,
+      @ApiParam(value = "DDO as it was after the block with the height was committed") @RequestParam(required = false) Long versionId,
+      @ApiParam(value = "depth of referenced DDOs returned together with DDO at the same version, e.g. 1 for owners of its public keys") @RequestParam(defaultValue = "0") int resolveReferences)
+      throws DIDNotFoundException, DDOUnparseableException, VersionNotIndexedException {
     log.info("Receive DDO by DID - {}", did);
-    val ddo = storageService.findDDObyDID(did).orElseThrow(() -> new DIDNotFoundException(did));
-    return ok(new GetDDORs(ddo));
+    if (resolveReferences < 0) {
+      throw new IllegalArgumentException(
+          "Depth of references can't be negative: " + resolveReferences);
+    }
+    val ddo = resolve(did, versionTime, versionId)
+        .orElseThrow(() -> new DIDNotFoundException(did));
+    if (resolveReferences > 0) {
+      if (fields != null && !fields.isEmpty()) {
+        throw new IllegalArgumentException("Only one of fields and resolveReferences can be given");
+      }
+      val references = referenceService.resolveReferences(ddo, resolveReferences,
+          reference -> resolve(reference, versionTime, versionId));
+      return ok(new GetDDOReferencesRs(ddo.getJson(), references));
+    }
+    if (fields == null || fields.isEmpty()) {
+      return ok(new GetResolvedDDORs(ddo));
+    }
+    return ok(new GetDDOProjectionRs(new DDOProjection(ddo, new LinkedHashSet<>(fields))));
+  }
+
+  @GetMapping(value = ID_PARAM + KEY_PARAM, produces = {APPLICATION_JSON_UTF8_VALUE,
+      APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+  @ApiOperation(value = "This operation is used to dereference a single public key of DDO, e.g. "
+      + "did:sora:user#keys-1.", response = ResponseEntity.class)
+  @ApiResponses({
+      @ApiResponse(
+          code = 200,
+          message = "Server returns GetPublicKeyRs which can contain next statuses:\n"
+              + "OK - Returns when the public key is found.\n"
+              + "DID_NOT_FOUND - Returns when DID has not found\n"
+              + "PUBLIC_KEY_NOT_FOUND - Returns when DDO has no key with the fragment",
+          response = GetPublicKeyRs.class)})
+  public ResponseEntity<GetPublicKeyRs> getPublicKey(
+      @ApiParam(value = "url encoded DID", required = true) @DIDConstraint(isNullable = false) @PathVariable String did,
+      @ApiParam(value = "fragment of the key id, e.g. keys-1", required = true) @PathVariable String fragment)
+      throws DIDNotFoundException, DDOUnparseableException, PublicKeyNotFoundException {
+    log.info("Receive public key {} by DID - {}", fragment, did);
+    val ddo = storageService.resolve(did).orElseThrow(() -> new DIDNotFoundException(did));
+    val publicKey = ddo.getKey(fragment)
+        .orElseThrow(() -> new PublicKeyNotFoundException(did + "#" + fragment));
+    return ok(new GetPublicKeyRs(publicKey));
+  }
+
+  @GetMapping(produces = {APPLICATION_JSON_UTF8_VALUE,
+      APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+  @ApiOperation(value = "This operation is used to list registered DIDs in lexicographical order "
+      + "page by page", response = ResponseEntity.class)
+  @ApiResponses({
+      @ApiResponse(
+          code = 200,
+          message = "Server returns ListDIDsRs which can contain next statuses:\n"
+              + "OK - Returns a page of DIDs and the cursor of the next page if there is one.\n"
+              + "INCORRECT_QUERY_PARAMS - Returns when cursor or limit is invalid",
+          response = ListDIDsRs.class)})
+  public ResponseEntity<ListDIDsRs> listDIDs(
+      @ApiParam(value = "only DIDs which start with the prefix, e.g. did:sora:tenant") @RequestParam(defaultValue = "") String prefix,
+      @ApiParam(value = "nextCursor of the previous page, the first page when omitted") @RequestParam(required = false) String cursor,
+      @ApiParam(value = "maximum number of DIDs in the page") @RequestParam(defaultValue = "100") int limit) {
+    log.info("List DIDs by prefix - {}", prefix);
+    String after = cursor == null ? null : new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+    List<String> dids = storageService.listDIDs(prefix, after, limit);
+    String nextCursor = null;
+    if (dids.size() == limit) {
+      String last = dids.get(dids.size() - 1);
+      if (!storageService.listDIDs(prefix, last, 1).isEmpty()) {
+        nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(last.getBytes(UTF_8));
+      }
+    }
+    return ok(new ListDIDsRs(dids, nextCursor));
+  }
+
+  @GetMapping(CHANGES)
+  @ApiOperation(value = "This operation is used to receive Server-Sent Events about DDOs created "
+      + "(create), updated (update) and deleted (delete) as they are committed. Data of an event "
+      + "is DDOChange, id of the last event of a block is the height of the block",
+      response = SseEmitter.class)
+  @ApiResponses({
+      @ApiResponse(
+          code = 200,
+          message = "Server returns the stream of events, or GenericResponse with statuses:\n"
+              + "INCORRECT_QUERY_PARAMS - Returns when both DIDs and prefix are given or the "
+              + "height is negative or above the last indexed block\n"
+              + "VERSION_NOT_INDEXED - Returns when blocks are not indexed up to the top one\n"
+              + "TOO_MANY_REQUESTS - Returns when the limit of streams is reached",
+          response = SseEmitter.class)})
+  public SseEmitter changes(
+      @ApiParam(value = "only changes of these DIDs") @RequestParam(required = false) Set<String> dids,
+      @ApiParam(value = "only changes of DIDs which start with the prefix") @RequestParam(required = false) String prefix,
+      @ApiParam(value = "height of the block after which changes are sent, changes committed from now on when omitted") @RequestParam(required = false) Long afterHeight,
+      @ApiParam(value = "id of the last received event, takes precedence over afterHeight") @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId)
+      throws DIDResolverException {
+    if (dids != null && prefix != null) {
+      throw new IllegalArgumentException("Only one of dids and prefix can be given");
+    }
+    Long after = lastEventId == null ? afterHeight : lastEventId;
+    if (after != null && after < 0) {
+      throw new IllegalArgumentException("Height of the block can't be negative: " + after);
+    }
+    log.info("Subscribe to changes of DDOs after block {}", after);
+    Predicate<DDOChange> filter = change -> true;
+    if (dids != null) {
+      filter = change -> dids.contains(change.getDid());
+    } else if (prefix != null) {
+      filter = change -> change.getDid().startsWith(prefix);
+    }
+    return changeFeed.subscribe(filter, after);
+  }
+
+  @GetMapping(value = LOOKUP, produces = {APPLICATION_JSON_UTF8_VALUE,
+      APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+  @ApiOperation(value = "This operation is used to find DIDs which DDOs contain a public key, "
+      + "either by the key value or by its owner", response = ResponseEntity.class)
+  @ApiResponses({
+      @ApiResponse(
+          code = 200,
+          message = "Server returns LookupDIDsRs which can contain next statuses:\n"
+              + "OK - Returns found DIDs, empty when there are none.\n"
+              + "INCORRECT_QUERY_PARAMS - Returns when not exactly one of publicKey and owner is "
+              + "given or publicKey is not hex",
+          response = LookupDIDsRs.class)})
+  public ResponseEntity<LookupDIDsRs> lookupDIDs(
+      @ApiParam(value = "hex encoded value of the public key") @RequestParam(required = false) String publicKey,
+      @ApiParam(value = "owner of the public key, e.g. did:sora:owner") @RequestParam(required = false) String owner) {
+    if ((publicKey == null) == (owner == null)) {
+      throw new IllegalArgumentException("Exactly one of publicKey and owner is expected");
+    }
+    log.info("Lookup DIDs by public key - {}, owner - {}", publicKey, owner);
+    val dids = publicKey != null
+        ? storageService.findDIDsByPublicKey(DatatypeConverter.parseHexBinary(publicKey))
+        : storageService.findDIDsByOwner(owner);
+    return ok(new LookupDIDsRs(new ArrayList<>(new TreeSet<>(dids))));
+  }
+
+  @PostMapping(value = VERIFY, consumes = {APPLICATION_JSON_UTF8_VALUE})
+  @ApiOperation("This operation is used to verify signature of a message made by a public key of DDO")
+  @ApiResponses({
+      @ApiResponse(
+          code = 200,
+          message = "Server returns VerifySignatureRs which can contain next statuses:\n"
+              + "OK - Returns when the key is found, verified is the result of verification\n"
+              + "INCORRECT_QUERY_PARAMS - Returns when key id is not a DID with a fragment\n"
+              + "DID_NOT_FOUND - Returns when DID has not found\n"
+              + "PUBLIC_KEY_NOT_FOUND - Returns when DDO has no key with the fragment\n"
+              + "PUBLIC_KEY_VALUE_NOT_PRESENTED - Returns when the key has no valid Ed25519 value",
+          response = VerifySignatureRs.class),
+      @ApiResponse(
+          code = 400,
+          message = "Failed. Returns when key id, message or signature is absent or not hex")})
+  public ResponseEntity<VerifySignatureRs> verifySignature(
+      @ApiParam(value = "key id with hex encoded message and signature", required = true) @Valid @RequestBody VerifySignatureRq request)
+      throws DIDNotFoundException, DDOUnparseableException, PublicKeyNotFoundException, PublicKeyValueNotPresentedException {
+    log.info("Verify signature by key - {}", request.getKeyId());
+    boolean verified = signatureService.verify(request.getKeyId(), request.getMessage(),
+        request.getSignature());
+    return ok(new VerifySignatureRs(verified));
+  }
+
+  @PostMapping(value = VERIFY_BATCH, consumes = {APPLICATION_JSON_UTF8_VALUE})
+  @ApiOperation("This operation is used to verify several signatures at once, every signature has its own result")
+  @ApiResponses({
+      @ApiResponse(
+          code = 200,
+          message = "Server returns VerifySignaturesRs which can contain next statuses:\n"
+              + "OK - Returns when signatures are processed, every result has its own status\n"
+              + "INCORRECT_QUERY_PARAMS - Returns when there are more signatures than allowed",
+          response = VerifySignaturesRs.class),
+      @ApiResponse(
+          code = 400,
+          message = "Failed. Returns when key id, message or signature is absent or not hex")})
+  public ResponseEntity<VerifySignaturesRs> verifySignatures(
+      @ApiParam(value = "key ids with hex encoded messages and signatures", required = true) @Valid @RequestBody VerifySignaturesRq request) {
+    log.info("Verify {} signatures", request.getSignatures().size());
+    return ok(new VerifySignaturesRs(signatureService.verifyAll(request.getSignatures())));
   }
 
   @DeleteMapping(value = ID_PARAM)
@@ -152,33 +484,59 @@ public class DIDResolverController {
           message = "Failed. Returns when validation of received DDO has failed")})
   public ResponseEntity<GenericResponse> updateDDO(
       @ApiParam(value = "url encoded DID", required = true) @DIDConstraint(isNullable = false) @PathVariable String did,
-      @ApiParam(value = "New DDO MUST contain updated property with time > created", required = true) @RequestBody JsonNode ddoJson)
+      @ApiParam(value = "New DDO MUST contain updated property with time > created", required = true) @RequestBody byte[] body)
       throws IncorrectUpdateException, DIDNotFoundException, ProofSignatureVerificationException, InvalidProofException, PublicKeyValueNotPresentedException, DDOUnparseableException {
     log.info("Update DDO by DID - {}", did);
-    DDO ddo = deserialize(ddoJson);
-    verifyDDOProof(ddo, ddoJson);
-    if (!checkUpdatedTimeAfterCreatedTime(ddo)) {
-      throw new IncorrectUpdateException(ddo.getId(), ddo.getCreated(), ddo.getUpdated());
-    }
-    if (storageService.findDDObyDID(did).isPresent()) {
-      storageService.createOrUpdate(did, ddoJson);
-    } else {
-      throw new DIDNotFoundException(did);
+    val event = new DDOWriteEvent(UPDATE, body.length);
+    event.setDid(did);
+    event.begin();
+    try {
+      SignedDDO signedDDO = decoder.decode(body);
+      DDO ddo = signedDDO.getDdo();
+      verifyDDOProof(signedDDO);
+      if (!checkUpdatedTimeAfterCreatedTime(ddo)) {
+        throw new IncorrectUpdateException(ddo.getId(), ddo.getCreated(), ddo.getUpdated());
+      }
+      if (storageService.findDDObyDID(did).isPresent()) {
+        storageService.createOrUpdate(did, new String(signedDDO.getSerialized(), UTF_8));
+      } else {
+        throw new DIDNotFoundException(did);
+      }
+      event.succeeded();
+      return ok(new SuccessfulResponse());
+    } catch (DIDResolverException e) {
+      event.failed(e);
+      throw e;
+    } finally {
+      event.commit();
     }
-    return ok(new SuccessfulResponse());
   }
 
-  private void verifyDDOProof(DDO ddo, JsonNode ddoJson)
+  private void verifyDDOProof(SignedDDO signedDDO)
       throws ProofSignatureVerificationException, InvalidProofException, PublicKeyValueNotPresentedException {
+    DDO ddo = signedDDO.getDdo();
     checkCreatorValidity(ddo);
 
-    if (!verifyService.verifyIntegrityOfDDO(ddo, ddoJson)) {
+    val start = stageMetrics.start();
+    final boolean verified;
+    try {
+      verified = verifyService.verifyIntegrityOfDDO(signedDDO);
+    } finally {
+      stageMetrics.stop(Stage.PROOF_VERIFICATION, start);
+    }
+    if (!verified) {
       throw new ProofSignatureVerificationException(ddo.getId().toString());
     }
 
     log.debug("proof has been successfully verified for DDO with DID {}", ddo.getId());
   }
 
+  private void checkDIDLength(String id) throws DIDIsTooLongException {
+    if (id.length() > MAX_IROHA_KEY_LENGTH) {
+      throw new DIDIsTooLongException(id);
+    }
+  }
+
   private void checkCreatorValidity(DDO ddo)
       throws InvalidProofException, PublicKeyValueNotPresentedException {
     if (isNull(ddo.getProof())) {
@@ -197,23 +555,20 @@ public class DIDResolverController {
         .orElse(false);
   }
 
-  /*
-   * Note: Json representation DDO and its DDO
+  /**
+   * Current DDO, or the version of DDO when either the time or the block height is given
    */
-  public DDO deserialize(JsonNode json) throws DDOUnparseableException {
-    try {
-      val ddo = mapper.treeToValue(json, DDO.class);
-      if (ddo == null) {
-        throw new ValidationException("DDO is null");
-      }
-      val errors = validator.validate(ddo);
-      if (!errors.isEmpty()) {
-        throw new ValidationException("DDO violates constraints:" + errors);
-      }
-      return ddo;
-    } catch (IOException | ValidationException e) {
-      log.error("Could not handle DDO", e);
-      throw new DDOUnparseableException(e);
+  private Optional<ResolvedDDO> resolve(String did, Instant versionTime, Long versionId)
+      throws DDOUnparseableException, VersionNotIndexedException {
+    if (versionTime != null && versionId != null) {
+      throw new IllegalArgumentException("Only one of versionTime and versionId can be given");
+    }
+    if (versionTime != null) {
+      return historyService.resolveAtTime(did, versionTime);
+    }
+    if (versionId != null) {
+      return historyService.resolveAtHeight(did, versionId);
     }
+    return storageService.resolve(did);
   }
 }
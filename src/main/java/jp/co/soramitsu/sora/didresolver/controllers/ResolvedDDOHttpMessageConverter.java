@@ -0,0 +1,199 @@
+package jp.co.soramitsu.sora.didresolver.controllers;
+
+import static jp.co.soramitsu.sora.didresolver.commons.MediaTypes.APPLICATION_CBOR;
+import static jp.co.soramitsu.sora.didresolver.commons.MediaTypes.APPLICATION_SMILE;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.VARY;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties.CompressionProperties;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GetResolvedDDORs;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Writes {@link GetResolvedDDORs} as JSON, CBOR or Smile. The encoded response is kept with the
+ * resolved DDO, so a cached DDO is encoded once per format rather than on every request. Other
+ * responses are written by the Jackson converters of the formats.
+ *
+ * <p>Responses are gzipped when {@code Accept-Encoding} of the request allows it, the compressed
+ * form is kept with the DDO too, so the same bytes are not compressed again until the DDO changes
+ */
+@Component
+public class ResolvedDDOHttpMessageConverter
+    extends AbstractHttpMessageConverter<GetResolvedDDORs> {
+
+  private static final String GZIP = "gzip";
+  private static final String ANY_ENCODING = "*";
+  private static final String QUALITY = "q=";
+
+  /**
+   * Mappers by the media types without parameters
+   */
+  private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+  private final boolean compression;
+  private final int minCompressedSize;
+
+  public ResolvedDDOHttpMessageConverter(ObjectMapper mapper,
+      ResolveProperties resolveProperties) {
+    super(APPLICATION_JSON_UTF8, APPLICATION_CBOR, APPLICATION_SMILE);
+    CompressionProperties compressionProperties = resolveProperties.getCompression();
+    this.compression = compressionProperties.isEnabled();
+    this.minCompressedSize = compressionProperties.getMinSize();
+    mappers.put(APPLICATION_JSON, mapper);
+    mappers.put(APPLICATION_CBOR, Jackson2ObjectMapperBuilder.cbor().build());
+    mappers.put(APPLICATION_SMILE, Jackson2ObjectMapperBuilder.smile().build());
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return GetResolvedDDORs.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected GetResolvedDDORs readInternal(Class<? extends GetResolvedDDORs> clazz,
+      HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("Resolved DDO is never read", inputMessage);
+  }
+
+  @Override
+  protected void addDefaultHeaders(HttpHeaders headers, GetResolvedDDORs response,
+      MediaType contentType) throws IOException {
+    super.addDefaultHeaders(headers, response, contentType);
+    if (compression) {
+      headers.add(VARY, ACCEPT_ENCODING);
+      if (isCompressed(encode(response, contentType))) {
+        headers.set(CONTENT_ENCODING, GZIP);
+      }
+    }
+  }
+
+  @Override
+  protected Long getContentLength(GetResolvedDDORs response, MediaType contentType) {
+    return (long) body(response, contentType).length;
+  }
+
+  @Override
+  protected void writeInternal(GetResolvedDDORs response, HttpOutputMessage outputMessage)
+      throws IOException {
+    outputMessage.getBody().write(body(response, outputMessage.getHeaders().getContentType()));
+  }
+
+  /**
+   * Whether the encodings allow gzip: gzip or {@code *} is listed without {@code q=0}, gzip
+   * takes precedence over {@code *}
+   *
+   * @param acceptEncoding - value of {@code Accept-Encoding}, {@code null} when there is none
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Boolean gzip = null;
+    boolean any = false;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parameters = coding.split(";");
+      String name = parameters[0].trim();
+      if (GZIP.equalsIgnoreCase(name)) {
+        gzip = isAllowed(parameters);
+      } else if (ANY_ENCODING.equals(name)) {
+        any = isAllowed(parameters);
+      }
+    }
+    return gzip == null ? any : gzip;
+  }
+
+  private static boolean isAllowed(String[] parameters) {
+    for (int i = 1; i < parameters.length; i++) {
+      String parameter = parameters[i].trim();
+      if (parameter.startsWith(QUALITY)) {
+        try {
+          return Double.parseDouble(parameter.substring(QUALITY.length())) > 0;
+        } catch (NumberFormatException e) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Response as it is sent: gzipped when the request allows it, otherwise encoded
+   */
+  private byte[] body(GetResolvedDDORs response, MediaType contentType) {
+    byte[] encoded = encode(response, contentType);
+    if (!isCompressed(encoded)) {
+      return encoded;
+    }
+    return response.getResolved().getEncoded(format(contentType) + ";" + GZIP, () -> gzip(encoded));
+  }
+
+  private boolean isCompressed(byte[] encoded) {
+    if (!compression || encoded.length < minCompressedSize) {
+      return false;
+    }
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    return attributes instanceof ServletRequestAttributes && acceptsGzip(
+        ((ServletRequestAttributes) attributes).getRequest().getHeader(ACCEPT_ENCODING));
+  }
+
+  private static byte[] gzip(byte[] encoded) {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(encoded.length / 2);
+    try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+      output.write(encoded);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return compressed.toByteArray();
+  }
+
+  /**
+   * Media type without parameters
+   */
+  private static MediaType format(MediaType contentType) {
+    return contentType == null
+        ? APPLICATION_JSON
+        : new MediaType(contentType.getType(), contentType.getSubtype());
+  }
+
+  private byte[] encode(GetResolvedDDORs response, MediaType contentType) {
+    MediaType type = format(contentType);
+    ObjectMapper mapper = mappers.get(type);
+    if (mapper == null) {
+      throw new HttpMessageNotWritableException("Resolved DDO can't be written as " + type);
+    }
+    return response.getResolved().getEncoded(type.toString(), () -> {
+      try {
+        return mapper.writeValueAsBytes(response);
+      } catch (JsonProcessingException e) {
+        throw new HttpMessageNotWritableException(
+            "Resolved DDO can't be written as " + type + ": " + e.getOriginalMessage(), e);
+      }
+    });
+  }
+}
@@ -0,0 +1,23 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Data
+@Setter(PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class CreateDDOsRs extends SuccessfulResponse {
+
+  /**
+   * Results in the order of the DDOs in the request
+   */
+  private List<DDORegistration> results;
+}
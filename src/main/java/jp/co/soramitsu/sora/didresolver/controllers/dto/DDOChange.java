@@ -0,0 +1,36 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Change of DDO committed to the ledger, {@code ddo} is the new document and is {@code null} when
+ * the DDO is deleted
+ */
+@Data
+@Setter(PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DDOChange {
+
+  private Kind kind;
+  private String did;
+  /**
+   * Height of the block with the change
+   */
+  private long height;
+  private Instant time;
+  private JsonNode ddo;
+
+  public enum Kind {
+    CREATE,
+    UPDATE,
+    DELETE
+  }
+}
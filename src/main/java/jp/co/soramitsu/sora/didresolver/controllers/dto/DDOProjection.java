@@ -0,0 +1,54 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * DDO reduced to some of its top level members. Members are written as raw bytes of the sections
+ * encoded by {@link ResolvedDDO}, members absent in the document are omitted. Binary formats can't
+ * embed JSON, so there members are written from the tree
+ */
+@Getter
+@AllArgsConstructor
+public class DDOProjection implements JsonSerializable {
+
+  private final ResolvedDDO ddo;
+  private final Collection<String> fields;
+
+  @Override
+  public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+    boolean binary = gen.canWriteBinaryNatively();
+    gen.writeStartObject();
+    for (String field : fields) {
+      if (binary) {
+        JsonNode value = ddo.getJson().get(field);
+        if (value != null) {
+          serializers.defaultSerializeField(field, value, gen);
+        }
+        continue;
+      }
+      Optional<SerializableString> section = ddo.getSection(field);
+      if (section.isPresent()) {
+        gen.writeFieldName(field);
+        gen.writeRawValue(section.get());
+      }
+    }
+    gen.writeEndObject();
+  }
+
+  @Override
+  public void serializeWithType(JsonGenerator gen, SerializerProvider serializers,
+      TypeSerializer typeSer) throws IOException {
+    serialize(gen, serializers);
+  }
+}
@@ -0,0 +1,22 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Result of a DDO registration within a batch, {@code code} is {@link ResponseCode#OK} when the DDO
+ * is registered, otherwise it is the reason why it is not
+ */
+@Data
+@Setter(PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DDORegistration {
+
+  private String did;
+  private ResponseCode code;
+}
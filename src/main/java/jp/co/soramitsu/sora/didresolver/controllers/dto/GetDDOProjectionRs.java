@@ -0,0 +1,22 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * {@link GetDDORs} with the DDO reduced to the requested members, it has the same JSON form
+ */
+@Data
+@Setter(PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class GetDDOProjectionRs extends SuccessfulResponse {
+
+  private DDOProjection ddo;
+}
@@ -0,0 +1,26 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * {@link GetDDORs} with DDOs referenced by the DDO by their DIDs, {@code null} for DIDs which are
+ * not resolved
+ */
+@Data
+@Setter(PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class GetDDOReferencesRs extends SuccessfulResponse {
+
+  private JsonNode ddo;
+  private Map<String, JsonNode> references;
+}
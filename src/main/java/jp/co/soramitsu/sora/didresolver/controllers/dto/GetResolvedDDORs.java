@@ -0,0 +1,22 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * {@link GetDDORs} of a resolved DDO, it is written from the encoded responses kept with the DDO
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class GetResolvedDDORs extends GetDDORs {
+
+  @JsonIgnore
+  private final ResolvedDDO resolved;
+
+  public GetResolvedDDORs(ResolvedDDO resolved) {
+    super(resolved.getJson());
+    this.resolved = resolved;
+  }
+}
@@ -0,0 +1,24 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Data
+@Setter(PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ListDIDsRs extends SuccessfulResponse {
+
+  private List<String> dids;
+  /**
+   * Opaque cursor of the next page, {@code null} on the last page
+   */
+  private String nextCursor;
+}
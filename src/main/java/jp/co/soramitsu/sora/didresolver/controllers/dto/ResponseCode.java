@@ -11,5 +11,9 @@ public enum ResponseCode {
   INCORRECT_UPDATE_TIME,
   INVALID_PROOF,
   INVALID_PROOF_SIGNATURE,
-  PUBLIC_KEY_VALUE_NOT_PRESENTED
+  IROHA_UNAVAILABLE,
+  PUBLIC_KEY_VALUE_NOT_PRESENTED,
+  PUBLIC_KEY_NOT_FOUND,
+  TOO_MANY_REQUESTS,
+  VERSION_NOT_INDEXED
 }
@@ -0,0 +1,24 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Result of a signature verification within a batch. {@code code} is {@link ResponseCode#OK} when
+ * the key was found, then {@code verified} tells whether the signature is valid, otherwise it is
+ * the reason why the signature could not be verified
+ */
+@Data
+@Setter(PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignatureVerification {
+
+  private String keyId;
+  private boolean verified;
+  private ResponseCode code;
+}
@@ -0,0 +1,35 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import javax.validation.constraints.NotNull;
+import jp.co.soramitsu.sora.didresolver.dto.serializers.HexValueCombinedSerializer.HexValueDeserializer;
+import jp.co.soramitsu.sora.didresolver.dto.serializers.HexValueCombinedSerializer.HexValueSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Signature to be verified with a public key of a DDO, message and signature are hex encoded
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerifySignatureRq {
+
+  /**
+   * Id of the public key, e.g. did:sora:user#keys-1
+   */
+  @NotNull
+  private String keyId;
+
+  @NotNull
+  @JsonSerialize(using = HexValueSerializer.class)
+  @JsonDeserialize(using = HexValueDeserializer.class)
+  private byte[] message;
+
+  @NotNull
+  @JsonSerialize(using = HexValueSerializer.class)
+  @JsonDeserialize(using = HexValueDeserializer.class)
+  private byte[] signature;
+}
@@ -0,0 +1,18 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerifySignaturesRq {
+
+  @Valid
+  @NotNull
+  private List<@NotNull VerifySignatureRq> signatures;
+}
@@ -0,0 +1,174 @@
+package jp.co.soramitsu.sora.didresolver.dto;
+
+import static java.util.Collections.unmodifiableMap;
+import static jp.co.soramitsu.crypto.ed25519.spec.EdDSANamedCurveTable.ED_25519;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import javax.xml.bind.DatatypeConverter;
+import jp.co.soramitsu.crypto.ed25519.EdDSAPublicKey;
+import jp.co.soramitsu.crypto.ed25519.spec.EdDSANamedCurveTable;
+import jp.co.soramitsu.crypto.ed25519.spec.EdDSAParameterSpec;
+import jp.co.soramitsu.crypto.ed25519.spec.EdDSAPublicKeySpec;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * DDO read from the ledger together with indexes built once when it is resolved, so that parts of
+ * the document are served without walking or serializing the whole tree
+ */
+@Getter
+@ToString(of = "json")
+public class ResolvedDDO {
+
+  private static final EdDSAParameterSpec parameterSpec = EdDSANamedCurveTable.getByName(ED_25519);
+
+  private static final String PUBLIC_KEY = "publicKey";
+  private static final String ID = "id";
+  private static final String OWNER = "owner";
+  private static final String AUTHENTICATION = "authentication";
+  private static final String PROOF = "proof";
+  private static final String CREATOR = "creator";
+  private static final char FRAGMENT_DELIMITER = '#';
+
+  private final JsonNode json;
+  /**
+   * Entries of {@code publicKey} with ids of the document by their fragments, e.g. {@code keys-1}
+   */
+  private final Map<String, JsonNode> keys;
+  /**
+   * Values of {@code keys} decoded on first use, so verifications against a cached DDO don't decode
+   * the same key again. Keys which can't be decoded are not remembered
+   */
+  @Getter(AccessLevel.NONE)
+  private final ConcurrentMap<String, EdDSAPublicKey> verificationKeys = new ConcurrentHashMap<>();
+  /**
+   * Compact JSON of top level members of the document by their names, encoded to UTF-8 on first use
+   * and kept with the cached DDO, so projections are written from bytes instead of the tree
+   */
+  @Getter(AccessLevel.NONE)
+  private final ConcurrentMap<String, SerializableString> sections = new ConcurrentHashMap<>();
+  /**
+   * Whole responses with the document by their formats, e.g. {@code application/cbor}, encoded on
+   * first use and kept with the cached DDO like sections
+   */
+  @Getter(AccessLevel.NONE)
+  private final ConcurrentMap<String, byte[]> encoded = new ConcurrentHashMap<>();
+
+  public ResolvedDDO(JsonNode json) {
+    this.json = json;
+    this.keys = indexKeys(json);
+  }
+
+  public Optional<JsonNode> getKey(String fragment) {
+    return Optional.ofNullable(keys.get(fragment));
+  }
+
+  /**
+   * Encoded value of the top level member of the document, e.g. {@code publicKey}, empty when the
+   * document has no such member
+   */
+  public Optional<SerializableString> getSection(String name) {
+    JsonNode value = json.get(name);
+    if (value == null) {
+      return Optional.empty();
+    }
+    return Optional.of(sections.computeIfAbsent(name, n -> encode(value)));
+  }
+
+  /**
+   * Response with the document encoded in the format, the encoder is called once per format
+   */
+  public byte[] getEncoded(String format, Supplier<byte[]> encoder) {
+    return encoded.computeIfAbsent(format, f -> encoder.get());
+  }
+
+  /**
+   * Ed25519 public key by the fragment of its id, empty when there is no such key or its value is
+   * not a hex encoded Ed25519 key
+   */
+  public Optional<EdDSAPublicKey> getVerificationKey(String fragment) {
+    JsonNode key = keys.get(fragment);
+    if (key == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(verificationKeys.computeIfAbsent(fragment, f -> decode(key)));
+  }
+
+  /**
+   * DIDs other than the own one referenced by the document: owners and ids of public keys, keys of
+   * authentications and the creator of the proof, without fragments
+   */
+  public Set<String> getReferencedDIDs() {
+    Set<String> dids = new LinkedHashSet<>();
+    for (JsonNode key : json.path(PUBLIC_KEY)) {
+      addDID(dids, key.path(ID));
+      addDID(dids, key.path(OWNER));
+    }
+    for (JsonNode authentication : json.path(AUTHENTICATION)) {
+      addDID(dids, authentication.path(PUBLIC_KEY));
+    }
+    addDID(dids, json.path(PROOF).path(CREATOR));
+    dids.remove(json.path(ID).asText());
+    return dids;
+  }
+
+  private static void addDID(Set<String> dids, JsonNode reference) {
+    if (!reference.isTextual()) {
+      return;
+    }
+    String value = reference.textValue();
+    int delimiter = value.indexOf(FRAGMENT_DELIMITER);
+    String did = delimiter < 0 ? value : value.substring(0, delimiter);
+    if (!did.isEmpty()) {
+      dids.add(did);
+    }
+  }
+
+  private static SerializableString encode(JsonNode value) {
+    SerializedString encoded = new SerializedString(value.toString());
+    // UTF-8 bytes are computed lazily and memoized by the instance
+    encoded.asUnquotedUTF8();
+    return encoded;
+  }
+
+  private static EdDSAPublicKey decode(JsonNode key) {
+    JsonNode value = key.path(PUBLIC_KEY);
+    if (!value.isTextual()) {
+      return null;
+    }
+    try {
+      byte[] publicKey = DatatypeConverter.parseHexBinary(value.textValue());
+      return new EdDSAPublicKey(new EdDSAPublicKeySpec(publicKey, parameterSpec));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Only keys of the document itself are indexed, keys listed with ids of other DIDs can't be
+   * dereferenced through the document
+   */
+  private static Map<String, JsonNode> indexKeys(JsonNode json) {
+    JsonNode publicKeys = json.path(PUBLIC_KEY);
+    String prefix = json.path(ID).asText() + FRAGMENT_DELIMITER;
+    Map<String, JsonNode> keys = new HashMap<>(publicKeys.size() * 2);
+    for (JsonNode key : publicKeys) {
+      String id = key.path(ID).asText();
+      if (id.length() > prefix.length() && id.startsWith(prefix)) {
+        keys.putIfAbsent(id.substring(prefix.length()), key);
+      }
+    }
+    return unmodifiableMap(keys);
+  }
+}
@@ -0,0 +1,28 @@
+package jp.co.soramitsu.sora.didresolver.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jp.co.soramitsu.sora.sdk.did.model.dto.DDO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * DDO together with the JSON it was received as, the JSON is what the proof was computed over
+ */
+@Getter
+@ToString(exclude = "serialized")
+@AllArgsConstructor
+public class SignedDDO {
+
+  private final DDO ddo;
+  private final JsonNode json;
+  /**
+   * Compact JSON encoding of {@code json}, it is written to the ledger as is. May be {@code null}
+   * when the DDO was not decoded from a request
+   */
+  private final byte[] serialized;
+
+  public SignedDDO(DDO ddo, JsonNode json) {
+    this(ddo, json, null);
+  }
+}
@@ -0,0 +1,14 @@
+package jp.co.soramitsu.sora.didresolver.exceptions;
+
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.IROHA_UNAVAILABLE;
+
+/**
+ * Iroha call is rejected by the full bulkhead or did not complete in time. Bulkheads throw it
+ * unchecked, since it passes through the callbacks of the Iroha client
+ */
+public class IrohaUnavailableException extends DIDResolverException {
+
+  public IrohaUnavailableException(String message) {
+    super(message, IROHA_UNAVAILABLE);
+  }
+}
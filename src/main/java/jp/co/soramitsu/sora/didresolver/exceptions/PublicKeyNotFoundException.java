@@ -0,0 +1,10 @@
+package jp.co.soramitsu.sora.didresolver.exceptions;
+
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.PUBLIC_KEY_NOT_FOUND;
+
+public class PublicKeyNotFoundException extends DIDResolverException {
+
+  public PublicKeyNotFoundException(String keyId) {
+    super("Could not find public key '" + keyId + "'.", PUBLIC_KEY_NOT_FOUND);
+  }
+}
@@ -0,0 +1,10 @@
+package jp.co.soramitsu.sora.didresolver.exceptions;
+
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.VERSION_NOT_INDEXED;
+
+public class VersionNotIndexedException extends DIDResolverException {
+
+  public VersionNotIndexedException(String message) {
+    super(message, VERSION_NOT_INDEXED);
+  }
+}
@@ -0,0 +1,202 @@
+package jp.co.soramitsu.sora.didresolver.index;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.xml.bind.DatatypeConverter;
+
+/**
+ * Secondary indexes of registered DDOs: ordered DIDs, DIDs by the bytes of their public keys and
+ * by the {@code owner} of their public keys. Indexes are updated with every DDO written by the
+ * resolver and can be rebuilt from a snapshot of the ledger while writes go on, DDOs written during
+ * the rebuild keep their written state instead of the one in the snapshot
+ */
+public class DIDIndex {
+
+  private static final String PUBLIC_KEY = "publicKey";
+  private static final String OWNER = "owner";
+
+  /**
+   * Indexed values of every DDO ordered by DID, used to list DIDs and to remove values when the DDO
+   * changes
+   */
+  private final TreeMap<String, Entry> entries = new TreeMap<>();
+  private final Map<ByteBuffer, Set<String>> byPublicKey = new HashMap<>();
+  private final Map<String, Set<String>> byOwner = new HashMap<>();
+  /**
+   * DIDs written since the rebuild started, {@code null} when there is no rebuild
+   */
+  private Set<String> writtenDuringRebuild;
+
+  /**
+   * DIDs found in the snapshot so far, {@code null} when there is no rebuild
+   */
+  private Set<String> rebuilt;
+
+  /**
+   * Indexes DDO of the DID
+   *
+   * @param ddo - JSON of the DDO, {@code null} when the DDO is deleted
+   */
+  public synchronized void update(String did, JsonNode ddo) {
+    if (writtenDuringRebuild != null) {
+      writtenDuringRebuild.add(did);
+    }
+    replace(did, ddo);
+  }
+
+  /**
+   * Starts tracking writes before a snapshot of the ledger is taken
+   *
+   * @throws IllegalStateException if another rebuild is in progress
+   */
+  public synchronized void startRebuild() {
+    if (writtenDuringRebuild != null) {
+      throw new IllegalStateException("Index rebuild is already in progress");
+    }
+    writtenDuringRebuild = new HashSet<>();
+    rebuilt = new HashSet<>();
+  }
+
+  /**
+   * Indexes a page of the snapshot taken after {@link #startRebuild()}
+   *
+   * @param ddos - JSON of the registered DDOs of the page by DID
+   * @throws IllegalStateException if there is no rebuild in progress
+   */
+  public synchronized void rebuild(Map<String, JsonNode> ddos) {
+    if (rebuilt == null) {
+      throw new IllegalStateException("Index rebuild is not started");
+    }
+    ddos.forEach((did, ddo) -> {
+      rebuilt.add(did);
+      if (!writtenDuringRebuild.contains(did)) {
+        replace(did, ddo);
+      }
+    });
+  }
+
+  /**
+   * Removes DDOs which are neither in the snapshot nor written during the rebuild
+   */
+  public synchronized void finishRebuild() {
+    for (String did : new ArrayList<>(entries.keySet())) {
+      if (!rebuilt.contains(did) && !writtenDuringRebuild.contains(did)) {
+        replace(did, null);
+      }
+    }
+    writtenDuringRebuild = null;
+    rebuilt = null;
+  }
+
+  /**
+   * Stops tracking writes when the snapshot could not be taken, the index keeps its content and the
+   * pages indexed so far
+   */
+  public synchronized void abortRebuild() {
+    writtenDuringRebuild = null;
+    rebuilt = null;
+  }
+
+  public synchronized Set<String> findByPublicKey(byte[] publicKey) {
+    return copy(byPublicKey.get(ByteBuffer.wrap(publicKey)));
+  }
+
+  public synchronized Set<String> findByOwner(String owner) {
+    return copy(byOwner.get(owner));
+  }
+
+  /**
+   * Lists DIDs in lexicographical order, the position is found by the key, so a page far from the
+   * start costs the same as the first one
+   *
+   * @param prefix - only DIDs which start with the prefix
+   * @param after - only DIDs after this one, {@code null} to list from the start
+   * @param limit - maximum number of DIDs
+   */
+  public synchronized List<String> list(String prefix, String after, int limit) {
+    List<String> dids = new ArrayList<>(Math.min(limit, entries.size()));
+    Set<String> tail = after == null || after.compareTo(prefix) < 0
+        ? entries.tailMap(prefix, true).keySet()
+        : entries.tailMap(after, false).keySet();
+    for (String did : tail) {
+      if (dids.size() == limit || !did.startsWith(prefix)) {
+        break;
+      }
+      dids.add(did);
+    }
+    return dids;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private void replace(String did, JsonNode ddo) {
+    Entry previous = entries.remove(did);
+    if (previous != null) {
+      previous.publicKeys.forEach(key -> removeValue(byPublicKey, key, did));
+      previous.owners.forEach(owner -> removeValue(byOwner, owner, did));
+    }
+    if (ddo == null || ddo.isNull()) {
+      return;
+    }
+    Entry entry = Entry.of(ddo);
+    entries.put(did, entry);
+    entry.publicKeys.forEach(key -> addValue(byPublicKey, key, did));
+    entry.owners.forEach(owner -> addValue(byOwner, owner, did));
+  }
+
+  private static <K> void addValue(Map<K, Set<String>> index, K key, String did) {
+    index.computeIfAbsent(key, k -> new HashSet<>()).add(did);
+  }
+
+  private static <K> void removeValue(Map<K, Set<String>> index, K key, String did) {
+    Set<String> dids = index.get(key);
+    if (dids != null && dids.remove(did) && dids.isEmpty()) {
+      index.remove(key);
+    }
+  }
+
+  private static Set<String> copy(Set<String> dids) {
+    return dids == null ? emptySet() : unmodifiableSet(new LinkedHashSet<>(dids));
+  }
+
+  /**
+   * Values of a DDO present in the indexes
+   */
+  private static final class Entry {
+
+    private final List<ByteBuffer> publicKeys = new ArrayList<>();
+    private final List<String> owners = new ArrayList<>();
+
+    private static Entry of(JsonNode ddo) {
+      Entry entry = new Entry();
+      for (JsonNode key : ddo.path(PUBLIC_KEY)) {
+        JsonNode value = key.path(PUBLIC_KEY);
+        if (value.isTextual()) {
+          try {
+            entry.publicKeys.add(ByteBuffer.wrap(DatatypeConverter.parseHexBinary(value.asText())));
+          } catch (IllegalArgumentException e) {
+            // keys which are not hex can't be looked up by bytes
+          }
+        }
+        JsonNode owner = key.path(OWNER);
+        if (owner.isTextual()) {
+          entry.owners.add(owner.asText());
+        }
+      }
+      return entry;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package jp.co.soramitsu.sora.didresolver.index;
+
+import static java.util.Collections.singletonMap;
+
+import java.util.Map;
+import jp.co.soramitsu.sora.didresolver.services.StorageService;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds indexes of DDOs from the ledger on {@code POST}, e.g. after DDOs were written by other
+ * instances of the resolver
+ */
+@Component
+@WebEndpoint(id = "index")
+public class IndexEndpoint {
+
+  private final StorageService storageService;
+
+  public IndexEndpoint(StorageService storageService) {
+    this.storageService = storageService;
+  }
+
+  @WriteOperation
+  public Map<String, Object> rebuild() {
+    return singletonMap("ddos", storageService.rebuildIndex());
+  }
+}
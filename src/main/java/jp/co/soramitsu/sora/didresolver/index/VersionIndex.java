@@ -0,0 +1,151 @@
+package jp.co.soramitsu.sora.didresolver.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock.DetailWrite;
+import lombok.Value;
+
+/**
+ * Versions of every detail written by the resolver, built from blocks in the order of their
+ * heights. A version is the height and the time of its block and the offset of its command in the
+ * block, values stay in the ledger, so the index takes a few longs per version. Versions of a key
+ * are ordered by height and by time, which lets point-in-time lookups use binary search instead of
+ * scanning the ledger
+ */
+public class VersionIndex {
+
+  private static final int HEIGHT = 0;
+  private static final int TIME = 1;
+  /**
+   * Offset shifted left by one, the lowest bit is set when the version deletes the DDO
+   */
+  private static final int OFFSET = 2;
+  private static final int STRIDE = 3;
+
+  private final Map<String, Versions> versions = new HashMap<>();
+  /**
+   * Height and time of the last indexed block, 0 when there are none
+   */
+  private long height;
+  private long time;
+
+  /**
+   * Indexes writes of the block following the last indexed one
+   *
+   * @throws IllegalArgumentException if the block is not the next one
+   */
+  public synchronized void add(CommittedBlock block) {
+    if (block.getHeight() != height + 1) {
+      throw new IllegalArgumentException(
+          "Block " + block.getHeight() + " doesn't follow indexed block " + height);
+    }
+    // time of blocks may go back slightly when peers' clocks differ, versions keep it monotonic
+    long blockTime = Math.max(block.getCreatedTime(), time);
+    for (DetailWrite write : block.getWrites()) {
+      versions.computeIfAbsent(write.getKey(), key -> new Versions())
+          .add(block.getHeight(), blockTime, write.getOffset(), write.isDeletion());
+    }
+    height = block.getHeight();
+    time = blockTime;
+  }
+
+  /**
+   * Version of the key which was current at the time
+   *
+   * @param time - milliseconds since the epoch
+   * @return empty when the key was not written by that time
+   */
+  public synchronized Optional<Version> atTime(String key, long time) {
+    return find(key, TIME, time);
+  }
+
+  /**
+   * Version of the key which was current after the block with the height was committed
+   *
+   * @return empty when the key was not written by that block
+   */
+  public synchronized Optional<Version> atHeight(String key, long height) {
+    return find(key, HEIGHT, height);
+  }
+
+  public synchronized long getHeight() {
+    return height;
+  }
+
+  private Optional<Version> find(String key, int field, long value) {
+    Versions keyVersions = versions.get(key);
+    if (keyVersions == null) {
+      return Optional.empty();
+    }
+    int position = keyVersions.lastNotAfter(field, value);
+    return position < 0 ? Optional.empty() : Optional.of(keyVersions.get(position));
+  }
+
+  @Value
+  public static class Version {
+
+    long height;
+    /**
+     * Time of the block, milliseconds since the epoch
+     */
+    long time;
+    /**
+     * Offset of the command in the block, see {@link DetailWrite#getOffset()}
+     */
+    int offset;
+    /**
+     * Whether DDO is deleted by this version
+     */
+    boolean deleted;
+  }
+
+  /**
+   * Versions of a key packed into one array, {@link #STRIDE} longs per version
+   */
+  private static final class Versions {
+
+    private long[] values = new long[STRIDE];
+    private int size;
+
+    private void add(long height, long time, int offset, boolean deleted) {
+      if (size > 0 && values[(size - 1) * STRIDE + HEIGHT] == height) {
+        // later write of the key in the same block replaces the earlier one
+        size--;
+      }
+      if ((size + 1) * STRIDE > values.length) {
+        values = Arrays.copyOf(values, values.length * 2);
+      }
+      int start = size * STRIDE;
+      values[start + HEIGHT] = height;
+      values[start + TIME] = time;
+      values[start + OFFSET] = (long) offset << 1 | (deleted ? 1 : 0);
+      size++;
+    }
+
+    private Version get(int position) {
+      int start = position * STRIDE;
+      return new Version(values[start + HEIGHT], values[start + TIME],
+          (int) (values[start + OFFSET] >>> 1), (values[start + OFFSET] & 1) == 1);
+    }
+
+    /**
+     * Position of the last version which field is not greater than the value, -1 when there is none
+     */
+    private int lastNotAfter(int field, long value) {
+      int low = 0;
+      int high = size - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        if (values[middle * STRIDE + field] <= value) {
+          low = middle + 1;
+        } else {
+          high = middle - 1;
+        }
+      }
+      return high;
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.reactivex.disposables.Disposable;
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.DiscardPolicy;
+import java.util.function.Consumer;
+import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties;
+import jp.co.soramitsu.sora.didresolver.services.IrohaService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Follows blocks of the ledger from the first one: blocks committed before the start are read one
+ * by one, newer ones come from the stream of blocks. Listeners get every block once, in the order
+ * of heights, on the single thread of the follower. Blocks missed while the stream was broken are
+ * read before the next streamed one, so there are no gaps
+ */
+@Slf4j
+@Component
+public class BlockFollower implements Closeable {
+
+  private final IrohaService irohaService;
+  private final long retryIntervalMillis;
+  private final ScheduledExecutorService executor;
+  private final List<Consumer<CommittedBlock>> listeners = new CopyOnWriteArrayList<>();
+  /**
+   * Height of the last delivered block, written only on the thread of the follower
+   */
+  private volatile long height;
+  /**
+   * Whether every committed block is delivered and the stream is open
+   */
+  private volatile boolean live;
+  /**
+   * Number of the current attempt to follow, callbacks of broken streams are ignored
+   */
+  private long attempt;
+  /**
+   * Stream of the current attempt, used only on the thread of the follower
+   */
+  private Disposable subscription;
+
+  public BlockFollower(IrohaService irohaService, IrohaProperties irohaProperties) {
+    this.irohaService = irohaService;
+    this.retryIntervalMillis = irohaProperties.getBlocks().getRetryInterval().toMillis();
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("iroha-blocks-");
+    threadFactory.setDaemon(true);
+    // blocks streamed after close are dropped, retries scheduled before close don't run
+    ScheduledThreadPoolExecutor pool =
+        new ScheduledThreadPoolExecutor(1, threadFactory, new DiscardPolicy());
+    pool.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    this.executor = pool;
+  }
+
+  /**
+   * Adds listener of blocks, listeners have to be added before the application is ready
+   */
+  public void addListener(Consumer<CommittedBlock> listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Starts following when there are listeners
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!listeners.isEmpty()) {
+      executor.execute(this::follow);
+    }
+  }
+
+  public long getHeight() {
+    return height;
+  }
+
+  public boolean isLive() {
+    return live;
+  }
+
+  /**
+   * Stops following, the stream is disposed on the thread of the follower after the tasks already
+   * queued there
+   */
+  @Override
+  public void close() {
+    executor.execute(this::stop);
+    executor.shutdown();
+  }
+
+  private void stop() {
+    attempt++;
+    live = false;
+    dispose();
+  }
+
+  private void follow() {
+    long current = ++attempt;
+    try {
+      subscription = irohaService.subscribeBlocks(
+          block -> executor.execute(() -> streamed(current, block)),
+          error -> executor.execute(() -> failed(current, error)));
+      // blocks committed meanwhile are both read and streamed, streamed ones are skipped then
+      readUpTo(Long.MAX_VALUE);
+      live = true;
+      log.info("following blocks of the ledger from height {}", height);
+    } catch (Exception e) {
+      // also IrohaUnavailableException, which bulkheads throw unchecked
+      failed(current, e);
+    }
+  }
+
+  private void streamed(long streamAttempt, CommittedBlock block) {
+    if (streamAttempt != attempt) {
+      return;
+    }
+    try {
+      readUpTo(block.getHeight() - 1);
+      if (block.getHeight() == height + 1) {
+        deliver(block);
+      }
+    } catch (Exception e) {
+      failed(streamAttempt, e);
+    }
+  }
+
+  private void failed(long failedAttempt, Throwable error) {
+    if (failedAttempt != attempt) {
+      return;
+    }
+    attempt++;
+    live = false;
+    dispose();
+    log.warn("following blocks stopped at height {}, retry in {} ms", height, retryIntervalMillis,
+        error);
+    executor.schedule(this::follow, retryIntervalMillis, MILLISECONDS);
+  }
+
+  /**
+   * Reads and delivers blocks after the last delivered one up to the height or the top block
+   */
+  private void readUpTo(long lastHeight) {
+    while (height < lastHeight) {
+      long next = height + 1;
+      CommittedBlock block = irohaService.getBlock(next).orElse(null);
+      if (block == null) {
+        if (lastHeight != Long.MAX_VALUE) {
+          throw new IllegalStateException("Block " + next + " is streamed but can't be read");
+        }
+        return;
+      }
+      deliver(block);
+    }
+  }
+
+  private void dispose() {
+    if (subscription != null) {
+      subscription.dispose();
+      subscription = null;
+    }
+  }
+
+  private void deliver(CommittedBlock block) {
+    for (Consumer<CommittedBlock> listener : listeners) {
+      try {
+        listener.accept(block);
+      } catch (Exception e) {
+        log.error("listener failed to handle block {}", block.getHeight(), e);
+      }
+    }
+    height = block.getHeight();
+  }
+}
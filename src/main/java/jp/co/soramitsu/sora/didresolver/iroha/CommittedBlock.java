@@ -0,0 +1,53 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import java.util.List;
+import java.util.Optional;
+import lombok.Value;
+
+/**
+ * Block of the ledger reduced to the account details written by the resolver
+ */
+@Value
+public class CommittedBlock {
+
+  long height;
+  /**
+   * Time the block was created, milliseconds since the epoch
+   */
+  long createdTime;
+  /**
+   * Details in the order of their commands in the block
+   */
+  List<DetailWrite> writes;
+
+  /**
+   * Write at the offset, empty when the command at the offset doesn't write a detail of the
+   * resolver
+   */
+  public Optional<DetailWrite> getWrite(int offset) {
+    return writes.stream().filter(write -> write.getOffset() == offset).findFirst();
+  }
+
+  @Value
+  public static class DetailWrite {
+
+    private static final String DELETED = "null";
+
+    /**
+     * Position of the command among all commands of the block
+     */
+    int offset;
+    String key;
+    /**
+     * Value as returned by account detail queries, i.e. JSON of the DDO or {@code null}
+     */
+    String value;
+
+    /**
+     * Whether the write deletes DDO, deleted DDOs are stored as JSON {@code null}
+     */
+    public boolean isDeletion() {
+      return DELETED.equals(value);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties.BulkheadProperties;
+import jp.co.soramitsu.sora.didresolver.exceptions.IrohaUnavailableException;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Isolated part of the Iroha client: own gRPC channels, calls are spread over round robin, and own
+ * bounded thread pool. Queries and transactions get separate bulkheads, so threads waiting for
+ * slow commits don't delay resolution. Calls are rejected right away when all threads are busy
+ * and the queue is full
+ */
+@Slf4j
+public class IrohaBulkhead implements Closeable {
+
+  public static final String BULKHEAD_TAG = "bulkhead";
+  public static final String SATURATION_GAUGE = "didresolver.iroha.bulkhead.saturation";
+  public static final String REJECTIONS = "didresolver.iroha.bulkhead.rejections";
+
+  @Getter
+  private final String name;
+  private final List<IrohaAPI> channels;
+  private final AtomicInteger nextChannel = new AtomicInteger();
+  private final ThreadPoolExecutor pool;
+  private final ExecutorService executor;
+  private final long timeoutMillis;
+  private final Counter rejections;
+
+  public IrohaBulkhead(String name, List<IrohaAPI> channels, BulkheadProperties properties,
+      MeterRegistry registry) {
+    if (channels.isEmpty()) {
+      throw new IllegalArgumentException("bulkhead " + name + " has no channels");
+    }
+    this.name = name;
+    this.channels = new ArrayList<>(channels);
+    this.timeoutMillis = properties.getTimeout().toMillis();
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("iroha-" + name + "-");
+    threadFactory.setDaemon(true);
+    this.pool = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+        0, MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueSize()), threadFactory);
+
+    List<Tag> tags = singletonList(Tag.of(BULKHEAD_TAG, name));
+    this.executor = ExecutorServiceMetrics.monitor(registry, pool, "iroha." + name, tags);
+    int capacity = properties.getThreads() + properties.getQueueSize();
+    Gauge.builder(SATURATION_GAUGE, pool,
+        executor -> (executor.getActiveCount() + executor.getQueue().size()) / (double) capacity)
+        .description("Busy threads and queued calls relative to the bulkhead capacity")
+        .tags(tags)
+        .register(registry);
+    this.rejections = Counter.builder(REJECTIONS)
+        .description("Calls rejected by the full bulkhead")
+        .tags(tags)
+        .register(registry);
+  }
+
+  /**
+   * Runs the call on one of the channels in the bulkhead thread and waits for its result
+   *
+   * @throws IrohaUnavailableException when the bulkhead is full or the call timed out, the
+   * exception is thrown unchecked. A call which timed out can still take effect, e.g. its
+   * transaction can be committed later
+   */
+  @SneakyThrows(IrohaUnavailableException.class)
+  public <T> T call(Function<IrohaAPI, T> call) {
+    IrohaAPI api = channels.get(Math.floorMod(nextChannel.getAndIncrement(), channels.size()));
+    Future<T> result;
+    try {
+      result = executor.submit(() -> call.apply(api));
+    } catch (RejectedExecutionException e) {
+      rejections.increment();
+      throw new IrohaUnavailableException("Iroha " + name + " bulkhead is full");
+    }
+    try {
+      return result.get(timeoutMillis, MILLISECONDS);
+    } catch (TimeoutException e) {
+      result.cancel(true);
+      throw new IrohaUnavailableException(
+          "Iroha " + name + " call did not complete in " + timeoutMillis + " ms");
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IrohaUnavailableException("Iroha " + name + " call is interrupted");
+    } catch (ExecutionException e) {
+      throw rethrow(e.getCause());
+    }
+  }
+
+  public void run(Consumer<IrohaAPI> call) {
+    call(api -> {
+      call.accept(api);
+      return null;
+    });
+  }
+
+  /**
+   * Address of the peer the channels are connected to
+   */
+  public String getUri() {
+    return String.valueOf(channels.get(0).getUri());
+  }
+
+  @Override
+  public void close() {
+    pool.shutdownNow();
+    channels.forEach(IrohaAPI::close);
+  }
+
+  private static RuntimeException rethrow(Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return new IllegalStateException(cause);
+  }
+}
@@ -0,0 +1,24 @@
+package jp.co.soramitsu.sora.didresolver.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Registration or update of the DDO, from decoding of the request body to the commit in the
+ * ledger. Size is the size of the request body
+ */
+@Name("jp.co.soramitsu.sora.didresolver.DDOWrite")
+@Label("DDO Write")
+public class DDOWriteEvent extends ResolverEvent {
+
+  public static final String REGISTRATION = "registration";
+  public static final String UPDATE = "update";
+
+  @Label("Operation")
+  private final String operation;
+
+  public DDOWriteEvent(String operation, long size) {
+    this.operation = operation;
+    setSize(size);
+  }
+}
@@ -0,0 +1,152 @@
+package jp.co.soramitsu.sora.didresolver.jfr;
+
+import static org.springframework.boot.actuate.endpoint.web.WebEndpointResponse.STATUS_NOT_FOUND;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jp.co.soramitsu.sora.didresolver.config.properties.FlightRecordingProperties;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Controls a single Java Flight Recorder recording of the resolver. {@code POST} starts a new
+ * recording bounded by age and size, {@code DELETE} stops it and {@code GET} dumps the data
+ * recorded so far, the recording may still be running. Bounds given with the request can't exceed
+ * the configured ones
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+  static final String RECORDING_NAME = "didresolver";
+
+  private final FlightRecordingProperties properties;
+
+  private Recording recording;
+
+  public FlightRecordingEndpoint(FlightRecordingProperties properties) {
+    this.properties = properties;
+  }
+
+  @WriteOperation
+  public synchronized Map<String, Object> start(@Nullable Duration maxAge,
+      @Nullable DataSize maxSize) throws IOException, ParseException {
+    close();
+    val configuration = Configuration.getConfiguration(properties.getSettings());
+    recording = new Recording(configuration);
+    recording.setName(RECORDING_NAME);
+    recording.setToDisk(true);
+    recording.setMaxAge(min(maxAge, properties.getMaxAge()));
+    recording.setMaxSize(min(maxSize, properties.getMaxSize()).toBytes());
+    recording.start();
+    log.info("started flight recording with {} settings", properties.getSettings());
+    return status();
+  }
+
+  @DeleteOperation
+  public synchronized Map<String, Object> stop() {
+    if (recording != null && recording.getState() == RecordingState.RUNNING) {
+      recording.stop();
+      log.info("stopped flight recording");
+    }
+    return status();
+  }
+
+  @ReadOperation(produces = "application/octet-stream")
+  public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+    if (recording == null) {
+      return new WebEndpointResponse<>(STATUS_NOT_FOUND);
+    }
+    Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+    try {
+      recording.dump(file);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+    return new WebEndpointResponse<>(new TemporaryFileResource(file.toFile()));
+  }
+
+  @PreDestroy
+  public synchronized void close() {
+    if (recording != null) {
+      recording.close();
+      recording = null;
+    }
+  }
+
+  private Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    if (recording == null) {
+      status.put("state", "NONE");
+      return status;
+    }
+    status.put("name", recording.getName());
+    status.put("state", recording.getState());
+    status.put("startTime", recording.getStartTime());
+    status.put("maxAge", recording.getMaxAge());
+    status.put("maxSize", recording.getMaxSize());
+    return status;
+  }
+
+  private static Duration min(Duration requested, Duration limit) {
+    return requested == null || requested.compareTo(limit) > 0 ? limit : requested;
+  }
+
+  private static DataSize min(DataSize requested, DataSize limit) {
+    return requested == null || requested.compareTo(limit) > 0 ? limit : requested;
+  }
+
+  /**
+   * Dump deleted once it is read, dumps are as large as the recording and not worth keeping
+   */
+  private static final class TemporaryFileResource extends FileSystemResource {
+
+    private TemporaryFileResource(File file) {
+      super(file);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+      return new FilterInputStream(super.getInputStream()) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            Files.deleteIfExists(getFile().toPath());
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean isFile() {
+      // keeps the stream based transfer, so the file is deleted after the response is written
+      return false;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package jp.co.soramitsu.sora.didresolver.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Call to Iroha: query of the account detail or transaction setting it. Size is the size of the
+ * detail, outcome of a transaction is its final status
+ */
+@Name("jp.co.soramitsu.sora.didresolver.IrohaCall")
+@Label("Iroha Call")
+public class IrohaCallEvent extends ResolverEvent {
+
+  public static final String QUERY = "query";
+  public static final String TRANSACTION = "transaction";
+
+  @Label("Operation")
+  private final String operation;
+
+  public IrohaCallEvent(String operation, String did) {
+    this.operation = operation;
+    setDid(did);
+  }
+}
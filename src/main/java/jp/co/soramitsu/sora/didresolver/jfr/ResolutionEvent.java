@@ -0,0 +1,22 @@
+package jp.co.soramitsu.sora.didresolver.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Lookup of the DDO by DID in the cache or the ledger, size is the size of the stored DDO when it
+ * is read from the ledger
+ */
+@Name("jp.co.soramitsu.sora.didresolver.Resolution")
+@Label("DID Resolution")
+public class ResolutionEvent extends ResolverEvent {
+
+  @Setter
+  @Label("Cached")
+  private boolean cached;
+
+  public ResolutionEvent(String did) {
+    setDid(did);
+  }
+}
@@ -0,0 +1,49 @@
+package jp.co.soramitsu.sora.didresolver.jfr;
+
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.ERROR;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.OK;
+
+import java.util.Optional;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode;
+import jp.co.soramitsu.sora.didresolver.exceptions.DIDResolverException;
+import lombok.Setter;
+
+/**
+ * Java Flight Recorder event of a resolver operation. Operation is timed from {@link #begin()} to
+ * {@link #commit()}, the outcome stays {@code ERROR} unless the operation reports its result, so
+ * operations interrupted by unexpected exceptions are still recorded
+ */
+@Setter
+@StackTrace(false)
+@Category("DID Resolver")
+public abstract class ResolverEvent extends jdk.jfr.Event {
+
+  // not private, private fields of a superclass are not recorded
+  @Label("DID")
+  protected String did;
+
+  @Label("Size")
+  @Description("Size of the processed document")
+  @DataAmount
+  protected long size;
+
+  @Label("Outcome")
+  protected String outcome = ERROR.name();
+
+  public void succeeded() {
+    outcome = OK.name();
+  }
+
+  public void failed(ResponseCode responseCode) {
+    outcome = Optional.ofNullable(responseCode).orElse(ERROR).name();
+  }
+
+  public void failed(DIDResolverException e) {
+    failed(e.getResponseCode());
+  }
+}
@@ -0,0 +1,21 @@
+package jp.co.soramitsu.sora.didresolver.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Verification of the DDO proof, size is the size of the serialized DDO when it is known
+ */
+@Name("jp.co.soramitsu.sora.didresolver.Verification")
+@Label("Proof Verification")
+public class VerificationEvent extends ResolverEvent {
+
+  @Setter
+  @Label("Cached")
+  private boolean cached;
+
+  public VerificationEvent(String did) {
+    setDid(did);
+  }
+}
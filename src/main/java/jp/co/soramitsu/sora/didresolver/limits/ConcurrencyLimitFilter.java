@@ -0,0 +1,130 @@
+package jp.co.soramitsu.sora.didresolver.limits;
+
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.CHANGES;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.PATH;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.VERIFY;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.TOO_MANY_REQUESTS;
+import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8_VALUE;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import jp.co.soramitsu.sora.didresolver.config.properties.LimitProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.LimitProperties.LimiterProperties;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GenericResponse;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GenericResponse.Status;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds requests of the DID API above the concurrency limit learned by {@link GradientLimiter}.
+ * Reads and writes have separate limits, so slow Iroha commits don't take the capacity of
+ * resolution. Rejected requests get the {@code TOO_MANY_REQUESTS} code right away, instead of
+ * waiting for a busy thread, with HTTP status 200 like every other error of the API.
+ *
+ * <p>Streams of changes are not limited: they release the thread as soon as they start and stay
+ * open for long, so their latency would only mislead the limiter. {@code ChangeFeed} limits them
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  public static final String LIMIT_GAUGE = "didresolver.limit";
+  public static final String IN_FLIGHT_GAUGE = "didresolver.limit.in_flight";
+  public static final String REJECTIONS = "didresolver.limit.rejections";
+  public static final String KIND_TAG = "kind";
+
+  private final ObjectMapper mapper;
+  private final Limit read;
+  private final Limit write;
+
+  public ConcurrencyLimitFilter(LimitProperties limitProperties, ObjectMapper mapper,
+      MeterRegistry registry) {
+    this.mapper = mapper;
+    this.read = new Limit("read", limitProperties.getRead(), registry);
+    this.write = new Limit("write", limitProperties.getWrite(), registry);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String uri = request.getRequestURI();
+    return !uri.startsWith(request.getContextPath() + PATH)
+        || uri.startsWith(request.getContextPath() + PATH + CHANGES);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    val limit = isRead(request) ? read : write;
+    if (limit.limiter == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    val permit = limit.limiter.tryAcquire();
+    if (permit == null) {
+      limit.rejections.increment();
+      reject(response, limit);
+      return;
+    }
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      permit.release();
+    }
+  }
+
+  /**
+   * Signature verification is posted but doesn't write to the ledger, so it is limited as a read
+   */
+  private static boolean isRead(HttpServletRequest request) {
+    return HttpMethod.GET.matches(request.getMethod())
+        || request.getRequestURI().startsWith(request.getContextPath() + PATH + VERIFY);
+  }
+
+  private void reject(HttpServletResponse response, Limit limit) throws IOException {
+    log.debug("{} request rejected, limit {} reached", limit.kind, limit.limiter.getLimit());
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(APPLICATION_JSON_UTF8_VALUE);
+    mapper.writeValue(response.getOutputStream(), new GenericResponse(new Status(
+        TOO_MANY_REQUESTS, "Limit of concurrent " + limit.kind + " requests is reached")));
+  }
+
+  /**
+   * Limiter of a kind of requests with its meters, limiter is {@code null} when disabled
+   */
+  private static final class Limit {
+
+    private final String kind;
+    private final GradientLimiter limiter;
+    private final Counter rejections;
+
+    private Limit(String kind, LimiterProperties properties, MeterRegistry registry) {
+      this.kind = kind;
+      this.limiter = properties.isEnabled() ? new GradientLimiter(properties) : null;
+      this.rejections = Counter.builder(REJECTIONS)
+          .description("Requests rejected by the concurrency limit")
+          .tag(KIND_TAG, kind)
+          .register(registry);
+      if (limiter != null) {
+        Gauge.builder(LIMIT_GAUGE, limiter, GradientLimiter::getLimit)
+            .description("Estimated limit of concurrent requests")
+            .tag(KIND_TAG, kind)
+            .register(registry);
+        Gauge.builder(IN_FLIGHT_GAUGE, limiter, GradientLimiter::getInFlight)
+            .description("Requests being processed")
+            .tag(KIND_TAG, kind)
+            .register(registry);
+      }
+    }
+  }
+}
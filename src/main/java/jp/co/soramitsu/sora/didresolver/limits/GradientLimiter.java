@@ -0,0 +1,139 @@
+package jp.co.soramitsu.sora.didresolver.limits;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import jp.co.soramitsu.sora.didresolver.config.properties.LimitProperties.LimiterProperties;
+
+/**
+ * Concurrency limiter learning the number of requests the resolver can process in parallel from
+ * their latency, the same way as the gradient algorithm of Netflix concurrency-limits. Short term
+ * latency is compared to the long term average, limit goes down while requests get slower than
+ * usual and grows by the queue size while they don't. The long term average slowly follows the
+ * short term one, so the limit recovers after a lasting change of latency
+ */
+public class GradientLimiter {
+
+  private static final double MIN_GRADIENT = 0.5;
+  /**
+   * Long term latency is lowered when it is this many times higher than the current
+   */
+  private static final double LONG_RTT_DRIFT = 2;
+  private static final double LONG_RTT_DECAY = 0.95;
+
+  private final LimiterProperties properties;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final ExponentialAverage longRtt;
+
+  private volatile double limit;
+
+  public GradientLimiter(LimiterProperties properties) {
+    if (properties.getMinLimit() > properties.getMaxLimit()) {
+      throw new IllegalArgumentException("min limit should not exceed max limit");
+    }
+    this.properties = properties;
+    this.longRtt = new ExponentialAverage(properties.getLongWindow());
+    this.limit = Math.max(properties.getMinLimit(),
+        Math.min(properties.getMaxLimit(), properties.getInitialLimit()));
+  }
+
+  /**
+   * Admits the request if the limit is not reached
+   *
+   * @return permit to release once the request is processed, {@code null} if the request has to
+   * be rejected
+   */
+  public Permit tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= getLimit()) {
+        return null;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(System.nanoTime(), current + 1);
+      }
+    }
+  }
+
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  synchronized void onSample(long rttNanos, int inFlightAtStart) {
+    double shortRtt = Math.max(1, rttNanos);
+    double average = longRtt.add(shortRtt);
+    if (average / shortRtt > LONG_RTT_DRIFT) {
+      average = longRtt.scale(LONG_RTT_DECAY);
+    }
+    // requests didn't use the limit, latency tells nothing about it
+    if (inFlightAtStart < limit / 2) {
+      return;
+    }
+    double gradient = Math.max(MIN_GRADIENT,
+        Math.min(1, properties.getRttTolerance() * average / shortRtt));
+    double estimate = limit * gradient + properties.getQueueSize();
+    double smoothing = properties.getSmoothing();
+    double smoothed = limit * (1 - smoothing) + estimate * smoothing;
+    limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), smoothed));
+  }
+
+  /**
+   * Admission of a single request
+   */
+  public final class Permit {
+
+    private final long start;
+    private final int inFlightAtStart;
+    private boolean released;
+
+    private Permit(long start, int inFlightAtStart) {
+      this.start = start;
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    /**
+     * Frees the slot taken by the request and feeds its latency to the limit estimation
+     */
+    public void release() {
+      if (released) {
+        return;
+      }
+      released = true;
+      inFlight.decrementAndGet();
+      onSample(System.nanoTime() - start, inFlightAtStart);
+    }
+  }
+
+  /**
+   * Average of the first samples of the window, exponential moving average afterwards
+   */
+  private static final class ExponentialAverage {
+
+    private final int window;
+    private final double factor;
+    private double value;
+    private int count;
+
+    private ExponentialAverage(int window) {
+      this.window = window;
+      this.factor = 2.0 / (window + 1);
+    }
+
+    private double add(double sample) {
+      if (count < window) {
+        count++;
+        value += (sample - value) / count;
+      } else {
+        value = value * (1 - factor) + sample * factor;
+      }
+      return value;
+    }
+
+    private double scale(double ratio) {
+      value *= ratio;
+      return value;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package jp.co.soramitsu.sora.didresolver.metrics;
+
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GenericResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Passes response code of the request to {@link StageMetrics} and marks the start of response
+ * writing. Applies to bodies returned by controllers and by the error handler
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class ResponseOutcomeAdvice implements ResponseBodyAdvice<Object> {
+
+  private final StageMetrics stageMetrics;
+
+  @Override
+  public boolean supports(MethodParameter returnType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType,
+      MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request, ServerHttpResponse response) {
+    if (body instanceof GenericResponse && ((GenericResponse) body).getStatus() != null) {
+      stageMetrics.responseWriteStarted(((GenericResponse) body).getStatus().getCode());
+    } else {
+      stageMetrics.responseWriteStarted(null);
+    }
+    return body;
+  }
+}
@@ -0,0 +1,26 @@
+package jp.co.soramitsu.sora.didresolver.metrics;
+
+/**
+ * Sizes recorded by {@link StageMetrics} as distribution summaries in bytes, documents received
+ * as text are measured in characters, which is the same for ASCII JSON
+ */
+public enum SizeMetric {
+  /**
+   * DDO received in write request or read from the ledger
+   */
+  DDO("didresolver.ddo.size"),
+  /**
+   * Account detail response of Iroha
+   */
+  IROHA_DETAIL("didresolver.iroha.detail.size");
+
+  private final String name;
+
+  SizeMetric(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+}
@@ -0,0 +1,42 @@
+package jp.co.soramitsu.sora.didresolver.metrics;
+
+/**
+ * Stages of request processing timed by {@link StageMetrics}
+ */
+public enum Stage {
+  /**
+   * Parsing of request body into DDO
+   */
+  DECODE("decode"),
+  /**
+   * Bean validation of the decoded DDO
+   */
+  VALIDATION("validation"),
+  PROOF_VERIFICATION("proof_verification"),
+  /**
+   * Account detail query to Iroha
+   */
+  IROHA_QUERY("iroha_query"),
+  /**
+   * Extraction of the detail from the account detail response of Iroha
+   */
+  DETAIL_EXTRACTION("detail_extraction"),
+  /**
+   * Submission of the transaction to Iroha and waiting for its final status
+   */
+  IROHA_COMMIT("iroha_commit"),
+  /**
+   * Serialization of the response body
+   */
+  RESPONSE_WRITE("response_write");
+
+  private final String tag;
+
+  Stage(String tag) {
+    this.tag = tag;
+  }
+
+  public String getTag() {
+    return tag;
+  }
+}
@@ -0,0 +1,146 @@
+package jp.co.soramitsu.sora.didresolver.metrics;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency of request processing stages and sizes of processed documents. Meters are tagged by
+ * endpoint and outcome {@link ResponseCode} of the request, which are known only when the response
+ * is written, so samples taken while a request is processed are kept per thread and registered by
+ * {@link StageMetricsFilter} at the end of the request. Samples taken outside of HTTP requests are
+ * registered right away with {@value #NONE} endpoint and outcome.
+ *
+ * <p>Stages are timed as
+ * <pre>
+ *   long start = stageMetrics.start();
+ *   try {
+ *     ...
+ *   } finally {
+ *     stageMetrics.stop(Stage.DECODE, start);
+ *   }
+ * </pre>
+ */
+@Component
+public class StageMetrics {
+
+  public static final String STAGE_TIMER = "didresolver.stage";
+  public static final String STAGE_TAG = "stage";
+  public static final String ENDPOINT_TAG = "endpoint";
+  public static final String OUTCOME_TAG = "outcome";
+  public static final String NONE = "none";
+
+  private final MeterRegistry registry;
+  private final ThreadLocal<Request> request = new ThreadLocal<>();
+
+  public StageMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  public long start() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Records the stage which began at {@code start} taken from {@link #start()}
+   */
+  public void stop(Stage stage, long start) {
+    long duration = System.nanoTime() - start;
+    Request current = request.get();
+    if (current == null) {
+      timer(stage, NONE, NONE).record(duration, NANOSECONDS);
+    } else {
+      current.stages.add(stage);
+      current.durations.add(duration);
+    }
+  }
+
+  public void size(SizeMetric metric, long bytes) {
+    Request current = request.get();
+    if (current == null) {
+      summary(metric, NONE, NONE).record(bytes);
+    } else {
+      current.sizeMetrics.add(metric);
+      current.sizes.add(bytes);
+    }
+  }
+
+  void begin() {
+    request.set(new Request());
+  }
+
+  /**
+   * Sets outcome of the current request, called when the response body is about to be written
+   */
+  void responseWriteStarted(ResponseCode outcome) {
+    Request current = request.get();
+    if (current != null) {
+      current.outcome = outcome;
+      current.writeStart = start();
+    }
+  }
+
+  /**
+   * Registers samples of the current request
+   *
+   * @param endpoint - handler of the request
+   * @param defaultOutcome - outcome when the response had no {@link ResponseCode}
+   */
+  void end(String endpoint, String defaultOutcome) {
+    Request current = request.get();
+    request.remove();
+    if (current == null) {
+      return;
+    }
+    if (current.writeStart != 0) {
+      current.stages.add(Stage.RESPONSE_WRITE);
+      current.durations.add(System.nanoTime() - current.writeStart);
+    }
+    String outcome = current.outcome == null ? defaultOutcome : current.outcome.name();
+    for (int i = 0; i < current.stages.size(); i++) {
+      timer(current.stages.get(i), endpoint, outcome)
+          .record(current.durations.get(i), NANOSECONDS);
+    }
+    for (int i = 0; i < current.sizeMetrics.size(); i++) {
+      summary(current.sizeMetrics.get(i), endpoint, outcome).record(current.sizes.get(i));
+    }
+  }
+
+  private Timer timer(Stage stage, String endpoint, String outcome) {
+    return Timer.builder(STAGE_TIMER)
+        .description("Time of request processing stage")
+        .tag(STAGE_TAG, stage.getTag())
+        .tag(ENDPOINT_TAG, endpoint)
+        .tag(OUTCOME_TAG, outcome)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private DistributionSummary summary(SizeMetric metric, String endpoint, String outcome) {
+    return DistributionSummary.builder(metric.getName())
+        .baseUnit("bytes")
+        .tag(ENDPOINT_TAG, endpoint)
+        .tag(OUTCOME_TAG, outcome)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  /**
+   * Samples of a request in progress
+   */
+  private static class Request {
+
+    private final List<Stage> stages = new ArrayList<>();
+    private final List<Long> durations = new ArrayList<>();
+    private final List<SizeMetric> sizeMetrics = new ArrayList<>();
+    private final List<Long> sizes = new ArrayList<>();
+    private ResponseCode outcome;
+    private long writeStart;
+  }
+}
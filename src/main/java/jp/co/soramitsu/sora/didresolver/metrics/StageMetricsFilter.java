@@ -0,0 +1,43 @@
+package jp.co.soramitsu.sora.didresolver.metrics;
+
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.PATH;
+import static org.springframework.web.servlet.HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Opens {@link StageMetrics} samples for requests of the DID API and registers them once the
+ * response is written. Endpoint is tagged as HTTP method and the matched path pattern
+ */
+@Component
+@RequiredArgsConstructor
+public class StageMetricsFilter extends OncePerRequestFilter {
+
+  private final StageMetrics stageMetrics;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getRequestURI().startsWith(request.getContextPath() + PATH);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    stageMetrics.begin();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      Object pattern = request.getAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE);
+      stageMetrics.end(
+          request.getMethod() + " " + (pattern == null ? StageMetrics.NONE : pattern),
+          "HTTP_" + response.getStatus());
+    }
+  }
+}
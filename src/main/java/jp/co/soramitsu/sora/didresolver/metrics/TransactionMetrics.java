@@ -0,0 +1,89 @@
+package jp.co.soramitsu.sora.didresolver.metrics;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import iroha.protocol.Endpoint.TxStatus;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lifecycle of transactions sent to Iroha: time from submission to every reported status, number
+ * of rejections by index of the failed command and number of transactions waiting for the final
+ * status. Together with {@link Stage#IROHA_COMMIT} it separates time spent in the resolver from
+ * time spent in the network and Iroha consensus
+ */
+@Component
+public class TransactionMetrics {
+
+  public static final String STATUS_TIMER = "didresolver.iroha.transaction.status";
+  public static final String REJECTIONS = "didresolver.iroha.transaction.rejections";
+  public static final String IN_FLIGHT = "didresolver.iroha.transaction.in_flight";
+  public static final String STATUS_TAG = "status";
+  public static final String FAILED_COMMAND_TAG = "failed_cmd_index";
+
+  private final MeterRegistry registry;
+  private final AtomicInteger inFlight;
+
+  public TransactionMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    this.inFlight = registry.gauge(IN_FLIGHT, new AtomicInteger());
+  }
+
+  /**
+   * Starts tracking of a transaction, the returned submission has to be closed when the final
+   * status is received or the status stream fails
+   */
+  public Submission submitted() {
+    inFlight.incrementAndGet();
+    return new Submission(System.nanoTime());
+  }
+
+  /**
+   * Transaction sent to Iroha
+   */
+  public final class Submission implements AutoCloseable {
+
+    private final long start;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private Submission(long start) {
+      this.start = start;
+    }
+
+    /**
+     * Records time from submission to the status
+     */
+    public void status(TxStatus status) {
+      Timer.builder(STATUS_TIMER)
+          .description("Time from submission of Iroha transaction to its status")
+          .tag(STATUS_TAG, status.name().toLowerCase(Locale.ROOT))
+          .publishPercentileHistogram()
+          .register(registry)
+          .record(System.nanoTime() - start, NANOSECONDS);
+    }
+
+    /**
+     * Records rejection status and counts the rejection by the index of the failed command
+     */
+    public void rejected(int failedCommandIndex) {
+      status(TxStatus.REJECTED);
+      Counter.builder(REJECTIONS)
+          .description("Rejected Iroha transactions")
+          .tag(FAILED_COMMAND_TAG, String.valueOf(failedCommandIndex))
+          .register(registry)
+          .increment();
+    }
+
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package jp.co.soramitsu.sora.didresolver.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.DDOChange;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import jp.co.soramitsu.sora.didresolver.exceptions.DDOUnparseableException;
+import jp.co.soramitsu.sora.didresolver.exceptions.VersionNotIndexedException;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock;
+
+/**
+ * Resolves DDOs as they were in the past, versions are indexed from blocks of the ledger
+ */
+public interface HistoryService {
+
+  /**
+   * Finds DDO by DID as it was at the time
+   *
+   * @param did - valid DID
+   * @return empty when DDO was not created by that time or was deleted
+   * @throws VersionNotIndexedException if versions are not indexed up to the top block
+   */
+  Optional<ResolvedDDO> resolveAtTime(String did, Instant time)
+      throws VersionNotIndexedException, DDOUnparseableException;
+
+  /**
+   * Finds DDO by DID as it was after the block with the height was committed
+   *
+   * @param did - valid DID
+   * @return empty when DDO was not created by that block or was deleted
+   * @throws VersionNotIndexedException if the block is not indexed yet
+   */
+  Optional<ResolvedDDO> resolveAtHeight(String did, long height)
+      throws VersionNotIndexedException, DDOUnparseableException;
+
+  /**
+   * Changes of DDOs made by the block, told apart by versions before the block. Deletions of DDOs
+   * which don't exist and values which are not DDOs are skipped
+   *
+   * @param block - block with height not greater than the one after the last indexed block
+   */
+  List<DDOChange> readChanges(CommittedBlock block);
+}
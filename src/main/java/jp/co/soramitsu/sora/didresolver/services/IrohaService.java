@@ -1,7 +1,11 @@
 package jp.co.soramitsu.sora.didresolver.services;
 
+import io.reactivex.disposables.Disposable;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import jp.co.soramitsu.sora.didresolver.exceptions.IrohaTransactionCommitmentException;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock;
 
 /**
  * This is the abstraction which hides implementation of communicating with Iroha network,
@@ -21,6 +25,33 @@ public interface IrohaService {
    */
   Optional<String> getAccountDetails(String key);
 
+  /**
+   * Reads every detail written by the account of the service page by page, so responses stay below
+   * the message size limit of gRPC however many details are written
+   *
+   * @param onPage - receives values of a page by their keys, values are as returned by {@link
+   * #getAccountDetails(String)}
+   */
+  void readAllAccountDetails(Consumer<Map<String, String>> onPage);
+
+  /**
+   * Returns the block with details written by the account of the service, the account needs the
+   * permission to read blocks
+   *
+   * @param height - height of the block, starting from 1
+   * @return empty when there is no block with such height yet
+   */
+  Optional<CommittedBlock> getBlock(long height);
+
+  /**
+   * Subscribes to blocks committed from now on, blocks are delivered in the order of their heights
+   * on a thread of the Iroha client
+   *
+   * @param onError - called when the stream breaks, no blocks are delivered after that
+   * @return subscription, disposing it closes the stream
+   */
+  Disposable subscribeBlocks(Consumer<CommittedBlock> onBlock, Consumer<Throwable> onError);
+
   /**
    * Sets details under given key
    *
@@ -0,0 +1,29 @@
+package jp.co.soramitsu.sora.didresolver.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Map;
+import java.util.Optional;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import jp.co.soramitsu.sora.didresolver.exceptions.DIDResolverException;
+
+public interface ReferenceService {
+
+  /**
+   * Resolves DDOs referenced by the DDO, then DDOs referenced by them and so on up to the depth.
+   * Every DID is resolved once, so cycles of references end, and DDOs of a level are resolved in
+   * parallel
+   *
+   * @param depth - 1 for DDOs referenced by the DDO itself
+   * @param resolver - resolves a referenced DID, e.g. at the version of the DDO
+   * @return DDOs by their DIDs in the order they are reached, {@code null} for DIDs which can't be
+   * resolved
+   * @throws IllegalArgumentException if the depth is negative or greater than allowed
+   */
+  Map<String, JsonNode> resolveReferences(ResolvedDDO ddo, int depth, Resolver resolver);
+
+  @FunctionalInterface
+  interface Resolver {
+
+    Optional<ResolvedDDO> resolve(String did) throws DIDResolverException;
+  }
+}
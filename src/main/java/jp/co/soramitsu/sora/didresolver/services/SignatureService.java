@@ -0,0 +1,33 @@
+package jp.co.soramitsu.sora.didresolver.services;
+
+import java.util.List;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.SignatureVerification;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignatureRq;
+import jp.co.soramitsu.sora.didresolver.exceptions.DDOUnparseableException;
+import jp.co.soramitsu.sora.didresolver.exceptions.DIDNotFoundException;
+import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyNotFoundException;
+import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyValueNotPresentedException;
+
+public interface SignatureService {
+
+  /**
+   * Verifies signature of the message made by a public key of a registered DID
+   *
+   * @param keyId - id of the public key, e.g. did:sora:user#keys-1
+   * @return true if the signature is valid
+   * @throws IllegalArgumentException if {@code keyId} is not a valid DID with a fragment
+   */
+  boolean verify(String keyId, byte[] message, byte[] signature)
+      throws DIDNotFoundException, DDOUnparseableException, PublicKeyNotFoundException,
+      PublicKeyValueNotPresentedException;
+
+  /**
+   * Verifies several signatures at once, a signature which can't be verified (e.g. its DID is not
+   * registered) affects only its own result
+   *
+   * @param signatures - signatures with their key ids
+   * @return result for every signature in the order of {@code signatures}
+   * @throws IllegalArgumentException if there are more signatures than allowed in one batch
+   */
+  List<SignatureVerification> verifyAll(List<VerifySignatureRq> signatures);
+}
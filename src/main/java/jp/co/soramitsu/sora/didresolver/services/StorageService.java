@@ -1,7 +1,10 @@
 package jp.co.soramitsu.sora.didresolver.services;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
 import jp.co.soramitsu.sora.didresolver.exceptions.DDOUnparseableException;
 import jp.co.soramitsu.sora.sdk.did.model.dto.DDO;
 
@@ -11,6 +14,44 @@ public interface StorageService {
 
   Optional<JsonNode> findDDObyDID(String did) throws DDOUnparseableException;
 
+  /**
+   * Finds DDO by DID together with its indexes, DDO may be served from the cache
+   *
+   * @param did - valid DID
+   */
+  Optional<ResolvedDDO> resolve(String did) throws DDOUnparseableException;
+
+  /**
+   * Finds DIDs which DDOs contain the public key, served from the index
+   *
+   * @param publicKey - bytes of the public key
+   */
+  Set<String> findDIDsByPublicKey(byte[] publicKey);
+
+  /**
+   * Finds DIDs which DDOs contain public keys with the owner, served from the index
+   *
+   * @param owner - value of the owner of public keys
+   */
+  Set<String> findDIDsByOwner(String owner);
+
+  /**
+   * Lists registered DIDs in lexicographical order, served from the index
+   *
+   * @param prefix - only DIDs which start with the prefix
+   * @param after - only DIDs after this one, {@code null} to list from the start
+   * @param limit - maximum number of DIDs
+   * @throws IllegalArgumentException if the limit is not positive or exceeds the maximum page size
+   */
+  List<String> listDIDs(String prefix, String after, int limit);
+
+  /**
+   * Rebuilds indexes of DDOs from all DDOs in the ledger, DDOs written meanwhile stay indexed
+   *
+   * @return number of DDOs in the ledger
+   */
+  int rebuildIndex();
+
   /**
    * Delete DDO by DID
    *
@@ -2,7 +2,10 @@ package jp.co.soramitsu.sora.didresolver.services;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import java.util.List;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import jp.co.soramitsu.sora.didresolver.dto.SignedDDO;
 import jp.co.soramitsu.sora.didresolver.exceptions.ProofSignatureVerificationException;
+import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyNotFoundException;
 import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyValueNotPresentedException;
 import jp.co.soramitsu.sora.sdk.did.model.dto.Authentication;
 import jp.co.soramitsu.sora.sdk.did.model.dto.DDO;
@@ -36,4 +39,37 @@ public interface VerifyService {
    */
   boolean verifyIntegrityOfDDO(DDO ddo, JsonNode jsonDDO)
       throws ProofSignatureVerificationException, PublicKeyValueNotPresentedException;
+
+  /**
+   * Verifies integrity of the DDO decoded from a request, serialized form of the DDO is reused
+   * instead of encoding its JSON again
+   *
+   * @param signedDDO - DDO with its JSON representation
+   */
+  boolean verifyIntegrityOfDDO(SignedDDO signedDDO)
+      throws ProofSignatureVerificationException, PublicKeyValueNotPresentedException;
+
+  /**
+   * Verifies integrity of several DDOs at once. This is not batch verification: every proof is
+   * still checked on its own, only the checks run in parallel, so a batch costs as much CPU as
+   * verifying its DDOs one by one
+   *
+   * @param ddos - DDOs with their JSON representations
+   * @return result of verification for every DDO in the order of {@code ddos}, DDO which proof
+   * can't be verified at all (e.g. creator key is absent) is reported as not verified
+   */
+  List<Boolean> verifyIntegrityOfDDOs(List<SignedDDO> ddos);
+
+  /**
+   * Verifies Ed25519/SHA3 signature of the message made by a public key of the DDO. The key is
+   * decoded once per resolved DDO, so verifications against a cached DDO reuse it
+   *
+   * @param ddo - DDO which contains the key
+   * @param keyId - id of the key, e.g. did:sora:user#keys-1, the key is used only when the DDO
+   * lists it with exactly this id
+   * @return true if the signature is valid, false if it is not or is malformed
+   * @throws IllegalArgumentException if {@code keyId} has no fragment
+   */
+  boolean verifySignature(ResolvedDDO ddo, String keyId, byte[] message, byte[] signature)
+      throws PublicKeyNotFoundException, PublicKeyValueNotPresentedException;
 }
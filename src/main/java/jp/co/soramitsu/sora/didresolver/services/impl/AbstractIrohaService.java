@@ -4,25 +4,58 @@ import static com.fasterxml.jackson.core.util.BufferRecyclers.quoteAsJsonText;
 import static com.jayway.jsonpath.Configuration.defaultConfiguration;
 import static com.jayway.jsonpath.JsonPath.using;
 import static com.jayway.jsonpath.Option.SUPPRESS_EXCEPTIONS;
+import static iroha.protocol.Endpoint.TxStatus.COMMITTED;
+import static iroha.protocol.Endpoint.TxStatus.REJECTED;
+import static iroha.protocol.Endpoint.TxStatus.STATEFUL_VALIDATION_SUCCESS;
+import static iroha.protocol.Endpoint.TxStatus.STATELESS_VALIDATION_SUCCESS;
 import static java.lang.String.valueOf;
 import static java.time.Instant.now;
 import static java.util.Optional.ofNullable;
+import static jp.co.soramitsu.sora.didresolver.commons.DIDScanner.toIrohaKey;
+import static jp.co.soramitsu.sora.didresolver.jfr.IrohaCallEvent.QUERY;
+import static jp.co.soramitsu.sora.didresolver.jfr.IrohaCallEvent.TRANSACTION;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.springframework.util.StringUtils.isEmpty;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.Configuration;
+import io.reactivex.Observable;
 import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.SetAccountDetail;
 import iroha.protocol.Endpoint.ToriiResponse;
+import iroha.protocol.Primitive.AccountDetailRecordId;
+import iroha.protocol.QryResponses.BlockQueryResponse;
+import iroha.protocol.QryResponses.QueryResponse;
 import iroha.protocol.Queries.Query;
 import iroha.protocol.TransactionOuterClass;
+import java.io.IOException;
 import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.Consumer;
 import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3.CryptoException;
-import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.iroha.java.BlocksQueryBuilder;
 import jp.co.soramitsu.iroha.java.TransactionStatusObserver;
 import jp.co.soramitsu.sora.didresolver.exceptions.IrohaTransactionCommitmentException;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock.DetailWrite;
+import jp.co.soramitsu.sora.didresolver.iroha.IrohaBulkhead;
+import jp.co.soramitsu.sora.didresolver.jfr.IrohaCallEvent;
+import jp.co.soramitsu.sora.didresolver.metrics.SizeMetric;
+import jp.co.soramitsu.sora.didresolver.metrics.Stage;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
+import jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics;
+import jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.Submission;
 import jp.co.soramitsu.sora.didresolver.services.IrohaService;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
@@ -40,7 +73,13 @@ public abstract class AbstractIrohaService implements IrohaService {
 
   private final Logger log = getLogger(getClass());
 
-  private final IrohaAPI api;
+  private final IrohaBulkhead queries;
+
+  private final IrohaBulkhead transactions;
+
+  private final StageMetrics stageMetrics;
+
+  private final TransactionMetrics transactionMetrics;
 
   protected abstract KeyPair keyPair();
 
@@ -48,6 +87,11 @@ public abstract class AbstractIrohaService implements IrohaService {
 
   protected abstract String irohaAccount();
 
+  /**
+   * Number of details in a page when all details are read
+   */
+  protected abstract int detailsPageSize();
+
   @Override
   public Optional<String> getAccountDetails(String detailKey) {
     String key = getNormalizeDetailKey(detailKey);
@@ -58,23 +102,167 @@ public abstract class AbstractIrohaService implements IrohaService {
           key,
           account,
           now());
-      val queryResponse = api.query(getAccountDetailsQuery(key));
-      String response = queryResponse.getAccountDetailResponse().getDetail();
+      val query = getAccountDetailsQuery(key);
+      val event = new IrohaCallEvent(QUERY, detailKey);
+      event.begin();
+      val queryStart = stageMetrics.start();
+      final String response;
+      try {
+        response = queries.call(api -> api.query(query).getAccountDetailResponse().getDetail());
+        event.setSize(response == null ? 0 : response.length());
+        event.succeeded();
+      } finally {
+        stageMetrics.stop(Stage.IROHA_QUERY, queryStart);
+        event.commit();
+      }
       log.debug("received the Iroha account detail {} for key {}", response, key);
-      if (isEmpty(response)) {
+      stageMetrics.size(SizeMetric.IROHA_DETAIL, response == null ? 0 : response.length());
+      val extractionStart = stageMetrics.start();
+      try {
+        return readDetail(response, key);
+      } finally {
+        stageMetrics.stop(Stage.DETAIL_EXTRACTION, extractionStart);
+      }
+    } catch (CryptoException e) {
+      log.warn("Can't sign query: {}", e.getMessage());
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Extracts value under the key from account detail response of Iroha
+   */
+  Optional<String> readDetail(String response, String key) {
+    if (isEmpty(response)) {
+      return Optional.empty();
+    }
+    return ofNullable(
+        using(suppressingExceptionConfig)
+            .parse(response)
+            .read(pathForDetailWithKey(key))
+    );
+  }
+
+  @Override
+  public void readAllAccountDetails(Consumer<Map<String, String>> onPage) {
+    val account = irohaAccount();
+    log.debug("getting all account details of Iroha account {}", account);
+    try {
+      AccountDetailRecordId next = null;
+      int pages = 0;
+      do {
+        val query = getAccountDetailsPageQuery(next);
+        QueryResponse response = queries.call(api -> api.query(query));
+        if (!response.hasAccountDetailResponse()) {
+          throw new IllegalStateException("Page " + pages + " of account details of Iroha account "
+              + account + " is not returned: " + response.getErrorResponse().getMessage());
+        }
+        val page = response.getAccountDetailResponse();
+        onPage.accept(readDetails(page.getDetail(), account));
+        pages++;
+        next = page.hasNextRecordId() ? page.getNextRecordId() : null;
+      } while (next != null);
+      log.debug("read {} pages of account details of Iroha account {}", pages, account);
+    } catch (CryptoException e) {
+      log.warn("Can't sign query: {}", e.getMessage());
+      throw new IllegalStateException(e);
+    } catch (IOException e) {
+      log.error("Can't parse account details of Iroha account {}", account);
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Extracts values written by the writer from account detail response of Iroha
+   */
+  Map<String, String> readDetails(String response, String writer) throws IOException {
+    Map<String, String> details = new LinkedHashMap<>();
+    if (isEmpty(response)) {
+      return details;
+    }
+    JsonNode written = objectMapper().readTree(response).path(writer);
+    Iterator<Entry<String, JsonNode>> fields = written.fields();
+    while (fields.hasNext()) {
+      Entry<String, JsonNode> field = fields.next();
+      details.put(field.getKey(), field.getValue().asText());
+    }
+    return details;
+  }
+
+  @Override
+  public Optional<CommittedBlock> getBlock(long height) {
+    try {
+      val query = jp.co.soramitsu.iroha.java.Query.builder(irohaAccount(), now(), 1)
+          .getBlock(height)
+          .buildSigned(keyPair());
+      QueryResponse response = queries.call(api -> api.query(query));
+      if (!response.hasBlockResponse()) {
+        log.debug("block {} is not returned: {}", height,
+            response.getErrorResponse().getMessage());
         return Optional.empty();
       }
-      return ofNullable(
-          using(suppressingExceptionConfig)
-              .parse(response)
-              .read(pathForDetailWithKey(key))
-      );
+      return Optional.of(readBlock(response.getBlockResponse().getBlock()));
+    } catch (CryptoException e) {
+      log.warn("Can't sign query: {}", e.getMessage());
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public Disposable subscribeBlocks(Consumer<CommittedBlock> onBlock,
+      Consumer<Throwable> onError) {
+    try {
+      val query = new BlocksQueryBuilder(irohaAccount(), now(), 1).buildSigned(keyPair());
+      // only the subscription runs in the bulkhead, blocks arrive on threads of the gRPC channel
+      Observable<BlockQueryResponse> blocks = queries.call(api -> api.blocksQuery(query));
+      return blocks
+          .map(response -> {
+            if (!response.hasBlockResponse()) {
+              throw new IllegalStateException(
+                  "Blocks stream failed: " + response.getBlockErrorResponse().getMessage());
+            }
+            return readBlock(response.getBlockResponse().getBlock());
+          })
+          .subscribe(onBlock::accept, onError::accept);
     } catch (CryptoException e) {
       log.warn("Can't sign query: {}", e.getMessage());
       throw new IllegalStateException(e);
     }
   }
 
+  /**
+   * Extracts details written by the account of the service to itself, values are unescaped the same
+   * way as by account detail queries
+   */
+  CommittedBlock readBlock(Block block) {
+    val payload = block.getBlockV1().getPayload();
+    String account = irohaAccount();
+    List<DetailWrite> writes = new ArrayList<>();
+    int offset = 0;
+    for (TransactionOuterClass.Transaction transaction : payload.getTransactionsList()) {
+      val reducedPayload = transaction.getPayload().getReducedPayload();
+      boolean written = account.equals(reducedPayload.getCreatorAccountId());
+      for (Command command : reducedPayload.getCommandsList()) {
+        if (written && command.hasSetAccountDetail()
+            && account.equals(command.getSetAccountDetail().getAccountId())) {
+          readWrite(offset, command.getSetAccountDetail()).ifPresent(writes::add);
+        }
+        offset++;
+      }
+    }
+    return new CommittedBlock(payload.getHeight(), payload.getCreatedTime(), writes);
+  }
+
+  private Optional<DetailWrite> readWrite(int offset, SetAccountDetail detail) {
+    try {
+      String value = objectMapper().readValue('"' + detail.getValue() + '"', String.class);
+      return Optional.of(new DetailWrite(offset, detail.getKey(), value));
+    } catch (IOException e) {
+      log.warn("Value of detail {} is not escaped JSON and is skipped", detail.getKey());
+      return Optional.empty();
+    }
+  }
+
   @Override
   public void setAccountDetails(String detailKey, Object detailValue) {
     String key = getNormalizeDetailKey(detailKey);
@@ -86,27 +274,51 @@ public abstract class AbstractIrohaService implements IrohaService {
         v = objectMapper().writeValueAsString(detailValue);
       }
       val tx = setAccountDetailsTransaction(key, valueOf(quoteAsJsonText(v)));
-      log.debug("send transaction {} to iroha at {}", tx, api.getUri());
-      api.transaction(tx).blockingSubscribe(getObserver(key));
+      log.debug("send transaction {} to iroha at {}", tx, transactions.getUri());
+      val event = new IrohaCallEvent(TRANSACTION, detailKey);
+      event.setSize(v.length());
+      event.begin();
+      val start = stageMetrics.start();
+      try (val submission = transactionMetrics.submitted()) {
+        transactions.run(api ->
+            api.transaction(tx).blockingSubscribe(getObserver(key, submission, event)));
+      } finally {
+        stageMetrics.stop(Stage.IROHA_COMMIT, start);
+        event.commit();
+      }
     } catch (JsonProcessingException e) {
       log.error("Problem with processing json {} for object with key {}", detailValue, key);
       throw new IrohaTransactionCommitmentException(key, e);
     }
   }
 
-  private Observer<? super ToriiResponse> getObserver(String txKey) {
+  private Observer<? super ToriiResponse> getObserver(String txKey, Submission submission,
+      IrohaCallEvent event) {
     return TransactionStatusObserver.builder()
-        .onTransactionFailed(tx ->
-            log.error("transaction {} failed with msg: {}", tx.getTxHash(), tx.getErrOrCmdName()))
+        .onStatelessValidationSuccess(tx -> submission.status(STATELESS_VALIDATION_SUCCESS))
+        .onStatefulValidationSuccess(tx -> submission.status(STATEFUL_VALIDATION_SUCCESS))
+        .onTransactionFailed(tx -> {
+          submission.status(tx.getTxStatus());
+          log.error("transaction {} failed with msg: {}", tx.getTxHash(), tx.getErrOrCmdName());
+        })
         .onError(e -> {
+          submission.close();
           log.error("Transaction failed with exception", e);
           throw new IrohaTransactionCommitmentException(txKey, e);
         })
-        .onTransactionCommitted(tx -> log.debug("tx {} is committed", tx.getTxHash()))
-        .onRejected(
-            toriiResponse -> log
-                .warn("tx {} is rejected with reason code {}", toriiResponse.getTxHash(),
-                    toriiResponse.getFailedCmdIndex()))
+        .onTransactionCommitted(tx -> {
+          submission.status(COMMITTED);
+          submission.close();
+          event.setOutcome(COMMITTED.name());
+          log.debug("tx {} is committed", tx.getTxHash());
+        })
+        .onRejected(toriiResponse -> {
+          submission.rejected(toriiResponse.getFailedCmdIndex());
+          submission.close();
+          event.setOutcome(REJECTED.name());
+          log.warn("tx {} is rejected with reason code {}", toriiResponse.getTxHash(),
+              toriiResponse.getFailedCmdIndex());
+        })
         .build();
   }
 
@@ -128,8 +340,20 @@ public abstract class AbstractIrohaService implements IrohaService {
         .buildSigned(keyPair());
   }
 
+  /**
+   * Query of the page of details written by the account of the service
+   *
+   * @param first - first detail of the page, {@code null} for the first page
+   */
+  private Query getAccountDetailsPageQuery(AccountDetailRecordId first) {
+    return jp.co.soramitsu.iroha.java.Query.builder(irohaAccount(), now(), 1)
+        .getAccountDetail(irohaAccount(), irohaAccount(), null, detailsPageSize(),
+            first == null ? null : first.getWriter(), first == null ? null : first.getKey())
+        .buildSigned(keyPair());
+  }
+
   private String getNormalizeDetailKey(String detailKey) {
-    return detailKey.replaceAll("[\\s-:.@]", "_");
+    return toIrohaKey(detailKey);
   }
 
   private String pathForDetailWithKey(String key) {
@@ -0,0 +1,164 @@
+package jp.co.soramitsu.sora.didresolver.services.impl;
+
+import static jp.co.soramitsu.sora.didresolver.commons.DIDScanner.toIrohaKey;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.DDOChange.Kind.CREATE;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.DDOChange.Kind.DELETE;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.DDOChange.Kind.UPDATE;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.DDOChange;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import jp.co.soramitsu.sora.didresolver.exceptions.DDOUnparseableException;
+import jp.co.soramitsu.sora.didresolver.exceptions.VersionNotIndexedException;
+import jp.co.soramitsu.sora.didresolver.index.VersionIndex;
+import jp.co.soramitsu.sora.didresolver.index.VersionIndex.Version;
+import jp.co.soramitsu.sora.didresolver.iroha.BlockFollower;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock.DetailWrite;
+import jp.co.soramitsu.sora.didresolver.services.HistoryService;
+import jp.co.soramitsu.sora.didresolver.services.IrohaService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finds the version in the index and reads its value from the block of the version, so only one
+ * block is queried per historical resolution
+ */
+@Slf4j
+@Service
+public class HistoryServiceImpl implements HistoryService {
+
+  private static final String ID = "id";
+
+  private final IrohaService irohaService;
+  private final BlockFollower blockFollower;
+  private final boolean enabled;
+  private final VersionIndex index = new VersionIndex();
+  private final ObjectMapper mapper;
+
+  public HistoryServiceImpl(IrohaService irohaService, BlockFollower blockFollower,
+      ObjectMapper mapper, ResolveProperties resolveProperties) {
+    this.irohaService = irohaService;
+    this.blockFollower = blockFollower;
+    this.mapper = mapper;
+    this.enabled = resolveProperties.getHistory().isEnabled();
+    if (enabled) {
+      blockFollower.addListener(index::add);
+    }
+  }
+
+  @Override
+  public Optional<ResolvedDDO> resolveAtTime(String did, Instant time)
+      throws VersionNotIndexedException, DDOUnparseableException {
+    checkIndexed();
+    return load(did, index.atTime(toIrohaKey(did), time.toEpochMilli()));
+  }
+
+  @Override
+  public Optional<ResolvedDDO> resolveAtHeight(String did, long height)
+      throws VersionNotIndexedException, DDOUnparseableException {
+    checkIndexed();
+    if (height > index.getHeight()) {
+      throw new VersionNotIndexedException(
+          "Block " + height + " is not indexed, the last indexed block is " + index.getHeight());
+    }
+    return load(did, index.atHeight(toIrohaKey(did), height));
+  }
+
+  /**
+   * Versions after the last indexed block may be missing unless blocks are followed live
+   */
+  private void checkIndexed() throws VersionNotIndexedException {
+    if (!enabled) {
+      throw new VersionNotIndexedException("Historical resolution is disabled");
+    }
+    if (!blockFollower.isLive()) {
+      throw new VersionNotIndexedException(
+          "Blocks are being indexed, the last indexed block is " + index.getHeight());
+    }
+  }
+
+  @Override
+  public List<DDOChange> readChanges(CommittedBlock block) {
+    Instant time = Instant.ofEpochMilli(block.getCreatedTime());
+    List<DDOChange> changes = new ArrayList<>();
+    // DIDs of keys written earlier in the block, null when the last write deleted the DDO
+    Map<String, String> written = new HashMap<>();
+    for (DetailWrite write : block.getWrites()) {
+      String key = write.getKey();
+      String previousDid = written.containsKey(key)
+          ? written.get(key)
+          : previousDid(key, block.getHeight());
+      if (write.isDeletion()) {
+        written.put(key, null);
+        if (previousDid != null) {
+          changes.add(new DDOChange(DELETE, previousDid, block.getHeight(), time, null));
+        }
+        continue;
+      }
+      try {
+        JsonNode ddo = mapper.readTree(write.getValue());
+        String did = ddo.path(ID).asText(null);
+        if (did == null) {
+          log.warn("value of key {} in block {} is not DDO", key, block.getHeight());
+          continue;
+        }
+        written.put(key, did);
+        changes.add(new DDOChange(previousDid == null ? CREATE : UPDATE, did, block.getHeight(),
+            time, ddo));
+      } catch (IOException e) {
+        log.warn("value of key {} in block {} can't be parsed", key, block.getHeight());
+      }
+    }
+    return changes;
+  }
+
+  /**
+   * DID of the DDO stored under the key before the block, {@code null} when there was no DDO
+   */
+  private String previousDid(String key, long height) {
+    Optional<Version> previous = index.atHeight(key, height - 1);
+    if (!previous.isPresent() || previous.get().isDeleted()) {
+      return null;
+    }
+    try {
+      JsonNode ddo = mapper.readTree(readValue(previous.get()));
+      return ddo.path(ID).asText(key);
+    } catch (IOException e) {
+      return key;
+    }
+  }
+
+  private Optional<ResolvedDDO> load(String did, Optional<Version> version)
+      throws DDOUnparseableException {
+    if (!version.isPresent() || version.get().isDeleted()) {
+      return Optional.empty();
+    }
+    log.debug("reading version of DID {} from block {}", did, version.get().getHeight());
+    try {
+      JsonNode json = mapper.readTree(readValue(version.get()));
+      return json == null || json.isNull() ? Optional.empty() : Optional.of(new ResolvedDDO(json));
+    } catch (IOException e) {
+      throw new DDOUnparseableException(e);
+    }
+  }
+
+  private String readValue(Version version) {
+    long height = version.getHeight();
+    int offset = version.getOffset();
+    return irohaService.getBlock(height)
+        .flatMap(block -> block.getWrite(offset))
+        .map(DetailWrite::getValue)
+        .orElseThrow(() -> new IllegalStateException(
+            "Block " + height + " has no detail at offset " + offset));
+  }
+}
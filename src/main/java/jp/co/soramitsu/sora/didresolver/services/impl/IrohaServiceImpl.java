@@ -2,9 +2,12 @@ package jp.co.soramitsu.sora.didresolver.services.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.security.KeyPair;
-import jp.co.soramitsu.iroha.java.IrohaAPI;
 import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties;
+import jp.co.soramitsu.sora.didresolver.iroha.IrohaBulkhead;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
+import jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,14 +16,18 @@ public class IrohaServiceImpl extends AbstractIrohaService {
   private final KeyPair keyPair;
   private final ObjectMapper objectMapper;
   private final String irohaAccount;
+  private final int detailsPageSize;
 
   @Autowired
-  public IrohaServiceImpl(ObjectMapper objectMapper,
-      IrohaProperties irohaProperties, IrohaAPI api) {
-    super(api);
+  public IrohaServiceImpl(ObjectMapper objectMapper, IrohaProperties irohaProperties,
+      @Qualifier("irohaQueries") IrohaBulkhead queries,
+      @Qualifier("irohaTransactions") IrohaBulkhead transactions,
+      StageMetrics stageMetrics, TransactionMetrics transactionMetrics) {
+    super(queries, transactions, stageMetrics, transactionMetrics);
     this.objectMapper = objectMapper;
     this.keyPair = irohaProperties.getAccount().keyPair();
     this.irohaAccount = irohaProperties.getAccount().getName();
+    this.detailsPageSize = irohaProperties.getDetailsPageSize();
   }
 
   @Override
@@ -38,4 +45,9 @@ public class IrohaServiceImpl extends AbstractIrohaService {
     return irohaAccount;
   }
 
+  @Override
+  protected int detailsPageSize() {
+    return detailsPageSize;
+  }
+
 }
@@ -0,0 +1,91 @@
+package jp.co.soramitsu.sora.didresolver.services.impl;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.stream.Collectors.toList;
+import static jp.co.soramitsu.sora.didresolver.config.MiscBeansConfig.RESOLUTION_EXECUTOR;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties.ReferencesProperties;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import jp.co.soramitsu.sora.didresolver.exceptions.DIDResolverException;
+import jp.co.soramitsu.sora.didresolver.services.ReferenceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Walks references breadth first: DIDs of a level are collected from DDOs of the previous one,
+ * DIDs seen before are skipped, and the rest is resolved in parallel on the resolution executor,
+ * so a deep walk costs one round trip to the ledger per level at most
+ */
+@Slf4j
+@Service
+public class ReferenceServiceImpl implements ReferenceService {
+
+  private static final String ID = "id";
+
+  private final int maxDepth;
+  private final int maxDocuments;
+  private final ExecutorService executor;
+
+  public ReferenceServiceImpl(ResolveProperties resolveProperties,
+      @Qualifier(RESOLUTION_EXECUTOR) ExecutorService executor) {
+    ReferencesProperties properties = resolveProperties.getReferences();
+    this.maxDepth = properties.getMaxDepth();
+    this.maxDocuments = properties.getMaxDocuments();
+    this.executor = executor;
+  }
+
+  @Override
+  public Map<String, JsonNode> resolveReferences(ResolvedDDO ddo, int depth, Resolver resolver) {
+    if (depth < 0 || depth > maxDepth) {
+      throw new IllegalArgumentException(
+          "Depth of references has to be between 0 and " + maxDepth);
+    }
+    Map<String, JsonNode> references = new LinkedHashMap<>();
+    Set<String> seen = new HashSet<>();
+    seen.add(ddo.getJson().path(ID).asText());
+    List<ResolvedDDO> level = Collections.singletonList(ddo);
+    for (int i = 0; i < depth && !level.isEmpty(); i++) {
+      List<String> dids = new ArrayList<>();
+      for (ResolvedDDO referencing : level) {
+        for (String did : referencing.getReferencedDIDs()) {
+          if (references.size() + dids.size() < maxDocuments && seen.add(did)) {
+            dids.add(did);
+          }
+        }
+      }
+      List<CompletableFuture<Optional<ResolvedDDO>>> resolutions = dids.stream()
+          .map(did -> supplyAsync(() -> resolve(did, resolver), executor))
+          .collect(toList());
+      level = new ArrayList<>(dids.size());
+      for (int j = 0; j < dids.size(); j++) {
+        Optional<ResolvedDDO> resolved = resolutions.get(j).join();
+        references.put(dids.get(j), resolved.map(ResolvedDDO::getJson).orElse(null));
+        resolved.ifPresent(level::add);
+      }
+    }
+    log.debug("resolved {} references of {} levels", references.size(), depth);
+    return references;
+  }
+
+  private Optional<ResolvedDDO> resolve(String did, Resolver resolver) {
+    try {
+      return resolver.resolve(did);
+    } catch (DIDResolverException | RuntimeException e) {
+      log.debug("referenced DID {} is not resolved: {}", did, e.getMessage());
+      return Optional.empty();
+    }
+  }
+}
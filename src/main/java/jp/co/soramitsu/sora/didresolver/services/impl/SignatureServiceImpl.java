@@ -0,0 +1,160 @@
+package jp.co.soramitsu.sora.didresolver.services.impl;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.stream.Collectors.toList;
+import static jp.co.soramitsu.sora.didresolver.config.MiscBeansConfig.RESOLUTION_EXECUTOR;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.DID_NOT_FOUND;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.INCORRECT_QUERY_PARAMS;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.OK;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import jp.co.soramitsu.sora.didresolver.commons.DIDScanner;
+import jp.co.soramitsu.sora.didresolver.commons.Futures;
+import jp.co.soramitsu.sora.didresolver.config.properties.VerifyProperties;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.SignatureVerification;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignatureRq;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import jp.co.soramitsu.sora.didresolver.exceptions.DDOUnparseableException;
+import jp.co.soramitsu.sora.didresolver.exceptions.DIDNotFoundException;
+import jp.co.soramitsu.sora.didresolver.exceptions.DIDResolverException;
+import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyNotFoundException;
+import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyValueNotPresentedException;
+import jp.co.soramitsu.sora.didresolver.services.SignatureService;
+import jp.co.soramitsu.sora.didresolver.services.StorageService;
+import jp.co.soramitsu.sora.didresolver.services.VerifyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Verifies signatures with public keys of resolved DDOs. DDOs come from {@link StorageService},
+ * so keys of cached DDOs are decoded only once
+ */
+@Slf4j
+@Service
+public class SignatureServiceImpl implements SignatureService {
+
+  private static final char FRAGMENT_DELIMITER = '#';
+
+  private final StorageService storageService;
+  private final VerifyService verifyService;
+  private final int maxBatchSize;
+  private final ExecutorService executor;
+
+  public SignatureServiceImpl(StorageService storageService, VerifyService verifyService,
+      VerifyProperties verifyProperties,
+      @Qualifier(RESOLUTION_EXECUTOR) ExecutorService executor) {
+    this.storageService = storageService;
+    this.verifyService = verifyService;
+    this.maxBatchSize = verifyProperties.getSignatures().getMaxBatchSize();
+    this.executor = executor;
+  }
+
+  @Override
+  public boolean verify(String keyId, byte[] message, byte[] signature)
+      throws DIDNotFoundException, DDOUnparseableException, PublicKeyNotFoundException,
+      PublicKeyValueNotPresentedException {
+    int delimiter = fragmentDelimiter(keyId);
+    if (delimiter < 0) {
+      throw new IllegalArgumentException("Key id '" + keyId + "' is not a DID with a fragment");
+    }
+    String did = keyId.substring(0, delimiter);
+    ResolvedDDO ddo = storageService.resolve(did).orElseThrow(() -> new DIDNotFoundException(did));
+    return verifyService.verifySignature(ddo, keyId, message, signature);
+  }
+
+  /**
+   * DDOs are resolved once per DID of the batch, all of them in parallel on the resolution
+   * executor, and every signature is verified there as soon as its DDO is resolved
+   */
+  @Override
+  public List<SignatureVerification> verifyAll(List<VerifySignatureRq> signatures) {
+    if (signatures.size() > maxBatchSize) {
+      throw new IllegalArgumentException("Batch of " + signatures.size()
+          + " signatures exceeds the limit of " + maxBatchSize);
+    }
+    log.debug("verifying {} signatures", signatures.size());
+    Map<String, CompletableFuture<Resolution>> resolutions = new HashMap<>();
+    List<CompletableFuture<SignatureVerification>> verifications =
+        new ArrayList<>(signatures.size());
+    for (VerifySignatureRq signature : signatures) {
+      int delimiter = fragmentDelimiter(signature.getKeyId());
+      CompletableFuture<Resolution> resolution = delimiter < 0
+          ? completedFuture(Resolution.INVALID_KEY_ID)
+          : resolutions.computeIfAbsent(signature.getKeyId().substring(0, delimiter),
+              did -> supplyAsync(() -> resolve(did), executor));
+      verifications.add(resolution.thenApplyAsync(target -> verify(signature, target), executor));
+    }
+    return verifications.stream()
+        .map(Futures::join)
+        .collect(toList());
+  }
+
+  private Resolution resolve(String did) {
+    try {
+      return storageService.resolve(did)
+          .map(Resolution::new)
+          .orElse(Resolution.NOT_FOUND);
+    } catch (DDOUnparseableException e) {
+      log.warn("DDO of DID {} can't be parsed", did, e);
+      return new Resolution(e.getResponseCode());
+    }
+  }
+
+  private SignatureVerification verify(VerifySignatureRq signature, Resolution resolution) {
+    String keyId = signature.getKeyId();
+    if (resolution.ddo == null) {
+      return new SignatureVerification(keyId, false, resolution.error);
+    }
+    try {
+      boolean verified = verifyService.verifySignature(resolution.ddo, keyId,
+          signature.getMessage(), signature.getSignature());
+      return new SignatureVerification(keyId, verified, OK);
+    } catch (DIDResolverException e) {
+      log.debug("signature by key {} is not verified: {}", keyId, e.getMessage());
+      return new SignatureVerification(keyId, false, e.getResponseCode());
+    }
+  }
+
+  /**
+   * Position of '#' in the key id, -1 unless the key id is a valid DID followed by a non-empty
+   * fragment
+   */
+  private static int fragmentDelimiter(String keyId) {
+    int delimiter = keyId.indexOf(FRAGMENT_DELIMITER);
+    if (delimiter < 0 || delimiter == keyId.length() - 1
+        || !DIDScanner.isValidDID(keyId.subSequence(0, delimiter))) {
+      return -1;
+    }
+    return delimiter;
+  }
+
+  /**
+   * DDO resolved for a DID of the batch or the reason it is not available
+   */
+  private static class Resolution {
+
+    private static final Resolution NOT_FOUND = new Resolution(DID_NOT_FOUND);
+    private static final Resolution INVALID_KEY_ID = new Resolution(INCORRECT_QUERY_PARAMS);
+
+    private final ResolvedDDO ddo;
+    private final ResponseCode error;
+
+    private Resolution(ResolvedDDO ddo) {
+      this.ddo = ddo;
+      this.error = null;
+    }
+
+    private Resolution(ResponseCode error) {
+      this.ddo = null;
+      this.error = error;
+    }
+  }
+}
@@ -1,48 +1,183 @@
 package jp.co.soramitsu.sora.didresolver.services.impl;
 
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.DID_NOT_FOUND;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.DID_UNPARSEABLE;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import jp.co.soramitsu.sora.didresolver.cache.DDOCache;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties.DDOCacheProperties;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
 import jp.co.soramitsu.sora.didresolver.exceptions.DDOUnparseableException;
+import jp.co.soramitsu.sora.didresolver.index.DIDIndex;
+import jp.co.soramitsu.sora.didresolver.jfr.ResolutionEvent;
+import jp.co.soramitsu.sora.didresolver.metrics.SizeMetric;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
 import jp.co.soramitsu.sora.didresolver.services.IrohaService;
 import jp.co.soramitsu.sora.didresolver.services.StorageService;
 import jp.co.soramitsu.sora.sdk.json.JsonUtil;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-@AllArgsConstructor
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class StorageServiceImpl implements StorageService {
 
   private final IrohaService irohaService;
+  private final StageMetrics stageMetrics;
   private ObjectMapper mapper = JsonUtil.buildMapper();
+  /**
+   * Resolved DDOs, {@code null} when caching is disabled
+   */
+  private final DDOCache cache;
+  private final DIDIndex index = new DIDIndex();
+  private final boolean rebuildIndexOnStartup;
+  private final int maxPageSize;
+
+  public StorageServiceImpl(IrohaService irohaService, StageMetrics stageMetrics,
+      ResolveProperties resolveProperties) {
+    this.irohaService = irohaService;
+    this.stageMetrics = stageMetrics;
+    this.rebuildIndexOnStartup = resolveProperties.getIndex().isRebuildOnStartup();
+    this.maxPageSize = resolveProperties.getIndex().getMaxPageSize();
+    DDOCacheProperties cacheProperties = resolveProperties.getCache();
+    this.cache = cacheProperties.isEnabled()
+        ? new DDOCache(cacheProperties.getMaxSize(), cacheProperties.getExpireAfter().toNanos())
+        : null;
+  }
 
   @Override
   public void createOrUpdate(String did, Object ddo) {
-    irohaService.setAccountDetails(did, ddo);
+    invalidate(did);
+    boolean written = false;
+    try {
+      irohaService.setAccountDetails(did, ddo);
+      written = true;
+    } finally {
+      invalidate(did);
+      if (!written) {
+        // the transaction can still be committed, e.g. when the bulkhead stopped waiting for it
+        reindex(did);
+      }
+    }
+    index.update(did, toJson(did, ddo));
   }
 
   @Override
   public Optional<JsonNode> findDDObyDID(String did) throws DDOUnparseableException {
-    return irohaService.getAccountDetails(did)
-        .map(this::parseDdoFromIrohaResponse)
-        .filter(jsonNode -> !jsonNode.isNull());
+    return resolve(did).map(ResolvedDDO::getJson);
+  }
+
+  @Override
+  public Optional<ResolvedDDO> resolve(String did) throws DDOUnparseableException {
+    val event = new ResolutionEvent(did);
+    event.begin();
+    try {
+      val cached = cache == null ? Optional.<ResolvedDDO>empty() : cache.get(did);
+      if (cached.isPresent()) {
+        event.setCached(true);
+        event.succeeded();
+        return cached;
+      }
+      val ddo = load(did, event);
+      if (ddo.isPresent()) {
+        event.succeeded();
+      } else {
+        event.failed(DID_NOT_FOUND);
+      }
+      return ddo;
+    } finally {
+      event.commit();
+    }
+  }
+
+  @Override
+  public Set<String> findDIDsByPublicKey(byte[] publicKey) {
+    return index.findByPublicKey(publicKey);
+  }
+
+  @Override
+  public Set<String> findDIDsByOwner(String owner) {
+    return index.findByOwner(owner);
+  }
+
+  @Override
+  public List<String> listDIDs(String prefix, String after, int limit) {
+    if (limit < 1 || limit > maxPageSize) {
+      throw new IllegalArgumentException(
+          "Page size should be from 1 to " + maxPageSize + ", but is " + limit);
+    }
+    return index.list(prefix, after, limit);
+  }
+
+  @Override
+  public int rebuildIndex() {
+    index.startRebuild();
+    boolean rebuilt = false;
+    try {
+      AtomicInteger count = new AtomicInteger();
+      irohaService.readAllAccountDetails(page -> {
+        Map<String, JsonNode> ddos = new HashMap<>();
+        page.forEach((key, detail) -> {
+          try {
+            JsonNode ddo = mapper.readTree(detail);
+            // DID can't be restored from the Iroha key, which has some characters replaced
+            if (ddo != null && ddo.hasNonNull("id")) {
+              ddos.put(ddo.get("id").asText(), ddo);
+            }
+          } catch (IOException e) {
+            log.warn("DDO under Iroha key {} can't be parsed and is not indexed", key);
+          }
+        });
+        index.rebuild(ddos);
+        count.addAndGet(ddos.size());
+      });
+      index.finishRebuild();
+      rebuilt = true;
+      log.info("indexes are rebuilt with {} DDOs", count.get());
+      return count.get();
+    } finally {
+      if (!rebuilt) {
+        index.abortRebuild();
+      }
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildIndexOnStartup() {
+    if (!rebuildIndexOnStartup) {
+      return;
+    }
+    try {
+      rebuildIndex();
+    } catch (Exception e) {
+      // also IrohaUnavailableException, which bulkheads throw unchecked
+      log.error("Indexes are not rebuilt, they contain only DDOs written from now on", e);
+    }
   }
 
   @Override
   public void delete(String did) {
-    irohaService.setAccountDetails(did, null);
+    createOrUpdate(did, null);
   }
 
   @SneakyThrows(DDOUnparseableException.class)
-  private JsonNode parseDdoFromIrohaResponse(String response) {
+  JsonNode parseDdoFromIrohaResponse(String response) {
     try {
       return mapper.readTree(response);
     } catch (IOException e) {
@@ -50,4 +185,61 @@ public class StorageServiceImpl implements StorageService {
     }
   }
 
+  private Optional<ResolvedDDO> load(String did, ResolutionEvent event) {
+    val load = cache == null ? 0 : cache.startLoad(did);
+    val ddo = irohaService.getAccountDetails(did)
+        .map(detail -> {
+          stageMetrics.size(SizeMetric.DDO, detail.length());
+          event.setSize(detail.length());
+          // stays the outcome when parsing fails
+          event.failed(DID_UNPARSEABLE);
+          return parseDdoFromIrohaResponse(detail);
+        })
+        .filter(jsonNode -> !jsonNode.isNull())
+        .map(ResolvedDDO::new);
+    if (cache != null) {
+      ddo.ifPresent(resolved -> cache.put(did, resolved, load));
+    }
+    return ddo;
+  }
+
+  /**
+   * JSON of the written DDO, {@code null} when DDO is deleted or can't be parsed
+   */
+  private JsonNode toJson(String did, Object ddo) {
+    if (ddo == null) {
+      return null;
+    }
+    if (!(ddo instanceof String)) {
+      return mapper.valueToTree(ddo);
+    }
+    try {
+      return mapper.readTree((String) ddo);
+    } catch (IOException e) {
+      log.warn("written DDO of DID {} can't be parsed and is not indexed", did);
+      return null;
+    }
+  }
+
+  /**
+   * Indexes DDO of the DID as it is stored now. A transaction committed after this read is indexed
+   * by the next rebuild of the indexes
+   */
+  private void reindex(String did) {
+    try {
+      index.update(did, irohaService.getAccountDetails(did)
+          .map(this::parseDdoFromIrohaResponse)
+          .filter(json -> !json.isNull())
+          .orElse(null));
+    } catch (Exception e) {
+      // also IrohaUnavailableException, which bulkheads throw unchecked
+      log.warn("index of DID {} is not reconciled with the ledger after failed write", did, e);
+    }
+  }
+
+  private void invalidate(String did) {
+    if (cache != null) {
+      cache.invalidate(did);
+    }
+  }
 }
@@ -1,20 +1,38 @@
 package jp.co.soramitsu.sora.didresolver.services.impl;
 
 import static java.util.Objects.nonNull;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.stream.Collectors.toList;
 import static jp.co.soramitsu.crypto.ed25519.spec.EdDSANamedCurveTable.ED_25519;
+import static jp.co.soramitsu.sora.didresolver.config.MiscBeansConfig.RESOLUTION_EXECUTOR;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.INVALID_PROOF_SIGNATURE;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3.CryptoException;
 import jp.co.soramitsu.crypto.ed25519.EdDSAPublicKey;
 import jp.co.soramitsu.crypto.ed25519.spec.EdDSANamedCurveTable;
 import jp.co.soramitsu.crypto.ed25519.spec.EdDSAParameterSpec;
 import jp.co.soramitsu.crypto.ed25519.spec.EdDSAPublicKeySpec;
+import jp.co.soramitsu.sora.didresolver.cache.VerificationCache;
+import jp.co.soramitsu.sora.didresolver.commons.Futures;
+import jp.co.soramitsu.sora.didresolver.config.properties.VerifyProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.VerifyProperties.CacheProperties;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import jp.co.soramitsu.sora.didresolver.dto.SignedDDO;
 import jp.co.soramitsu.sora.didresolver.exceptions.ProofSignatureVerificationException;
+import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyNotFoundException;
 import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyValueNotPresentedException;
+import jp.co.soramitsu.sora.didresolver.jfr.VerificationEvent;
 import jp.co.soramitsu.sora.didresolver.services.VerifyService;
 import jp.co.soramitsu.sora.sdk.crypto.common.SecurityProvider;
 import jp.co.soramitsu.sora.sdk.crypto.json.JSONCanonizerWithOneCoding;
@@ -24,12 +42,12 @@ import jp.co.soramitsu.sora.sdk.did.model.dto.DDO;
 import jp.co.soramitsu.sora.sdk.did.model.dto.DID;
 import jp.co.soramitsu.sora.sdk.did.model.dto.PublicKey;
 import jp.co.soramitsu.sora.sdk.json.JsonUtil;
-import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-@NoArgsConstructor
 @Service
 @Slf4j
 public class VerifyServiceImpl implements VerifyService {
@@ -40,6 +58,37 @@ public class VerifyServiceImpl implements VerifyService {
   private static final SecurityProvider secProvider = new SecurityProvider();
   private static final JSONCanonizerWithOneCoding canonizer = new JSONCanonizerWithOneCoding();
 
+  /**
+   * Remembers successfully verified DDOs, {@code null} when caching is disabled
+   */
+  private final VerificationCache verificationCache;
+
+  /**
+   * Runs verifications of a batch
+   */
+  private final Executor executor;
+
+  public VerifyServiceImpl() {
+    this(new VerifyProperties());
+  }
+
+  /**
+   * DDOs of a batch are verified one by one on the calling thread
+   */
+  public VerifyServiceImpl(VerifyProperties verifyProperties) {
+    this(verifyProperties, Runnable::run);
+  }
+
+  @Autowired
+  public VerifyServiceImpl(VerifyProperties verifyProperties,
+      @Qualifier(RESOLUTION_EXECUTOR) Executor executor) {
+    CacheProperties cacheProperties = verifyProperties.getCache();
+    this.verificationCache = cacheProperties.isEnabled()
+        ? new VerificationCache(cacheProperties.getMaxSize())
+        : null;
+    this.executor = executor;
+  }
+
   @Override
   public boolean isCreatorInPublicKeys(@NotNull DID proofCreator, List<PublicKey> publicKeys) {
     return nonNull(publicKeys) && publicKeys.stream()
@@ -58,6 +107,38 @@ public class VerifyServiceImpl implements VerifyService {
   @Override
   public boolean verifyIntegrityOfDDO(DDO ddo, JsonNode jsonDDO)
       throws ProofSignatureVerificationException, PublicKeyValueNotPresentedException {
+    return verifyIntegrityOfDDO(new SignedDDO(ddo, jsonDDO));
+  }
+
+  @Override
+  public boolean verifyIntegrityOfDDO(SignedDDO signedDDO)
+      throws ProofSignatureVerificationException, PublicKeyValueNotPresentedException {
+    val ddo = signedDDO.getDdo();
+    val event = new VerificationEvent(ddo.getId().toString());
+    if (signedDDO.getSerialized() != null) {
+      event.setSize(signedDDO.getSerialized().length);
+    }
+    event.begin();
+    try {
+      boolean isDDOVerified = verify(signedDDO, event);
+      if (isDDOVerified) {
+        event.succeeded();
+      } else {
+        event.failed(INVALID_PROOF_SIGNATURE);
+      }
+      return isDDOVerified;
+    } catch (ProofSignatureVerificationException | PublicKeyValueNotPresentedException e) {
+      event.failed(e);
+      throw e;
+    } finally {
+      event.commit();
+    }
+  }
+
+  private boolean verify(SignedDDO signedDDO, VerificationEvent event)
+      throws ProofSignatureVerificationException, PublicKeyValueNotPresentedException {
+    val ddo = signedDDO.getDdo();
+    val jsonDDO = signedDDO.getJson();
     log.debug("verifying integrity of DDO with DID {}", ddo.getId());
 
     byte[] publicKeyValue =
@@ -70,6 +151,13 @@ public class VerifyServiceImpl implements VerifyService {
     EdDSAPublicKey edDSAPublicKey =
         new EdDSAPublicKey(new EdDSAPublicKeySpec(publicKeyValue, parameterSpec));
 
+    ByteBuffer cacheKey = cacheKey(signedDDO, publicKeyValue);
+    if (cacheKey != null && verificationCache.isVerified(cacheKey)) {
+      log.debug("proof of DDO with DID {} has already been verified", ddo.getId());
+      event.setCached(true);
+      return true;
+    }
+
     boolean isDDOVerified;
     try {
       val suite = new JSONEd25519Sha3SignatureSuite(secProvider, canonizer, mapper);
@@ -77,10 +165,94 @@ public class VerifyServiceImpl implements VerifyService {
     } catch (Exception e) {
       throw new ProofSignatureVerificationException(ddo.getId().toString(), e);
     }
+    if (isDDOVerified && cacheKey != null) {
+      verificationCache.markVerified(cacheKey);
+    }
     log.debug("finishing verification of proof for DDO with DID {}", ddo.getId());
     return isDDOVerified;
   }
 
+  /**
+   * DDOs are verified independently of each other on the executor, so a bad signature affects only
+   * its own result. They are not checked with one multi-scalar equation: the message signed by a
+   * proof is built inside {@link JSONEd25519Sha3SignatureSuite} and is not exposed by it, so the
+   * hashes of the messages the equation needs can't be computed
+   */
+  @Override
+  public List<Boolean> verifyIntegrityOfDDOs(List<SignedDDO> ddos) {
+    log.debug("verifying integrity of {} DDOs", ddos.size());
+    List<CompletableFuture<Boolean>> results = ddos.stream()
+        .map(signedDDO -> supplyAsync(() -> isVerified(signedDDO), executor))
+        .collect(toList());
+    return results.stream()
+        .map(Futures::join)
+        .collect(toList());
+  }
+
+  private boolean isVerified(SignedDDO signedDDO) {
+    DDO ddo = signedDDO.getDdo();
+    if (ddo.getProof() == null) {
+      log.debug("DDO with DID {} has no proof", ddo.getId());
+      return false;
+    }
+    try {
+      return verifyIntegrityOfDDO(signedDDO);
+    } catch (ProofSignatureVerificationException | PublicKeyValueNotPresentedException e) {
+      log.debug("proof of DDO with DID {} is not verified: {}", ddo.getId(), e.getMessage());
+      return false;
+    } catch (IllegalArgumentException e) {
+      // value of the creator key is not an Ed25519 public key
+      log.debug("key of proof of DDO with DID {} is malformed: {}", ddo.getId(), e.getMessage());
+      return false;
+    }
+  }
+
+  @Override
+  public boolean verifySignature(ResolvedDDO ddo, String keyId, byte[] message,
+      byte[] signature) throws PublicKeyNotFoundException, PublicKeyValueNotPresentedException {
+    int delimiter = keyId.indexOf('#');
+    if (delimiter < 0) {
+      throw new IllegalArgumentException("Key id '" + keyId + "' has no fragment");
+    }
+    String fragment = keyId.substring(delimiter + 1);
+    // the DDO may be resolved by another DID sharing its account detail key
+    boolean listed = ddo.getKey(fragment)
+        .filter(key -> keyId.equals(key.path("id").asText()))
+        .isPresent();
+    if (!listed) {
+      throw new PublicKeyNotFoundException(keyId);
+    }
+    EdDSAPublicKey publicKey = ddo.getVerificationKey(fragment)
+        .orElseThrow(() -> new PublicKeyValueNotPresentedException(keyId));
+    log.debug("verifying signature of {} bytes by key {}", message.length, keyId);
+    try {
+      return new Ed25519Sha3().rawVerify(message, signature, publicKey);
+    } catch (CryptoException | IllegalArgumentException e) {
+      log.debug("signature by key {} is malformed: {}", keyId, e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Key of the DDO in verification cache, {@code null} if caching is disabled or the DDO can't be
+   * serialized. Bytes already produced by request decoding are reused when present
+   */
+  private ByteBuffer cacheKey(SignedDDO signedDDO, byte[] publicKeyValue) {
+    if (verificationCache == null) {
+      return null;
+    }
+    try {
+      byte[] serialized = signedDDO.getSerialized() != null
+          ? signedDDO.getSerialized()
+          : mapper.writeValueAsBytes(signedDDO.getJson());
+      return verificationCache.key(serialized, publicKeyValue);
+    } catch (JsonProcessingException e) {
+      log.warn("can't build verification cache key for DDO with DID {}",
+          signedDDO.getDdo().getId(), e);
+      return null;
+    }
+  }
+
   /**
    * Receives the public key from a given collection of public keys that matches DID's id
    *
@@ -0,0 +1,132 @@
+package jp.co.soramitsu.sora.didresolver.tracing;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jp.co.soramitsu.sora.didresolver.config.properties.TracingProperties.SamplingProperties;
+import lombok.extern.slf4j.Slf4j;
+import zipkin2.Span;
+import zipkin2.Span.Kind;
+import zipkin2.reporter.Reporter;
+
+/**
+ * Tail-based sampling in front of the Zipkin reporter. Every request is traced, finished spans are
+ * buffered per trace until the local root span (the server span of the request) finishes, then
+ * the whole trace is exported if it was slow, contains an error or falls into the base rate, and
+ * dropped otherwise. Base rate is decided by the trace id, so all services using the same rule
+ * agree on the traces picked. Spans finishing after their local root follow the decision made
+ */
+@Slf4j
+public class TailSamplingReporter implements Reporter<Span>, Flushable, Closeable {
+
+  private static final String ERROR_TAG = "error";
+  private static final int RATE_PRECISION = 10_000;
+
+  private final Reporter<Span> delegate;
+  private final long slowThresholdMicros;
+  private final long baseRateBoundary;
+  private final int maxSpansPerTrace;
+
+  private final Map<String, List<Span>> pending;
+  /**
+   * Recent decisions by trace id, for spans finishing after their local root
+   */
+  private final Map<String, Boolean> decided;
+
+  public TailSamplingReporter(Reporter<Span> delegate, SamplingProperties properties) {
+    if (properties.getBaseRate() < 0 || properties.getBaseRate() > 1) {
+      throw new IllegalArgumentException(
+          "base rate should be between 0 and 1: " + properties.getBaseRate());
+    }
+    this.delegate = delegate;
+    this.slowThresholdMicros = properties.getSlowThreshold().toNanos() / 1000;
+    this.baseRateBoundary = (long) (properties.getBaseRate() * RATE_PRECISION);
+    this.maxSpansPerTrace = properties.getMaxSpansPerTrace();
+    this.pending = bounded(properties.getMaxPendingTraces());
+    this.decided = bounded(properties.getMaxPendingTraces());
+  }
+
+  @Override
+  public void report(Span span) {
+    List<Span> exported;
+    synchronized (this) {
+      Boolean decision = decided.get(span.traceId());
+      if (decision != null) {
+        exported = decision ? singletonList(span) : emptyList();
+      } else {
+        List<Span> spans = pending.computeIfAbsent(span.traceId(), traceId -> new ArrayList<>());
+        if (spans.size() < maxSpansPerTrace) {
+          spans.add(span);
+        }
+        if (!isLocalRoot(span)) {
+          return;
+        }
+        pending.remove(span.traceId());
+        boolean sampled = isSampled(span, spans);
+        decided.put(span.traceId(), sampled);
+        exported = sampled ? spans : emptyList();
+      }
+    }
+    exported.forEach(delegate::report);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (delegate instanceof Flushable) {
+      ((Flushable) delegate).flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (delegate instanceof Closeable) {
+      ((Closeable) delegate).close();
+    }
+  }
+
+  private boolean isSampled(Span root, List<Span> spans) {
+    if (root.durationAsLong() >= slowThresholdMicros) {
+      log.trace("trace {} is slow", root.traceId());
+      return true;
+    }
+    if (spans.stream().anyMatch(span -> span.tags().containsKey(ERROR_TAG))) {
+      log.trace("trace {} has an error", root.traceId());
+      return true;
+    }
+    return isInBaseRate(root.traceId());
+  }
+
+  /**
+   * Same approach as Brave boundary sampler: lower 64 bits of the trace id are random, so their
+   * remainder is uniformly distributed
+   */
+  private boolean isInBaseRate(String traceId) {
+    String lowHex = traceId.substring(Math.max(0, traceId.length() - 16));
+    long lowBits = Long.parseUnsignedLong(lowHex, 16);
+    return (lowBits & Long.MAX_VALUE) % RATE_PRECISION < baseRateBoundary;
+  }
+
+  /**
+   * Server or consumer span started the local part of the trace, span without parent started the
+   * trace itself
+   */
+  private static boolean isLocalRoot(Span span) {
+    return span.parentId() == null || span.kind() == Kind.SERVER || span.kind() == Kind.CONSUMER;
+  }
+
+  private static <V> Map<String, V> bounded(int maxSize) {
+    return new LinkedHashMap<String, V>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+}
@@ -1,8 +1,8 @@
 package jp.co.soramitsu.sora.didresolver.validation;
 
+import java.util.Set;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import jp.co.soramitsu.sora.didresolver.commons.CryptoActionTypeEnum;
 import jp.co.soramitsu.sora.didresolver.commons.CryptoTypeEnum;
 import jp.co.soramitsu.sora.didresolver.validation.constrains.CryptoTypeConstraint;
 import lombok.extern.slf4j.Slf4j;
@@ -10,20 +10,16 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CryptoTypeValidator implements ConstraintValidator<CryptoTypeConstraint, String> {
 
-  private CryptoActionTypeEnum cryptoActionTypeEnum;
+  private Set<String> cryptoTypes;
 
   @Override
   public void initialize(CryptoTypeConstraint constraintAnnotation) {
-    this.cryptoActionTypeEnum = constraintAnnotation.cryptoTypeEnum();
+    this.cryptoTypes = CryptoTypeEnum.getCryptoTypeSet(constraintAnnotation.cryptoTypeEnum());
   }
 
   public boolean isValid(String value, ConstraintValidatorContext context) {
     log.debug("validation of crypto type - {}", value);
-    boolean isValid = false;
-    try {
-      isValid = CryptoTypeEnum.getCryptoTypes(cryptoActionTypeEnum).contains(value);
-    } catch (NullPointerException | IllegalArgumentException ignored) {
-    }
+    boolean isValid = value != null && cryptoTypes.contains(value);
     log.debug("result of validation crypto type - {} is {}", value, isValid);
     return isValid;
   }
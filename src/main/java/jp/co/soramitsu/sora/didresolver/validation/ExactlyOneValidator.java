@@ -1,18 +1,27 @@
 package jp.co.soramitsu.sora.didresolver.validation;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import jp.co.soramitsu.sora.didresolver.validation.constrains.ExactlyOneConstraint;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.NotReadablePropertyException;
 
 @Slf4j
 public class ExactlyOneValidator implements ConstraintValidator<ExactlyOneConstraint, Object> {
 
   private String[] group;
 
+  /**
+   * Getters of the group properties, resolved once per validated class
+   */
+  private final Map<Class<?>, MethodHandle[]> accessors = new ConcurrentHashMap<>();
+
   @Override
   public void initialize(ExactlyOneConstraint constraintAnnotation) {
     group = constraintAnnotation.group();
@@ -23,17 +32,44 @@ public class ExactlyOneValidator implements ConstraintValidator<ExactlyOneConstr
     log.debug("check that only one field from the associated set of fields is filled in ");
     boolean isValid = false;
     if (group != null) {
-      List<Object> fieldValues = new ArrayList<>();
-      for (String element : group) {
-        Object propValue = new BeanWrapperImpl(value).getPropertyValue(element);
+      MethodHandle[] getters = accessors.computeIfAbsent(value.getClass(), this::resolveGetters);
+      int filled = 0;
+      for (int i = 0; i < getters.length && filled < 2; i++) {
+        Object propValue = invoke(getters[i], value);
         if (propValue != null) {
-          log.debug("ExactlyOneValidator: element - {}; value - {}", element, propValue);
-          fieldValues.add(propValue);
+          log.debug("ExactlyOneValidator: element - {}; value - {}", group[i], propValue);
+          filled++;
         }
       }
-      isValid = fieldValues.size() == 1;
+      isValid = filled == 1;
     }
     log.debug("result of ExactlyOneValidator is {}", isValid);
     return isValid;
   }
+
+  private MethodHandle[] resolveGetters(Class<?> beanClass) {
+    MethodHandle[] getters = new MethodHandle[group.length];
+    for (int i = 0; i < group.length; i++) {
+      PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(beanClass, group[i]);
+      if (descriptor == null || descriptor.getReadMethod() == null) {
+        throw new NotReadablePropertyException(beanClass, group[i]);
+      }
+      try {
+        getters[i] = MethodHandles.publicLookup().unreflect(descriptor.getReadMethod());
+      } catch (IllegalAccessException e) {
+        throw new NotReadablePropertyException(beanClass, group[i], e.getMessage(), e);
+      }
+    }
+    return getters;
+  }
+
+  private static Object invoke(MethodHandle getter, Object bean) {
+    try {
+      return getter.invoke(bean);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
 }
@@ -0,0 +1,90 @@
+package jp.co.soramitsu.sora.didresolver.cache;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import org.junit.jupiter.api.Test;
+
+public class DDOCacheTest {
+
+  private static final String DID = "did:sora:soraUser8";
+  private static final String OTHER_DID = "did:sora:soraUser9";
+  private static final String JSON = "{\"id\":\"did:sora:soraUser8\",\"publicKey\":["
+      + "{\"id\":\"did:sora:soraUser8#keys-1\",\"type\":\"Ed25519Sha3VerificationKey\"},"
+      + "{\"id\":\"did:sora:soraUser8#keys-2\",\"type\":\"Ed25519Sha3VerificationKey\"}]}";
+
+  @Test
+  void returnsCachedDDO() throws IOException {
+    DDOCache cache = new DDOCache(10, MINUTES.toNanos(1));
+    ResolvedDDO ddo = ddo();
+
+    cache.put(DID, ddo, cache.startLoad(DID));
+
+    assertSame(ddo, cache.get(DID).orElse(null));
+    assertFalse(cache.get(OTHER_DID).isPresent());
+  }
+
+  @Test
+  void expiredDDOIsNotReturned() throws IOException {
+    DDOCache cache = new DDOCache(10, 0);
+    cache.put(DID, ddo(), cache.startLoad(DID));
+
+    assertFalse(cache.get(DID).isPresent());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void leastRecentlyUsedDDOIsEvicted() throws IOException {
+    DDOCache cache = new DDOCache(1, MINUTES.toNanos(1));
+    cache.put(DID, ddo(), cache.startLoad(DID));
+    cache.put(OTHER_DID, ddo(), cache.startLoad(OTHER_DID));
+
+    assertFalse(cache.get(DID).isPresent());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void loadStartedBeforeInvalidationIsNotCached() throws IOException {
+    DDOCache cache = new DDOCache(10, MINUTES.toNanos(1));
+    cache.put(DID, ddo(), cache.startLoad(DID));
+    long load = cache.startLoad(DID);
+
+    cache.invalidate(DID);
+    cache.put(DID, ddo(), load);
+
+    assertFalse(cache.get(DID).isPresent());
+  }
+
+  @Test
+  void loadStartedBeforeInvalidationOfOtherDIDIsCached() throws IOException {
+    DDOCache cache = new DDOCache(10, MINUTES.toNanos(1));
+    long load = cache.startLoad(DID);
+
+    cache.invalidate(OTHER_DID);
+    cache.put(DID, ddo(), load);
+
+    assertTrue(cache.get(DID).isPresent());
+  }
+
+  @Test
+  void keysAreIndexedByFragment() throws IOException {
+    ResolvedDDO ddo = ddo();
+
+    assertEquals(2, ddo.getKeys().size());
+    assertEquals("did:sora:soraUser8#keys-2",
+        ddo.getKey("keys-2").map(key -> key.get("id").asText()).orElse(null));
+    assertFalse(ddo.getKey("keys-3").isPresent());
+  }
+
+  private static ResolvedDDO ddo() throws IOException {
+    JsonNode json = new ObjectMapper().readTree(JSON);
+    return new ResolvedDDO(json);
+  }
+}
@@ -0,0 +1,59 @@
+package jp.co.soramitsu.sora.didresolver.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class VerificationCacheTest {
+
+  private static final byte[] DDO = "{\"id\":\"did:sora:soraUser8\"}".getBytes(UTF_8);
+  private static final byte[] KEY = {1, 2, 3};
+
+  @Test
+  @DisplayName("Identical DDO and public key produce the same cache key")
+  void testIdenticalInputProducesSameKey() {
+    VerificationCache cache = new VerificationCache(10);
+    assertEquals(cache.key(DDO, KEY), cache.key(DDO.clone(), KEY.clone()));
+  }
+
+  @Test
+  @DisplayName("Different public key produces a different cache key")
+  void testDifferentPublicKeyProducesDifferentKey() {
+    VerificationCache cache = new VerificationCache(10);
+    assertNotEquals(cache.key(DDO, KEY), cache.key(DDO, new byte[]{1, 2, 4}));
+  }
+
+  @Test
+  @DisplayName("Verified entries are remembered")
+  void testRemembersVerifiedEntries() {
+    VerificationCache cache = new VerificationCache(10);
+    ByteBuffer key = cache.key(DDO, KEY);
+    assertFalse(cache.isVerified(key));
+    cache.markVerified(key);
+    assertTrue(cache.isVerified(cache.key(DDO, KEY)));
+  }
+
+  @Test
+  @DisplayName("Least recently used entries are evicted when the cache is full")
+  void testEvictsLeastRecentlyUsedEntries() {
+    VerificationCache cache = new VerificationCache(2);
+    ByteBuffer first = cache.key(DDO, new byte[]{1});
+    ByteBuffer second = cache.key(DDO, new byte[]{2});
+    ByteBuffer third = cache.key(DDO, new byte[]{3});
+    cache.markVerified(first);
+    cache.markVerified(second);
+    assertTrue(cache.isVerified(first));
+    cache.markVerified(third);
+
+    assertEquals(2, cache.size());
+    assertTrue(cache.isVerified(first));
+    assertFalse(cache.isVerified(second));
+    assertTrue(cache.isVerified(third));
+  }
+}
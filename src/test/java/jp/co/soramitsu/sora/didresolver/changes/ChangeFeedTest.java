@@ -0,0 +1,161 @@
+package jp.co.soramitsu.sora.didresolver.changes;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static jp.co.soramitsu.sora.didresolver.IntegrationTest.PRIVATEKEY;
+import static jp.co.soramitsu.sora.didresolver.IntegrationTest.PUBLICKEY;
+import static jp.co.soramitsu.sora.didresolver.config.IrohaBeansConfig.QUERIES;
+import static jp.co.soramitsu.sora.didresolver.config.IrohaBeansConfig.TRANSACTIONS;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.TOO_MANY_REQUESTS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.sora.didresolver.changes.ChangeSubscription.BlockChanges;
+import jp.co.soramitsu.sora.didresolver.config.properties.ChangeFeedProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties;
+import jp.co.soramitsu.sora.didresolver.exceptions.DIDResolverException;
+import jp.co.soramitsu.sora.didresolver.iroha.BlockFollower;
+import jp.co.soramitsu.sora.didresolver.iroha.FakeIrohaPeer;
+import jp.co.soramitsu.sora.didresolver.iroha.IrohaBulkhead;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
+import jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics;
+import jp.co.soramitsu.sora.didresolver.services.impl.HistoryServiceImpl;
+import jp.co.soramitsu.sora.didresolver.services.impl.IrohaServiceImpl;
+import jp.co.soramitsu.sora.sdk.json.JsonUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public class ChangeFeedTest {
+
+  private static final String ACCOUNT = "admin@test";
+  private static final String KEY = "did:sora:soraUser8";
+  private static final String VALUE = "{\"id\":\"did:sora:soraUser8\"}";
+  private static final long TIMEOUT_NANOS = SECONDS.toNanos(10);
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final IrohaProperties irohaProperties = irohaProperties();
+  private final ResolveProperties resolveProperties = new ResolveProperties();
+  private final ChangeFeedProperties changeFeedProperties = changeFeedProperties();
+
+  @Test
+  void subscriptionWithFullQueueReadsBlocksFromLedger() throws InterruptedException {
+    ChangeSubscription subscription = new ChangeSubscription(new SseEmitter(), change -> true, 1,
+        1);
+    subscription.goLive();
+
+    subscription.publish(new BlockChanges(2, emptyList()));
+    assertTrue(subscription.isLive());
+    subscription.publish(new BlockChanges(3, emptyList()));
+
+    // the queued block is dropped too, the feed sends it again after the last sent block
+    assertFalse(subscription.isLive());
+    assertNull(subscription.poll(0));
+    assertEquals(1, subscription.getSent());
+  }
+
+  @Test
+  void resumeAfterFollowedHeightIsRejected() throws DIDResolverException, InterruptedException {
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api);
+      irohaService.setAccountDetails(KEY, VALUE);
+      try (BlockFollower follower = new BlockFollower(irohaService, irohaProperties);
+          ChangeFeed changeFeed = changeFeed(irohaService, follower)) {
+        follower.start();
+        awaitFollowed(follower, peer.getHeight());
+
+        long height = follower.getHeight();
+        assertThrows(IllegalArgumentException.class,
+            () -> changeFeed.subscribe(change -> true, height + 1));
+        changeFeed.subscribe(change -> true, height);
+      }
+    }
+  }
+
+  @Test
+  void subscribersAboveLimitAreRejected() throws DIDResolverException, InterruptedException {
+    changeFeedProperties.setMaxSubscribers(2);
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api);
+      try (BlockFollower follower = new BlockFollower(irohaService, irohaProperties);
+          ChangeFeed changeFeed = changeFeed(irohaService, follower)) {
+        follower.start();
+        awaitFollowed(follower, peer.getHeight());
+
+        changeFeed.subscribe(change -> true, null);
+        SseEmitter emitter = changeFeed.subscribe(change -> true, null);
+        DIDResolverException e = assertThrows(DIDResolverException.class,
+            () -> changeFeed.subscribe(change -> true, null));
+        assertEquals(TOO_MANY_REQUESTS, e.getResponseCode());
+
+        // a stream completed by the server fails its next heartbeat and frees its place
+        emitter.complete();
+        awaitSubscribed(changeFeed);
+      }
+    }
+  }
+
+  private ChangeFeed changeFeed(IrohaServiceImpl irohaService, BlockFollower follower) {
+    HistoryServiceImpl historyService = new HistoryServiceImpl(irohaService, follower,
+        JsonUtil.buildMapper(), resolveProperties);
+    return new ChangeFeed(historyService, irohaService, follower, resolveProperties,
+        changeFeedProperties);
+  }
+
+  private void awaitFollowed(BlockFollower follower, long height) throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT_NANOS;
+    while (!follower.isLive() || follower.getHeight() < height) {
+      assertTrue(System.nanoTime() < deadline, "blocks are not followed");
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Subscribes once a place is freed, completion of the emitter is handled asynchronously
+   */
+  private void awaitSubscribed(ChangeFeed changeFeed) throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT_NANOS;
+    while (true) {
+      try {
+        changeFeed.subscribe(change -> true, null);
+        return;
+      } catch (DIDResolverException e) {
+        assertEquals(TOO_MANY_REQUESTS, e.getResponseCode());
+        assertTrue(System.nanoTime() < deadline, "place of the closed stream is not freed");
+        Thread.sleep(10);
+      }
+    }
+  }
+
+  private static ChangeFeedProperties changeFeedProperties() {
+    ChangeFeedProperties changeFeedProperties = new ChangeFeedProperties();
+    changeFeedProperties.setHeartbeatInterval(Duration.ofMillis(50));
+    return changeFeedProperties;
+  }
+
+  private static IrohaProperties irohaProperties() {
+    IrohaProperties irohaProperties = new IrohaProperties();
+    irohaProperties.getAccount().setName(ACCOUNT);
+    irohaProperties.getAccount().setPublicKey(PUBLICKEY);
+    irohaProperties.getAccount().setPrivateKey(PRIVATEKEY);
+    irohaProperties.getBlocks().setRetryInterval(Duration.ofMillis(50));
+    return irohaProperties;
+  }
+
+  private IrohaServiceImpl irohaService(IrohaAPI api) {
+    IrohaBulkhead queries = new IrohaBulkhead(QUERIES, singletonList(api),
+        irohaProperties.getQueries(), registry);
+    IrohaBulkhead transactions = new IrohaBulkhead(TRANSACTIONS, singletonList(api),
+        irohaProperties.getTransactions(), registry);
+    return new IrohaServiceImpl(JsonUtil.buildMapper(), irohaProperties, queries, transactions,
+        new StageMetrics(registry), new TransactionMetrics(registry));
+  }
+}
@@ -0,0 +1,104 @@
+package jp.co.soramitsu.sora.didresolver.commons;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.regex.Pattern.compile;
+import static java.util.stream.Collectors.toList;
+import static jp.co.soramitsu.sora.didresolver.commons.DIDScanner.isStructuredDID;
+import static jp.co.soramitsu.sora.didresolver.commons.DIDScanner.isValidDID;
+import static jp.co.soramitsu.sora.didresolver.commons.DIDScanner.isValidKeyFragment;
+import static jp.co.soramitsu.sora.didresolver.commons.DIDScanner.toIrohaKey;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class DIDScannerTest {
+
+  private static final Pattern DID_PATTERN = compile("did:sora:.+");
+  private static final Pattern IDENTIFIER_PATTERN = compile(DIDTypeEnum.USERNAME.getRegexp());
+  private static final Pattern KEY_PATTERN = compile("keys-\\d+");
+
+  @ParameterizedTest
+  @ValueSource(strings = {"did:sora:soraUser8", "did:sora:user123", "did:sora:wrongkey",
+      "did:sora:abcdef:extra", "did:sora::abcdef", "did:sora:abcdefghijklmnopqrstuvwxyz012345"})
+  void acceptsValidDIDs(String did) {
+    assertTrue(isValidDID(did));
+    assertEquals(regexIsValidDID(did), isValidDID(did));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "did:sora:", "did:sora:abc", "did:sora:other-username",
+      "did:sora:abcdefghijklmnopqrstuvwxyz0123456", "did:sorar:abcdefgh", "did:sora:abcdefg\n",
+      "did:sora:abcdefg:x\ny", "did:sora:abcdefg ", "DID:SORA:abcdefgh"})
+  void rejectsInvalidDIDs(String did) {
+    assertFalse(isValidDID(did));
+    assertEquals(regexIsValidDID(did), isValidDID(did));
+  }
+
+  @Test
+  void rejectsDIDWithoutIdentifierSegment() {
+    assertTrue(isStructuredDID("did:sora:::"));
+    assertFalse(isValidDID("did:sora:::"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("incorrectDids")
+  void rejectsIncorrectDIDs(String did) {
+    assertFalse(isValidDID(did));
+    assertEquals(regexIsValidDID(did), isValidDID(did));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"did:sora:soraUser8#keys-1", "did:sora:soraUser8#keys-12",
+      "did:sora:soraUser8#keys-", "did:sora:soraUser8#key-1", "did:sora:soraUser8",
+      "did:sora:abc#keys-1", "did:other:soraUser8#keys-1", "did:sora:soraUser8/keys#keys-1"})
+  void validatesKeysLikeRegex(String key) {
+    URI uri = URI.create(key);
+    boolean expected = uri.getFragment() != null
+        && regexIsValidDID(uri.getScheme() + ":" + uri.getSchemeSpecificPart())
+        && KEY_PATTERN.matcher(uri.getFragment()).matches();
+    assertEquals(expected,
+        isValidKeyFragment(uri.getFragment())
+            && isValidDID(uri.getScheme(), uri.getSchemeSpecificPart()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"did:sora:soraUser8", "did:sora:uuid:caab4570-5f3f-4050",
+      "admin@test", "a b\tc\nd\u000Be\ff\rg.h", "nothing_to_replace"})
+  void mapsToIrohaKeyLikeRegex(String did) {
+    assertEquals(did.replaceAll("[\\s-:.@]", "_"), toIrohaKey(did));
+  }
+
+  @Test
+  void keepsIrohaKeyInstanceWhenNothingToReplace() {
+    String key = "nothing_to_replace";
+    assertSame(key, toIrohaKey(key));
+  }
+
+  private static boolean regexIsValidDID(String did) {
+    if (StringUtils.isNotBlank(did) && DID_PATTERN.matcher(did).matches()) {
+      String[] didParts = StringUtils.split(did, ':');
+      return didParts.length > 2 && IDENTIFIER_PATTERN.matcher(didParts[2]).matches();
+    }
+    return false;
+  }
+
+  private static Stream<String> incorrectDids() throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(requireNonNull(
+        DIDScannerTest.class.getClassLoader().getResourceAsStream("incorrectDids.txt"))))) {
+      return reader.lines().collect(toList()).stream();
+    }
+  }
+}
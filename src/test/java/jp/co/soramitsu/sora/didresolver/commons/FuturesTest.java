@@ -0,0 +1,45 @@
+package jp.co.soramitsu.sora.didresolver.commons;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FuturesTest {
+
+  @Test
+  @DisplayName("Join returns the result of the task")
+  void testJoinReturnsResult() {
+    assertEquals("result", Futures.join(completedFuture("result")));
+  }
+
+  @Test
+  @DisplayName("Join rethrows unchecked exception of the task unwrapped")
+  void testJoinRethrowsUncheckedException() {
+    IllegalStateException failure = new IllegalStateException("failed");
+    CompletableFuture<Void> task = runAsync(() -> {
+      throw failure;
+    });
+    assertSame(failure, assertThrows(IllegalStateException.class, () -> Futures.join(task)));
+  }
+
+  @Test
+  @DisplayName("Join rethrows checked exception of the task unwrapped")
+  void testJoinRethrowsCheckedException() {
+    IOException failure = new IOException("failed");
+    CompletableFuture<Void> task = runAsync(() -> fail(failure));
+    assertSame(failure, assertThrows(IOException.class, () -> Futures.join(task)));
+  }
+
+  @SneakyThrows
+  private static void fail(IOException failure) {
+    throw failure;
+  }
+}
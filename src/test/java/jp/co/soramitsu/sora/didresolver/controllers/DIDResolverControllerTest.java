@@ -1,28 +1,42 @@
 package jp.co.soramitsu.sora.didresolver.controllers;
 
 import static java.time.Instant.now;
+import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static javax.xml.bind.DatatypeConverter.printHexBinary;
 import static jp.co.soramitsu.iroha.java.Utils.parseHexKeypair;
+import static jp.co.soramitsu.sora.didresolver.commons.MediaTypes.APPLICATION_CBOR_VALUE;
+import static jp.co.soramitsu.sora.didresolver.commons.MediaTypes.APPLICATION_SMILE_VALUE;
 import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.DID_DUPLICATE;
 import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.DID_IS_TOO_LONG;
 import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.DID_NOT_FOUND;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.INCORRECT_QUERY_PARAMS;
 import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.INCORRECT_UPDATE_TIME;
 import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.INVALID_PROOF;
 import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.INVALID_PROOF_SIGNATURE;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.PUBLIC_KEY_NOT_FOUND;
 import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.PUBLIC_KEY_VALUE_NOT_PRESENTED;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.VERSION_NOT_INDEXED;
 import static jp.co.soramitsu.sora.sdk.did.model.dto.DID.parse;
 import static jp.co.soramitsu.sora.sdk.did.model.dto.Options.builder;
 import static jp.co.soramitsu.sora.sdk.did.model.type.SignatureTypeEnum.Ed25519Sha3Signature;
 import static jp.co.soramitsu.sora.sdk.did.validation.ISO8601DateTimeFormatter.format;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.springframework.http.HttpStatus.OK;
 import static org.testcontainers.shaded.org.bouncycastle.util.encoders.Hex.decode;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -39,8 +53,13 @@ import javax.annotation.PostConstruct;
 import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
 import jp.co.soramitsu.crypto.ed25519.EdDSAPrivateKey;
 import jp.co.soramitsu.sora.didresolver.IntegrationTest;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.DDORegistration;
 import jp.co.soramitsu.sora.didresolver.controllers.dto.GenericResponse;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GetDDORs;
 import jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.SignatureVerification;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignatureRq;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignaturesRq;
 import jp.co.soramitsu.sora.didresolver.exceptions.DDOUnparseableException;
 import jp.co.soramitsu.sora.didresolver.services.StorageService;
 import jp.co.soramitsu.sora.sdk.crypto.common.HexdigestSaltGenerator;
@@ -58,6 +77,8 @@ import lombok.var;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.http.ResponseEntity;
@@ -104,6 +125,20 @@ public class DIDResolverControllerTest extends IntegrationTest {
     assertEquals(mapper.valueToTree(ddo), response.getBody().getDdo());
   }
 
+  @Test
+  @DisplayName("Successfully gets DDO reduced to the requested members")
+  void getDdoProjection() {
+    storageService.createOrUpdate(ddo.getId().toString(), ddo);
+    val response = requests.getDDO(ddo.getId(), "publicKey,authentication");
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(ResponseCode.OK, getResponseCode(response));
+    assertNotNull(response.getBody());
+    val expected = mapper.createObjectNode();
+    expected.set("publicKey", mapper.valueToTree(ddo.getPublicKey()));
+    expected.set("authentication", mapper.valueToTree(ddo.getAuthentication()));
+    assertEquals(expected, response.getBody().getDdo());
+  }
+
   @Test
   @DisplayName("When trying to get DDO which not in Iroha it returns status DID_NOT_FOUND")
   void getDdoDIDNotFound() throws ParserException {
@@ -112,6 +147,262 @@ public class DIDResolverControllerTest extends IntegrationTest {
     assertEquals(DID_NOT_FOUND, getResponseCode(response));
   }
 
+  @Test
+  @DisplayName("Successfully gets DDO as it was at the version time and block height")
+  void getDdoAtVersion() throws ParserException, InterruptedException {
+    val historicDdo = createSignerDdo();
+    historicDdo.setId(parse("did:sora:historic"));
+    storageService.createOrUpdate(historicDdo.getId().toString(), historicDdo);
+    val firstVersionTime = now();
+    JsonNode firstVersion = mapper.valueToTree(historicDdo);
+    awaitVersion(historicDdo.getId(), firstVersionTime, firstVersion);
+    val publicKey = historicDdo.getPublicKey().get(0);
+    historicDdo.setPublicKey(singletonList(new Ed25519Sha3VerificationKey(publicKey.getId(),
+        parse("did:sora:historicowner"), decode(PUBLICKEY))));
+    storageService.createOrUpdate(historicDdo.getId().toString(), historicDdo);
+    JsonNode secondVersion = mapper.valueToTree(historicDdo);
+    awaitVersion(historicDdo.getId(), now(), secondVersion);
+
+    val response = requests.getDDOAtTime(historicDdo.getId(), firstVersionTime);
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(ResponseCode.OK, getResponseCode(response));
+    assertEquals(firstVersion, requireNonNull(response.getBody()).getDdo());
+    assertEquals(secondVersion,
+        requireNonNull(requests.getDDO(historicDdo.getId()).getBody()).getDdo());
+    assertEquals(DID_NOT_FOUND, getResponseCode(requests.getDDOAtHeight(historicDdo.getId(), 1)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+  @DisplayName("Successfully gets DDO encoded in the binary format")
+  void getEncodedDdo(String format) throws IOException {
+    storageService.createOrUpdate(ddo.getId().toString(), ddo);
+    val response = requests.getEncodedDDO(ddo.getId(), format);
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(format, requireNonNull(response.getHeaders().getContentType()).toString());
+    val decoder = new ObjectMapper(APPLICATION_CBOR_VALUE.equals(format)
+        ? new CBORFactory()
+        : new SmileFactory());
+    val body = decoder.readValue(response.getBody(), GetDDORs.class);
+    assertEquals(ResponseCode.OK, body.getStatus().getCode());
+    assertEquals(mapper.valueToTree(ddo), body.getDdo());
+    // encoded once and served from the cached DDO afterwards
+    assertArrayEquals(response.getBody(), requests.getEncodedDDO(ddo.getId(), format).getBody());
+  }
+
+  @Test
+  @DisplayName("Successfully gets DDO together with DDOs it references")
+  void getDdoWithReferences() throws ParserException {
+    val ownerDdo = createSignerDdo();
+    ownerDdo.setId(parse("did:sora:referencedowner"));
+    storageService.createOrUpdate(ownerDdo.getId().toString(), ownerDdo);
+    val ownedDdo = createSignerDdo();
+    ownedDdo.setId(parse("did:sora:referencing"));
+    val publicKey = ownedDdo.getPublicKey().get(0);
+    ownedDdo.setPublicKey(singletonList(new Ed25519Sha3VerificationKey(publicKey.getId(),
+        ownerDdo.getId(), decode(PUBLICKEY))));
+    storageService.createOrUpdate(ownedDdo.getId().toString(), ownedDdo);
+
+    val response = requests.getDDOWithReferences(ownedDdo.getId(), 1);
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(ResponseCode.OK, getResponseCode(response));
+    val body = requireNonNull(response.getBody());
+    assertEquals(mapper.valueToTree(ownedDdo), body.getDdo());
+    assertEquals(mapper.valueToTree(ownerDdo),
+        body.getReferences().get(ownerDdo.getId().toString()));
+    // ids of the key and of the authentication are left referencing the signer
+    assertTrue(body.getReferences().containsKey("did:sora:signer"));
+  }
+
+  @Test
+  @DisplayName("When trying to get DDO with too deep references it returns status INCORRECT_QUERY_PARAMS")
+  void getDdoWithTooDeepReferences() {
+    storageService.createOrUpdate(ddo.getId().toString(), ddo);
+    val response = requests.getDDOWithReferences(ddo.getId(), 100);
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(INCORRECT_QUERY_PARAMS, getResponseCode(response));
+  }
+
+  @Test
+  @DisplayName("When trying to get DDO with negative depth of references it returns status INCORRECT_QUERY_PARAMS")
+  void getDdoWithNegativeDepthOfReferences() {
+    storageService.createOrUpdate(ddo.getId().toString(), ddo);
+    val response = requests.getDDOWithReferences(ddo.getId(), -1);
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(INCORRECT_QUERY_PARAMS, getResponseCode(response));
+  }
+
+  @Test
+  @DisplayName("When trying to get DDO at block which is not committed it returns status VERSION_NOT_INDEXED")
+  void getDdoAtNotCommittedBlock() {
+    storageService.createOrUpdate(ddo.getId().toString(), ddo);
+    val response = requests.getDDOAtHeight(ddo.getId(), Long.MAX_VALUE);
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(VERSION_NOT_INDEXED, getResponseCode(response));
+  }
+
+  @Test
+  @DisplayName("Successfully streams changes of DDOs committed after the block")
+  void streamChanges() throws ParserException, InterruptedException {
+    val changedDdo = createSignerDdo();
+    changedDdo.setId(parse("did:sora:changes:first"));
+    storageService.createOrUpdate(changedDdo.getId().toString(), changedDdo);
+    changedDdo.setUpdated(format(now()));
+    storageService.createOrUpdate(changedDdo.getId().toString(), changedDdo);
+    storageService.delete(changedDdo.getId().toString());
+    val lastDdo = createSignerDdo();
+    lastDdo.setId(parse("did:sora:changes:last"));
+    storageService.createOrUpdate(lastDdo.getId().toString(), lastDdo);
+    awaitVersion(lastDdo.getId(), now(), mapper.valueToTree(lastDdo));
+
+    assertEquals(asList("create", "update", "delete", "create"),
+        requests.readChanges("did:sora:changes:", 0, 4));
+  }
+
+  @Test
+  @DisplayName("When trying to stream changes of DIDs and of prefix it returns status INCORRECT_QUERY_PARAMS")
+  void streamChangesOfDIDsAndPrefix() {
+    val response = requests.readChangesOfDIDsAndPrefix(ddo.getId().toString(), "did:sora:");
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(INCORRECT_QUERY_PARAMS, getResponseCode(response));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  @DisplayName("When trying to stream changes after negative height it returns status INCORRECT_QUERY_PARAMS")
+  void streamChangesAfterNegativeHeight(boolean asLastEventId) {
+    val response = requests.readChangesAfter(-1, asLastEventId);
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(INCORRECT_QUERY_PARAMS, getResponseCode(response));
+  }
+
+  @Test
+  @DisplayName("Successfully gets public key of DDO")
+  void getPublicKey() {
+    storageService.createOrUpdate(ddo.getId().toString(), ddo);
+    val response = requests.getPublicKey(ddo.getId(), "keys-1");
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(ResponseCode.OK, getResponseCode(response));
+    assertNotNull(response.getBody());
+    assertEquals(mapper.valueToTree(ddo.getPublicKey().get(0)), response.getBody().getPublicKey());
+  }
+
+  @Test
+  @DisplayName("When trying to get public key which not in DDO it returns status PUBLIC_KEY_NOT_FOUND")
+  void getPublicKeyNotFound() {
+    storageService.createOrUpdate(ddo.getId().toString(), ddo);
+    val response = requests.getPublicKey(ddo.getId(), "keys-100");
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(PUBLIC_KEY_NOT_FOUND, getResponseCode(response));
+  }
+
+  @Test
+  @DisplayName("Successfully verifies signature made by a public key of DDO")
+  void verifySignature() throws ParserException {
+    val signerDdo = createSignerDdo();
+    storageService.createOrUpdate(signerDdo.getId().toString(), signerDdo);
+    val message = "message".getBytes();
+    val signature = new Ed25519Sha3().rawSign(message, keyPair);
+    val response = requests.verifySignature(
+        new VerifySignatureRq(signerDdo.getId() + "#keys-1", message, signature));
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(ResponseCode.OK, getResponseCode(response));
+    assertTrue(requireNonNull(response.getBody()).isVerified());
+  }
+
+  @Test
+  @DisplayName("When trying to verify signature by key which not in DDO it returns status PUBLIC_KEY_NOT_FOUND")
+  void verifySignatureKeyNotFound() throws ParserException {
+    val signerDdo = createSignerDdo();
+    storageService.createOrUpdate(signerDdo.getId().toString(), signerDdo);
+    val response = requests.verifySignature(
+        new VerifySignatureRq(signerDdo.getId() + "#keys-100", new byte[1], new byte[64]));
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(PUBLIC_KEY_NOT_FOUND, getResponseCode(response));
+  }
+
+  @Test
+  @DisplayName("Verifies batch of signatures with result for every signature")
+  void verifySignatures() throws ParserException {
+    val signerDdo = createSignerDdo();
+    storageService.createOrUpdate(signerDdo.getId().toString(), signerDdo);
+    val keyId = signerDdo.getId() + "#keys-1";
+    val message = "message".getBytes();
+    val signature = new Ed25519Sha3().rawSign(message, keyPair);
+    val response = requests.verifySignatures(new VerifySignaturesRq(asList(
+        new VerifySignatureRq(keyId, message, signature),
+        new VerifySignatureRq(keyId, "other".getBytes(), signature),
+        new VerifySignatureRq(signerDdo.getId() + "#keys-100", message, signature),
+        new VerifySignatureRq("did:sora:wrongkey#keys-1", message, signature),
+        new VerifySignatureRq("username#keys-1", message, signature))));
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(ResponseCode.OK, getResponseCode(response));
+    val results = requireNonNull(response.getBody()).getResults();
+    assertEquals(asList(ResponseCode.OK, ResponseCode.OK, PUBLIC_KEY_NOT_FOUND, DID_NOT_FOUND,
+        INCORRECT_QUERY_PARAMS),
+        results.stream().map(SignatureVerification::getCode).collect(Collectors.toList()));
+    assertTrue(results.get(0).isVerified());
+    assertFalse(results.get(1).isVerified());
+  }
+
+  @Test
+  @DisplayName("Successfully finds DID by public key and by owner of the key")
+  void lookupDIDs() throws ParserException {
+    val signerDdo = createSignerDdo();
+    val publicKey = signerDdo.getPublicKey().get(0);
+    signerDdo.setPublicKey(singletonList(new Ed25519Sha3VerificationKey(publicKey.getId(),
+        parse("did:sora:signerowner"), decode(PUBLICKEY))));
+    storageService.createOrUpdate(signerDdo.getId().toString(), signerDdo);
+
+    val byPublicKey = requests.lookupByPublicKey(PUBLICKEY);
+    assertEquals(OK, byPublicKey.getStatusCode());
+    assertEquals(ResponseCode.OK, getResponseCode(byPublicKey));
+    assertTrue(requireNonNull(byPublicKey.getBody()).getDids()
+        .contains(signerDdo.getId().toString()));
+
+    val byOwner = requests.lookupByOwner("did:sora:signerowner");
+    assertEquals(ResponseCode.OK, getResponseCode(byOwner));
+    assertEquals(singletonList(signerDdo.getId().toString()),
+        requireNonNull(byOwner.getBody()).getDids());
+  }
+
+  @Test
+  @DisplayName("When trying to find DID by public key which is not hex it returns status INCORRECT_QUERY_PARAMS")
+  void lookupDIDsByMalformedPublicKey() {
+    val response = requests.lookupByPublicKey("not hex");
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(INCORRECT_QUERY_PARAMS, getResponseCode(response));
+  }
+
+  @Test
+  @DisplayName("Successfully lists DIDs with prefix page by page")
+  void listDIDs() throws ParserException {
+    for (String did : asList("did:sora:listed1", "did:sora:listed2", "did:sora:listed3")) {
+      val listedDdo = createSignerDdo();
+      listedDdo.setId(parse(did));
+      storageService.createOrUpdate(did, listedDdo);
+    }
+
+    val firstPage = requests.listDIDs("did:sora:listed", null, 2);
+    assertEquals(OK, firstPage.getStatusCode());
+    assertEquals(ResponseCode.OK, getResponseCode(firstPage));
+    assertEquals(asList("did:sora:listed1", "did:sora:listed2"),
+        requireNonNull(firstPage.getBody()).getDids());
+    assertNotNull(firstPage.getBody().getNextCursor());
+
+    val secondPage = requests.listDIDs("did:sora:listed", firstPage.getBody().getNextCursor(), 2);
+    assertEquals(singletonList("did:sora:listed3"), requireNonNull(secondPage.getBody()).getDids());
+    assertNull(secondPage.getBody().getNextCursor());
+  }
+
+  @Test
+  @DisplayName("When trying to list DIDs with too large page it returns status INCORRECT_QUERY_PARAMS")
+  void listDIDsWithTooLargePage() {
+    val response = requests.listDIDs("", null, 100_000);
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(INCORRECT_QUERY_PARAMS, getResponseCode(response));
+  }
+
   @Test
   @DisplayName("Successfully deletes DDO")
   void deleteDdo() throws DDOUnparseableException {
@@ -193,6 +484,37 @@ public class DIDResolverControllerTest extends IntegrationTest {
     assertEquals(mapper.valueToTree(newDdo), ddoFromIroha);
   }
 
+  @Test
+  @DisplayName("Creates DDOs of a batch and returns status of every DDO")
+  void createDdos()
+      throws ParserException, IOException, SignatureException, DDOUnparseableException {
+    val newDdo = signDdo(createNewDdo());
+    storageService.createOrUpdate(ddo.getId().toString(), ddo);
+    val duplicateDdo = signDdo(ddo);
+    val invalidDdo = generateDdo();
+    invalidDdo.setProof(new Proof(invalidDdo.getProof().getOptions(), "wrong proof".getBytes()));
+    val response = requests.createDDOs(asList(newDdo, duplicateDdo, invalidDdo));
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(ResponseCode.OK, getResponseCode(response));
+    assertEquals(asList(
+        new DDORegistration(newDdo.getId().toString(), ResponseCode.OK),
+        new DDORegistration(duplicateDdo.getId().toString(), DID_DUPLICATE),
+        new DDORegistration(invalidDdo.getId().toString(), INVALID_PROOF_SIGNATURE)),
+        requireNonNull(response.getBody()).getResults());
+    assertEquals(mapper.valueToTree(newDdo),
+        storageService.findDDObyDID(newDdo.getId().toString()).orElse(null));
+  }
+
+  @Test
+  @DisplayName("When trying to create more DDOs than allowed by a batch it returns status INCORRECT_QUERY_PARAMS")
+  void createDdosAboveLimit() throws IOException, SignatureException {
+    ddo = signDdo(ddo);
+    val response = requests.createDDOs(nCopies(101, ddo));
+    assertEquals(OK, response.getStatusCode());
+    assertEquals(INCORRECT_QUERY_PARAMS, getResponseCode(response));
+    assertNull(requireNonNull(response.getBody()).getResults());
+  }
+
   @Test
   @DisplayName("When trying to create DDO with too long DID it returns status DID_IS_TOO_LONG")
   void createDdoTooLongDID() throws ParserException {
@@ -270,6 +592,21 @@ public class DIDResolverControllerTest extends IntegrationTest {
     }
   }
 
+  /**
+   * Waits until the version is indexed, blocks are followed asynchronously
+   */
+  private void awaitVersion(DID did, Instant versionTime, JsonNode expected)
+      throws InterruptedException {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      val response = requests.getDDOAtTime(did, versionTime);
+      if (response.getBody() != null && expected.equals(response.getBody().getDdo())) {
+        return;
+      }
+      Thread.sleep(100);
+    }
+    fail("Version of " + did + " at " + versionTime + " is not indexed");
+  }
+
   private ResponseCode getResponseCode(ResponseEntity<? extends GenericResponse> response) {
     return requireNonNull(response.getBody()).getStatus().getCode();
   }
@@ -291,6 +628,16 @@ public class DIDResolverControllerTest extends IntegrationTest {
             DDO.class);
   }
 
+  private DDO createSignerDdo() throws ParserException {
+    val publicKeyId = parse("did:sora:signer#keys-1");
+    return DDO.builder()
+        .id(parse("did:sora:signer"))
+        .publicKey(new Ed25519Sha3VerificationKey(publicKeyId, decode(PUBLICKEY)))
+        .authentication(new Ed25519Sha3Authentication(publicKeyId))
+        .created(now())
+        .build();
+  }
+
   private DDO createNewDdo() throws ParserException {
     val publicKeyId = parse("did:sora:other-username#keys-1");
     return DDO.builder()
@@ -1,23 +1,47 @@
 package jp.co.soramitsu.sora.didresolver.controllers;
 
+import static java.util.Collections.singletonList;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.BATCH;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.CHANGES;
 import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.ID_PARAM;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.KEY_PARAM;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.LOOKUP;
 import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.PATH;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.VERIFY;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.VERIFY_BATCH;
 import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.PUT;
 import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.CreateDDOsRs;
 import jp.co.soramitsu.sora.didresolver.controllers.dto.GenericResponse;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GetDDOReferencesRs;
 import jp.co.soramitsu.sora.didresolver.controllers.dto.GetDDORs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GetPublicKeyRs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.ListDIDsRs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.LookupDIDsRs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignatureRq;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignatureRs;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignaturesRq;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.VerifySignaturesRs;
 import jp.co.soramitsu.sora.sdk.did.model.dto.DDO;
 import jp.co.soramitsu.sora.sdk.did.model.dto.DID;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 public class Requests {
 
   private static final String PATH_WITH_ID = PATH + ID_PARAM;
+  private static final String PATH_WITH_KEY = PATH_WITH_ID + KEY_PARAM;
 
   private final TestRestTemplate testRestTemplate;
 
@@ -32,6 +56,134 @@ public class Requests {
     return testRestTemplate.getForEntity(PATH_WITH_ID, GetDDORs.class, did);
   }
 
+  /**
+   * GET DDO reduced to some of its members
+   */
+  ResponseEntity<GetDDORs> getDDO(DID did, String fields) {
+    return testRestTemplate.getForEntity(PATH_WITH_ID + "?fields={fields}", GetDDORs.class, did,
+        fields);
+  }
+
+  /**
+   * GET DDO encoded in the format, e.g. application/cbor
+   */
+  ResponseEntity<byte[]> getEncodedDDO(DID did, String format) {
+    HttpHeaders httpHeaders = new HttpHeaders();
+    httpHeaders.setAccept(singletonList(MediaType.valueOf(format)));
+    return testRestTemplate.exchange(PATH_WITH_ID, GET, new HttpEntity<>(httpHeaders),
+        byte[].class, did);
+  }
+
+  /**
+   * GET DDO with DDOs it references up to the depth
+   */
+  ResponseEntity<GetDDOReferencesRs> getDDOWithReferences(DID did, int depth) {
+    return testRestTemplate.getForEntity(PATH_WITH_ID + "?resolveReferences={depth}",
+        GetDDOReferencesRs.class, did, depth);
+  }
+
+  /**
+   * GET DDO as it was at the time
+   */
+  ResponseEntity<GetDDORs> getDDOAtTime(DID did, Instant versionTime) {
+    return testRestTemplate.getForEntity(PATH_WITH_ID + "?versionTime={versionTime}",
+        GetDDORs.class, did, versionTime);
+  }
+
+  /**
+   * GET DDO as it was after the block with the height
+   */
+  ResponseEntity<GetDDORs> getDDOAtHeight(DID did, long versionId) {
+    return testRestTemplate.getForEntity(PATH_WITH_ID + "?versionId={versionId}",
+        GetDDORs.class, did, versionId);
+  }
+
+  /**
+   * GET public key of DDO
+   */
+  ResponseEntity<GetPublicKeyRs> getPublicKey(DID did, String fragment) {
+    return testRestTemplate.getForEntity(PATH_WITH_KEY, GetPublicKeyRs.class, did, fragment);
+  }
+
+  /**
+   * LIST DIDs, the first page when cursor is null
+   */
+  ResponseEntity<ListDIDsRs> listDIDs(String prefix, String cursor, int limit) {
+    String cursorParam = cursor == null ? "" : "&cursor=" + cursor;
+    return testRestTemplate.getForEntity(PATH + "?prefix={prefix}&limit={limit}" + cursorParam,
+        ListDIDsRs.class, prefix, limit);
+  }
+
+  /**
+   * GET CHANGES of DIDs with the prefix after the block, names of the first events
+   */
+  List<String> readChanges(String prefix, long afterHeight, int count) {
+    return testRestTemplate.execute(PATH + CHANGES + "?prefix={prefix}&afterHeight={afterHeight}",
+        GET, null, response -> {
+          List<String> events = new ArrayList<>();
+          BufferedReader reader = new BufferedReader(new InputStreamReader(response.getBody()));
+          String line;
+          while (events.size() < count && (line = reader.readLine()) != null) {
+            if (line.startsWith("event:")) {
+              events.add(line.substring("event:".length()));
+            }
+          }
+          return events;
+        }, prefix, afterHeight);
+  }
+
+  /**
+   * GET CHANGES of the DIDs with the prefix, which is not allowed
+   */
+  ResponseEntity<GenericResponse> readChangesOfDIDsAndPrefix(String did, String prefix) {
+    return testRestTemplate.getForEntity(PATH + CHANGES + "?dids={did}&prefix={prefix}",
+        GenericResponse.class, did, prefix);
+  }
+
+  /**
+   * GET CHANGES after the block, the height is sent either as parameter or as id of the last event
+   */
+  ResponseEntity<GenericResponse> readChangesAfter(long height, boolean asLastEventId) {
+    HttpHeaders httpHeaders = new HttpHeaders();
+    if (asLastEventId) {
+      httpHeaders.set("Last-Event-ID", String.valueOf(height));
+      return testRestTemplate.exchange(PATH + CHANGES, GET, new HttpEntity<>(httpHeaders),
+          GenericResponse.class);
+    }
+    return testRestTemplate.getForEntity(PATH + CHANGES + "?afterHeight={afterHeight}",
+        GenericResponse.class, height);
+  }
+
+  /**
+   * LOOKUP DIDs by the hex value of public key
+   */
+  ResponseEntity<LookupDIDsRs> lookupByPublicKey(String publicKey) {
+    return testRestTemplate.getForEntity(PATH + LOOKUP + "?publicKey={publicKey}",
+        LookupDIDsRs.class, publicKey);
+  }
+
+  /**
+   * LOOKUP DIDs by owner of public key
+   */
+  ResponseEntity<LookupDIDsRs> lookupByOwner(String owner) {
+    return testRestTemplate.getForEntity(PATH + LOOKUP + "?owner={owner}", LookupDIDsRs.class,
+        owner);
+  }
+
+  /**
+   * VERIFY signature
+   */
+  ResponseEntity<VerifySignatureRs> verifySignature(VerifySignatureRq request) {
+    return testRestTemplate.postForEntity(PATH + VERIFY, request, VerifySignatureRs.class);
+  }
+
+  /**
+   * VERIFY batch of signatures
+   */
+  ResponseEntity<VerifySignaturesRs> verifySignatures(VerifySignaturesRq request) {
+    return testRestTemplate.postForEntity(PATH + VERIFY_BATCH, request, VerifySignaturesRs.class);
+  }
+
   /**
    * CREATE DDO
    */
@@ -39,6 +191,13 @@ public class Requests {
     return testRestTemplate.postForEntity(PATH, ddo, GenericResponse.class);
   }
 
+  /**
+   * CREATE DDOs of a batch
+   */
+  ResponseEntity<CreateDDOsRs> createDDOs(List<DDO> ddos) {
+    return testRestTemplate.postForEntity(PATH + BATCH, ddos, CreateDDOsRs.class);
+  }
+
   /**
    * UPDATE DDO
    */
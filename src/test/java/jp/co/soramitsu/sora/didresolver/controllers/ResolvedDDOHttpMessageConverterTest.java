@@ -0,0 +1,126 @@
+package jp.co.soramitsu.sora.didresolver.controllers;
+
+import static jp.co.soramitsu.sora.didresolver.controllers.ResolvedDDOHttpMessageConverter.acceptsGzip;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.VARY;
+import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties;
+import jp.co.soramitsu.sora.didresolver.controllers.dto.GetResolvedDDORs;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ResolvedDDOHttpMessageConverterTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final MockHttpServletRequest request = new MockHttpServletRequest();
+  private ResolvedDDOHttpMessageConverter converter;
+
+  @BeforeEach
+  void setUp() {
+    converter = new ResolvedDDOHttpMessageConverter(mapper, new ResolveProperties());
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void gzipsResponseOnceWhenAccepted() throws IOException {
+    request.addHeader(ACCEPT_ENCODING, "gzip, deflate, br");
+    val response = new GetResolvedDDORs(createDdo(100));
+
+    val output = write(response);
+    assertEquals("gzip", output.getHeaders().getFirst(CONTENT_ENCODING));
+    assertEquals(ACCEPT_ENCODING, output.getHeaders().getFirst(VARY));
+    assertEquals(output.getBodyAsBytes().length, output.getHeaders().getContentLength());
+    assertArrayEquals(mapper.writeValueAsBytes(response), gunzip(output.getBodyAsBytes()));
+    assertArrayEquals(output.getBodyAsBytes(), response.getResolved()
+        .getEncoded("application/json;gzip", () -> fail("response is compressed again")));
+  }
+
+  @Test
+  void sendsResponseAsIsWhenGzipIsNotAccepted() throws IOException {
+    request.addHeader(ACCEPT_ENCODING, "gzip;q=0, identity");
+    val response = new GetResolvedDDORs(createDdo(100));
+
+    val output = write(response);
+    assertNull(output.getHeaders().getFirst(CONTENT_ENCODING));
+    assertEquals(ACCEPT_ENCODING, output.getHeaders().getFirst(VARY));
+    assertArrayEquals(mapper.writeValueAsBytes(response), output.getBodyAsBytes());
+  }
+
+  @Test
+  void sendsSmallResponseAsIs() throws IOException {
+    request.addHeader(ACCEPT_ENCODING, "gzip");
+    val response = new GetResolvedDDORs(createDdo(1));
+
+    val output = write(response);
+    assertNull(output.getHeaders().getFirst(CONTENT_ENCODING));
+    assertArrayEquals(mapper.writeValueAsBytes(response), output.getBodyAsBytes());
+  }
+
+  @Test
+  void parsesAcceptedEncodings() {
+    assertTrue(acceptsGzip("gzip"));
+    assertTrue(acceptsGzip("deflate, GZIP;q=0.5"));
+    assertTrue(acceptsGzip("*"));
+    assertTrue(acceptsGzip("br;q=1.0, gzip;q=0.8, *;q=0.1"));
+    assertFalse(acceptsGzip(null));
+    assertFalse(acceptsGzip("identity"));
+    assertFalse(acceptsGzip("gzip;q=0"));
+    assertFalse(acceptsGzip("*, gzip;q=0.0"));
+    assertFalse(acceptsGzip("gzip;q=high"));
+  }
+
+  private MockHttpOutputMessage write(GetResolvedDDORs response) throws IOException {
+    val output = new MockHttpOutputMessage();
+    converter.write(response, APPLICATION_JSON_UTF8, output);
+    return output;
+  }
+
+  private ResolvedDDO createDdo(int keys) {
+    ObjectNode ddo = mapper.createObjectNode().put("id", "did:sora:compressed");
+    for (int i = 1; i <= keys; i++) {
+      ddo.withArray("publicKey").addObject()
+          .put("id", "did:sora:compressed#keys-" + i)
+          .put("type", "Ed25519Sha3VerificationKey")
+          .put("publicKeyHex", "b5b56f5a3ad0e1b5b2b8fe0b4b5f0d2f3f4e2b1d4c5a6b7c8d9e0f1a2b3c4d5e");
+    }
+    return new ResolvedDDO(ddo);
+  }
+
+  private static byte[] gunzip(byte[] compressed) throws IOException {
+    try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+        output.write(buffer, 0, read);
+      }
+      return output.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package jp.co.soramitsu.sora.didresolver.controllers.dto;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DDOProjectionTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private JsonNode json;
+  private ResolvedDDO ddo;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    json = mapper.readTree(getClass().getClassLoader().getResourceAsStream("canonical2DDO.json"));
+    ddo = new ResolvedDDO(json);
+  }
+
+  @Test
+  void writesOnlyRequestedMembers() throws IOException {
+    JsonNode projected = mapper.readTree(mapper.writeValueAsBytes(
+        new DDOProjection(ddo, asList("publicKey", "authentication"))));
+    ObjectNode expected = mapper.createObjectNode();
+    expected.set("publicKey", json.get("publicKey"));
+    expected.set("authentication", json.get("authentication"));
+    assertEquals(expected, projected);
+  }
+
+  @Test
+  void omitsAbsentMembers() throws IOException {
+    JsonNode projected = mapper.readTree(mapper.writeValueAsBytes(
+        new DDOProjection(ddo, asList("id", "unknown"))));
+    assertEquals(1, projected.size());
+    assertEquals(json.get("id"), projected.get("id"));
+  }
+
+  @Test
+  void projectsInsideResponse() throws IOException {
+    JsonNode response = mapper.readTree(mapper.writeValueAsBytes(
+        new GetDDOProjectionRs(new DDOProjection(ddo, singletonList("publicKey")))));
+    assertEquals("OK", response.path("status").path("code").asText());
+    assertEquals(json.get("publicKey"), response.path("ddo").get("publicKey"));
+  }
+
+  @Test
+  void encodesSectionOnce() {
+    assertSame(ddo.getSection("publicKey").get(), ddo.getSection("publicKey").get());
+    assertFalse(ddo.getSection("unknown").isPresent());
+  }
+}
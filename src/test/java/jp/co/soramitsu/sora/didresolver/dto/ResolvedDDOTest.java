@@ -0,0 +1,43 @@
+package jp.co.soramitsu.sora.didresolver.dto;
+
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ResolvedDDOTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  @DisplayName("Keys with ids of other DIDs are not served as keys of the document")
+  void testForeignKeysAreNotIndexed() throws IOException {
+    ResolvedDDO ddo = new ResolvedDDO(mapper.readTree(
+        requireNonNull(getClass().getClassLoader().getResourceAsStream("ddo.json"))));
+
+    assertEquals("did:sora:soraUser8#keys-1",
+        ddo.getKey("keys-1").orElseThrow(AssertionError::new).path("id").asText());
+    // keys-2 is listed with the id of did:sora:uuid:caab4570-5f3f-4050-8d61-15306dea4bcf
+    assertFalse(ddo.getKey("keys-2").isPresent());
+    assertFalse(ddo.getVerificationKey("keys-2").isPresent());
+  }
+
+  @Test
+  @DisplayName("Foreign key listed first doesn't shadow the own key with the same fragment")
+  void testForeignKeyDoesNotShadowOwnKey() {
+    ObjectNode json = mapper.createObjectNode().put("id", "did:sora:owner");
+    json.withArray("publicKey").addObject().put("id", "did:sora:other#keys-1");
+    json.withArray("publicKey").addObject().put("id", "did:sora:owner#keys-1");
+    json.withArray("publicKey").addObject().put("id", "did:sora:owner:sub#keys-2");
+
+    ResolvedDDO ddo = new ResolvedDDO(json);
+    assertEquals("did:sora:owner#keys-1",
+        ddo.getKey("keys-1").orElseThrow(AssertionError::new).path("id").asText());
+    assertFalse(ddo.getKey("keys-2").isPresent());
+  }
+}
@@ -0,0 +1,127 @@
+package jp.co.soramitsu.sora.didresolver.index;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static javax.xml.bind.DatatypeConverter.parseHexBinary;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class DIDIndexTest {
+
+  private static final String KEY_1 =
+      "b8bf218fe98e6b505b9ebdff5852d9db8df38d130ee914d531b06bb7be68efe4";
+  private static final String KEY_2 =
+      "313a07e6384776ed95447710d15e59148473ccfc052a681317a72a69f2a49910";
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final DIDIndex index = new DIDIndex();
+
+  @Test
+  void findsDIDsByPublicKeyAndOwner() throws IOException {
+    index.update("did:sora:alice", ddo("did:sora:alice", KEY_1, "did:sora:owner"));
+    index.update("did:sora:bob", ddo("did:sora:bob", KEY_1.toUpperCase(), null));
+
+    assertEquals(new HashSet<>(asList("did:sora:alice", "did:sora:bob")),
+        index.findByPublicKey(parseHexBinary(KEY_1)));
+    assertEquals(singleton("did:sora:alice"), index.findByOwner("did:sora:owner"));
+    assertEquals(emptySet(), index.findByPublicKey(parseHexBinary(KEY_2)));
+  }
+
+  @Test
+  void updateReplacesPreviousValues() throws IOException {
+    index.update("did:sora:alice", ddo("did:sora:alice", KEY_1, "did:sora:owner"));
+    index.update("did:sora:alice", ddo("did:sora:alice", KEY_2, null));
+
+    assertEquals(emptySet(), index.findByPublicKey(parseHexBinary(KEY_1)));
+    assertEquals(emptySet(), index.findByOwner("did:sora:owner"));
+    assertEquals(singleton("did:sora:alice"), index.findByPublicKey(parseHexBinary(KEY_2)));
+  }
+
+  @Test
+  void deletedDDOIsRemoved() throws IOException {
+    index.update("did:sora:alice", ddo("did:sora:alice", KEY_1, "did:sora:owner"));
+    index.update("did:sora:alice", null);
+
+    assertEquals(emptySet(), index.findByPublicKey(parseHexBinary(KEY_1)));
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  void rebuildKeepsDDOsWrittenMeanwhile() throws IOException {
+    index.update("did:sora:stale", ddo("did:sora:stale", KEY_1, null));
+    index.startRebuild();
+    index.update("did:sora:alice", ddo("did:sora:alice", KEY_2, null));
+    Map<String, JsonNode> snapshot = new HashMap<>();
+    snapshot.put("did:sora:alice", ddo("did:sora:alice", KEY_1, null));
+    snapshot.put("did:sora:bob", ddo("did:sora:bob", KEY_1, null));
+    index.rebuild(snapshot);
+    index.finishRebuild();
+
+    assertEquals(singleton("did:sora:bob"), index.findByPublicKey(parseHexBinary(KEY_1)));
+    assertEquals(singleton("did:sora:alice"), index.findByPublicKey(parseHexBinary(KEY_2)));
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  void rebuildCombinesPagesOfSnapshot() throws IOException {
+    index.update("did:sora:stale", ddo("did:sora:stale", KEY_1, null));
+    index.startRebuild();
+    index.rebuild(singletonMap("did:sora:alice", ddo("did:sora:alice", KEY_1, null)));
+    index.rebuild(singletonMap("did:sora:bob", ddo("did:sora:bob", KEY_2, null)));
+    index.finishRebuild();
+
+    assertEquals(singleton("did:sora:alice"), index.findByPublicKey(parseHexBinary(KEY_1)));
+    assertEquals(singleton("did:sora:bob"), index.findByPublicKey(parseHexBinary(KEY_2)));
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  void pageIsNotIndexedWithoutRebuild() {
+    assertThrows(IllegalStateException.class, () -> index.rebuild(emptyMap()));
+  }
+
+  @Test
+  void listsDIDsByPrefixPageByPage() throws IOException {
+    for (String did : asList("did:sora:tenantb", "did:sora:tenanta2", "did:sora:other1",
+        "did:sora:tenanta1", "did:sora:tenanta3")) {
+      index.update(did, ddo(did, KEY_1, null));
+    }
+
+    assertEquals(asList("did:sora:tenanta1", "did:sora:tenanta2"),
+        index.list("did:sora:tenanta", null, 2));
+    assertEquals(singletonList("did:sora:tenanta3"),
+        index.list("did:sora:tenanta", "did:sora:tenanta2", 2));
+    assertEquals(emptyList(), index.list("did:sora:tenanta", "did:sora:tenanta3", 2));
+    assertEquals(asList("did:sora:tenanta1", "did:sora:tenanta2"),
+        index.list("did:sora:tenanta", "did:sora:other1", 2));
+    assertEquals(5, index.list("", null, 10).size());
+  }
+
+  @Test
+  void onlyOneRebuildAtATime() {
+    index.startRebuild();
+    assertThrows(IllegalStateException.class, index::startRebuild);
+    index.abortRebuild();
+    index.startRebuild();
+  }
+
+  private JsonNode ddo(String did, String publicKey, String owner) throws IOException {
+    String ownerField = owner == null ? "" : ",\"owner\":\"" + owner + "\"";
+    return mapper.readTree("{\"id\":\"" + did + "\",\"publicKey\":[{\"id\":\"" + did
+        + "#keys-1\",\"type\":\"Ed25519Sha3VerificationKey\",\"publicKey\":\"" + publicKey + "\""
+        + ownerField + "}]}");
+  }
+}
@@ -0,0 +1,88 @@
+package jp.co.soramitsu.sora.didresolver.index;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Optional;
+import jp.co.soramitsu.sora.didresolver.index.VersionIndex.Version;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock.DetailWrite;
+import org.junit.jupiter.api.Test;
+
+class VersionIndexTest {
+
+  private static final String KEY = "did_sora_alice";
+  private static final String OTHER_KEY = "did_sora_bob";
+
+  private final VersionIndex index = new VersionIndex();
+
+  @Test
+  void versionIsFoundByTimeAndHeight() {
+    index.add(block(1, 1000, write(0, KEY)));
+    index.add(block(2, 2000, write(0, OTHER_KEY)));
+    index.add(block(3, 3000, write(0, OTHER_KEY), write(1, KEY)));
+    index.add(block(4, 4000));
+
+    assertEquals(Optional.empty(), index.atTime(KEY, 999));
+    assertEquals(Optional.of(new Version(1, 1000, 0, false)), index.atTime(KEY, 1000));
+    assertEquals(Optional.of(new Version(1, 1000, 0, false)), index.atTime(KEY, 2999));
+    assertEquals(Optional.of(new Version(3, 3000, 1, false)), index.atTime(KEY, 5000));
+    assertEquals(Optional.of(new Version(1, 1000, 0, false)), index.atHeight(KEY, 2));
+    assertEquals(Optional.of(new Version(3, 3000, 1, false)), index.atHeight(KEY, 4));
+    assertEquals(Optional.empty(), index.atHeight(OTHER_KEY, 1));
+    assertEquals(Optional.empty(), index.atTime("did_sora_carol", 5000));
+    assertEquals(4, index.getHeight());
+  }
+
+  @Test
+  void lastWriteOfTheBlockIsTheVersion() {
+    index.add(block(1, 1000, write(0, KEY), write(1, KEY)));
+
+    assertEquals(Optional.of(new Version(1, 1000, 1, false)), index.atHeight(KEY, 1));
+  }
+
+  @Test
+  void timeOfVersionsDoesNotGoBack() {
+    index.add(block(1, 2000, write(0, KEY)));
+    index.add(block(2, 1500, write(0, KEY)));
+
+    assertEquals(Optional.of(new Version(2, 2000, 0, false)), index.atTime(KEY, 2000));
+  }
+
+  @Test
+  void deletionIsVersion() {
+    index.add(block(1, 1000, write(0, KEY)));
+    index.add(block(2, 2000, new DetailWrite(0, KEY, "null")));
+
+    assertEquals(Optional.of(new Version(1, 1000, 0, false)), index.atHeight(KEY, 1));
+    assertEquals(Optional.of(new Version(2, 2000, 0, true)), index.atHeight(KEY, 2));
+  }
+
+  @Test
+  void blocksAreAddedInOrder() {
+    index.add(block(1, 1000));
+
+    assertThrows(IllegalArgumentException.class, () -> index.add(block(3, 3000)));
+    assertThrows(IllegalArgumentException.class, () -> index.add(block(1, 1000)));
+  }
+
+  @Test
+  void manyVersionsOfKeyAreSearched() {
+    for (int height = 1; height <= 1000; height++) {
+      index.add(block(height, height * 10L, write(0, KEY)));
+    }
+
+    assertEquals(Optional.of(new Version(500, 5000, 0, false)), index.atTime(KEY, 5009));
+    assertEquals(Optional.of(new Version(777, 7770, 0, false)), index.atHeight(KEY, 777));
+  }
+
+  private static CommittedBlock block(long height, long time, DetailWrite... writes) {
+    return new CommittedBlock(height, time, writes.length == 0 ? emptyList() : asList(writes));
+  }
+
+  private static DetailWrite write(int offset, String key) {
+    return new DetailWrite(offset, key, "{}");
+  }
+}
@@ -0,0 +1,150 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static jp.co.soramitsu.sora.didresolver.IntegrationTest.PRIVATEKEY;
+import static jp.co.soramitsu.sora.didresolver.IntegrationTest.PUBLICKEY;
+import static jp.co.soramitsu.sora.didresolver.config.IrohaBeansConfig.QUERIES;
+import static jp.co.soramitsu.sora.didresolver.config.IrohaBeansConfig.TRANSACTIONS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
+import jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics;
+import jp.co.soramitsu.sora.didresolver.services.impl.IrohaServiceImpl;
+import jp.co.soramitsu.sora.sdk.json.JsonUtil;
+import org.junit.jupiter.api.Test;
+
+public class BlockFollowerTest {
+
+  private static final String ACCOUNT = "admin@test";
+  private static final String KEY = "did:sora:soraUser8";
+  private static final String VALUE = "{\"id\":\"did:sora:soraUser8\"}";
+  private static final long TIMEOUT_NANOS = SECONDS.toNanos(10);
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final IrohaProperties irohaProperties = irohaProperties();
+  private final List<Long> heights = new CopyOnWriteArrayList<>();
+
+  @Test
+  void streamBrokenDuringCatchUpIsFollowedAgain() throws InterruptedException {
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api);
+      for (int i = 0; i < 10; i++) {
+        irohaService.setAccountDetails(KEY, VALUE);
+      }
+      try (BlockFollower follower = new BlockFollower(irohaService, irohaProperties)) {
+        follower.addListener(block -> {
+          heights.add(block.getHeight());
+          if (block.getHeight() == 5) {
+            // the error is handled after the catch-up, which still reads every committed block
+            peer.breakBlockStreams();
+          }
+        });
+        follower.start();
+        awaitDelivered(peer);
+
+        commitUntilDelivered(irohaService);
+        awaitDelivered(peer);
+      }
+    }
+  }
+
+  @Test
+  void blockMissingFromStreamIsRead() throws InterruptedException {
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api);
+      try (BlockFollower follower = new BlockFollower(irohaService, irohaProperties)) {
+        follower.addListener(block -> heights.add(block.getHeight()));
+        follower.start();
+        awaitLive(follower);
+        // delivered by the stream, since nothing is read after the follower is live
+        commitUntilDelivered(irohaService);
+        awaitDelivered(peer);
+
+        peer.skipStreamedBlocks(1);
+        irohaService.setAccountDetails(KEY, VALUE);
+        irohaService.setAccountDetails(KEY, VALUE);
+        awaitDelivered(peer);
+      }
+    }
+  }
+
+  @Test
+  void blocksAreNotDeliveredAfterClose() throws InterruptedException {
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api);
+      BlockFollower follower = new BlockFollower(irohaService, irohaProperties);
+      follower.addListener(block -> heights.add(block.getHeight()));
+      follower.start();
+      commitUntilDelivered(irohaService);
+      awaitDelivered(peer);
+
+      follower.close();
+      int delivered = heights.size();
+      irohaService.setAccountDetails(KEY, VALUE);
+      Thread.sleep(200);
+      assertEquals(delivered, heights.size());
+    }
+  }
+
+  /**
+   * Commits blocks until one of them is delivered, blocks committed before the block stream is
+   * registered by the peer are delivered only with the next streamed one
+   */
+  private void commitUntilDelivered(IrohaServiceImpl irohaService) throws InterruptedException {
+    int delivered = heights.size();
+    long deadline = System.nanoTime() + TIMEOUT_NANOS;
+    while (heights.size() == delivered) {
+      assertTrue(System.nanoTime() < deadline, "no block is delivered");
+      irohaService.setAccountDetails(KEY, VALUE);
+      Thread.sleep(20);
+    }
+  }
+
+  private void awaitLive(BlockFollower follower) throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT_NANOS;
+    while (!follower.isLive()) {
+      assertTrue(System.nanoTime() < deadline, "follower is not live");
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Waits for every committed block and checks that each of them is delivered once, in order
+   */
+  private void awaitDelivered(FakeIrohaPeer peer) throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT_NANOS;
+    while (heights.size() < peer.getHeight() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(LongStream.rangeClosed(1, peer.getHeight()).boxed().collect(toList()), heights);
+  }
+
+  private static IrohaProperties irohaProperties() {
+    IrohaProperties irohaProperties = new IrohaProperties();
+    irohaProperties.getAccount().setName(ACCOUNT);
+    irohaProperties.getAccount().setPublicKey(PUBLICKEY);
+    irohaProperties.getAccount().setPrivateKey(PRIVATEKEY);
+    irohaProperties.getBlocks().setRetryInterval(Duration.ofMillis(50));
+    return irohaProperties;
+  }
+
+  private IrohaServiceImpl irohaService(IrohaAPI api) {
+    IrohaBulkhead queries = new IrohaBulkhead(QUERIES, singletonList(api),
+        irohaProperties.getQueries(), registry);
+    IrohaBulkhead transactions = new IrohaBulkhead(TRANSACTIONS, singletonList(api),
+        irohaProperties.getTransactions(), registry);
+    return new IrohaServiceImpl(JsonUtil.buildMapper(), irohaProperties, queries, transactions,
+        new StageMetrics(registry), new TransactionMetrics(registry));
+  }
+}
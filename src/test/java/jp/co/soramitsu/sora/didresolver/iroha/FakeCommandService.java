@@ -0,0 +1,60 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import com.google.protobuf.Empty;
+import io.grpc.stub.StreamObserver;
+import iroha.protocol.CommandService_v1Grpc.CommandService_v1ImplBase;
+import iroha.protocol.Endpoint.ToriiResponse;
+import iroha.protocol.Endpoint.TxList;
+import iroha.protocol.Endpoint.TxStatusRequest;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Torii command service of {@link FakeIrohaPeer}. Transactions are accepted right away and handed
+ * to the ledger after the configured commit latency
+ */
+@RequiredArgsConstructor
+class FakeCommandService extends CommandService_v1ImplBase {
+
+  private final FakeLedger ledger;
+  private final FaultInjector faults;
+
+  @Override
+  public void torii(Transaction request, StreamObserver<Empty> responseObserver) {
+    if (faults.failCall(responseObserver)) {
+      return;
+    }
+    accept(request);
+    responseObserver.onNext(Empty.getDefaultInstance());
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void listTorii(TxList request, StreamObserver<Empty> responseObserver) {
+    if (faults.failCall(responseObserver)) {
+      return;
+    }
+    request.getTransactionsList().forEach(this::accept);
+    responseObserver.onNext(Empty.getDefaultInstance());
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void status(TxStatusRequest request, StreamObserver<ToriiResponse> responseObserver) {
+    responseObserver.onNext(ledger.getStatus(request.getTxHash().toLowerCase()));
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void statusStream(TxStatusRequest request,
+      StreamObserver<ToriiResponse> responseObserver) {
+    ledger.subscribeStatus(request.getTxHash().toLowerCase(), responseObserver);
+  }
+
+  private void accept(Transaction transaction) {
+    String hash = FakeLedger.hash(transaction);
+    ledger.received(hash);
+    boolean rejected = faults.reject();
+    faults.afterCommitLatency(() -> ledger.ready(hash, transaction, rejected));
+  }
+}
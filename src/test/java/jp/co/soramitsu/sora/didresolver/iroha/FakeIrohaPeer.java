@@ -0,0 +1,116 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lightweight in-JVM stand-in for an Iroha peer. It serves Torii command and query gRPC services
+ * on a local port, applies {@code SetAccountDetail} commands, answers {@code GetAccountDetail}
+ * queries, streams transaction statuses and committed blocks. Signatures, permissions and quorum
+ * are not checked.
+ *
+ * <p>Latency, jitter, block interval and failures are configured with {@link
+ * FakeIrohaPeerSettings}, which makes the real {@link IrohaAPI} client path usable in benchmarks
+ * and load tests without an Iroha container
+ */
+@Slf4j
+public class FakeIrohaPeer implements Closeable {
+
+  private static final String HOST = "localhost";
+
+  private final Server server;
+  private final FakeLedger ledger;
+  private final FaultInjector faults;
+  private final ScheduledExecutorService scheduler;
+
+  private FakeIrohaPeer(FakeIrohaPeerSettings settings) throws IOException {
+    long blockInterval = settings.getBlockInterval().toNanos();
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "fake-iroha-peer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.faults = new FaultInjector(settings, scheduler);
+    this.ledger = new FakeLedger(blockInterval == 0, faults);
+    this.server = ServerBuilder.forPort(settings.getPort())
+        .addService(new FakeCommandService(ledger, faults))
+        .addService(new FakeQueryService(ledger, faults))
+        .build()
+        .start();
+    if (blockInterval > 0) {
+      scheduler.scheduleAtFixedRate(ledger::commitReady, blockInterval, blockInterval,
+          NANOSECONDS);
+    }
+    log.info("fake Iroha peer is listening on {}:{}", HOST, getPort());
+  }
+
+  public static FakeIrohaPeer start() {
+    return start(FakeIrohaPeerSettings.builder().build());
+  }
+
+  public static FakeIrohaPeer start(FakeIrohaPeerSettings settings) {
+    try {
+      return new FakeIrohaPeer(settings);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not start fake Iroha peer", e);
+    }
+  }
+
+  public String getHost() {
+    return HOST;
+  }
+
+  public int getPort() {
+    return server.getPort();
+  }
+
+  /**
+   * Height of the last committed block
+   */
+  public long getHeight() {
+    return ledger.getHeight();
+  }
+
+  /**
+   * Next {@code count} committed blocks are not sent to block streams, subscribers see a gap
+   * between the heights of streamed blocks
+   */
+  public void skipStreamedBlocks(int count) {
+    faults.skipStreamedBlocks(count);
+  }
+
+  /**
+   * Fails every open block stream, blocks committed later are sent only to new streams
+   */
+  public void breakBlockStreams() {
+    ledger.breakBlockStreams();
+  }
+
+  /**
+   * New client of this peer, it has to be closed by the caller
+   */
+  public IrohaAPI api() {
+    return new IrohaAPI(HOST, getPort());
+  }
+
+  @Override
+  public void close() {
+    server.shutdownNow();
+    scheduler.shutdownNow();
+    try {
+      server.awaitTermination(5, SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.Getter;
+
+/**
+ * Timing and fault injection knobs of {@link FakeIrohaPeer}. Defaults describe a peer that commits
+ * every transaction right away and never fails
+ */
+@Builder
+@Getter
+public class FakeIrohaPeerSettings {
+
+  /**
+   * Port of Torii, random free port when 0
+   */
+  @Default
+  private int port = 0;
+  /**
+   * Time from receiving the transaction to it being ready for the next block
+   */
+  @Default
+  private Duration commitLatency = Duration.ZERO;
+  /**
+   * Maximum random deviation added to or subtracted from {@code commitLatency}
+   */
+  @Default
+  private Duration commitJitter = Duration.ZERO;
+  /**
+   * Interval of block creation, every ready transaction is committed in its own block when zero
+   */
+  @Default
+  private Duration blockInterval = Duration.ZERO;
+  /**
+   * Time to answer a query
+   */
+  @Default
+  private Duration queryLatency = Duration.ZERO;
+  /**
+   * Share of transactions failing stateful validation and ending up rejected
+   */
+  @Default
+  private double rejectionRate = 0;
+  /**
+   * Share of Torii and query calls failing with {@code UNAVAILABLE} gRPC status
+   */
+  @Default
+  private double transportErrorRate = 0;
+  /**
+   * Seed of jitter and fault decisions, so that runs with the same settings are comparable
+   */
+  @Default
+  private long seed = 0;
+}
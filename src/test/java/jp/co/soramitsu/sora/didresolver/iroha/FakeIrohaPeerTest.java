@@ -0,0 +1,187 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static jp.co.soramitsu.sora.didresolver.IntegrationTest.PRIVATEKEY;
+import static jp.co.soramitsu.sora.didresolver.IntegrationTest.PUBLICKEY;
+import static jp.co.soramitsu.sora.didresolver.commons.DIDScanner.toIrohaKey;
+import static jp.co.soramitsu.sora.didresolver.config.IrohaBeansConfig.QUERIES;
+import static jp.co.soramitsu.sora.didresolver.config.IrohaBeansConfig.TRANSACTIONS;
+import static jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.IN_FLIGHT;
+import static jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.REJECTIONS;
+import static jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.STATUS_TAG;
+import static jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.STATUS_TIMER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import iroha.protocol.QryResponses.BlockQueryResponse;
+import iroha.protocol.Queries.BlocksQuery;
+import iroha.protocol.QueryService_v1Grpc;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties;
+import jp.co.soramitsu.sora.didresolver.iroha.CommittedBlock.DetailWrite;
+import jp.co.soramitsu.sora.didresolver.metrics.StageMetrics;
+import jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics;
+import jp.co.soramitsu.sora.didresolver.services.impl.IrohaServiceImpl;
+import jp.co.soramitsu.sora.sdk.json.JsonUtil;
+import org.junit.jupiter.api.Test;
+
+public class FakeIrohaPeerTest {
+
+  private static final String ACCOUNT = "admin@test";
+  private static final String KEY = "did:sora:soraUser8";
+  private static final String VALUE = "{\"id\":\"did:sora:soraUser8\"}";
+  private static final String OTHER_KEY = "did:sora:soraUser9";
+  private static final String OTHER_VALUE = "{\"id\":\"did:sora:soraUser9\"}";
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void committedDetailIsReturnedByQuery() {
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api);
+      irohaService.setAccountDetails(KEY, VALUE);
+
+      assertEquals(Optional.of(VALUE), irohaService.getAccountDetails(KEY));
+      assertEquals(1, peer.getHeight());
+      assertEquals(1, registry.get(STATUS_TIMER).tags(STATUS_TAG, "committed").timer().count());
+      assertEquals(0, registry.get(IN_FLIGHT).gauge().value());
+    }
+  }
+
+  @Test
+  void allDetailsOfTheAccountAreReturned() {
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api);
+      irohaService.setAccountDetails(KEY, VALUE);
+      irohaService.setAccountDetails(OTHER_KEY, OTHER_VALUE);
+
+      List<Map<String, String>> pages = new ArrayList<>();
+      irohaService.readAllAccountDetails(pages::add);
+      assertEquals(1, pages.size());
+      assertEquals(2, pages.get(0).size());
+      assertEquals(VALUE, pages.get(0).get(toIrohaKey(KEY)));
+      assertEquals(OTHER_VALUE, pages.get(0).get(toIrohaKey(OTHER_KEY)));
+    }
+  }
+
+  @Test
+  void allDetailsOfTheAccountAreReadPageByPage() {
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api, 1);
+      irohaService.setAccountDetails(KEY, VALUE);
+      irohaService.setAccountDetails(OTHER_KEY, OTHER_VALUE);
+
+      List<Map<String, String>> pages = new ArrayList<>();
+      irohaService.readAllAccountDetails(pages::add);
+      assertEquals(asList(singletonMap(toIrohaKey(KEY), VALUE),
+          singletonMap(toIrohaKey(OTHER_KEY), OTHER_VALUE)), pages);
+    }
+  }
+
+  @Test
+  void committedDetailIsReadFromItsBlock() {
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api);
+      irohaService.setAccountDetails(KEY, VALUE);
+
+      CommittedBlock block = irohaService.getBlock(1).orElseThrow(IllegalStateException::new);
+      assertEquals(1, block.getHeight());
+      assertEquals(singletonList(new DetailWrite(0, toIrohaKey(KEY), VALUE)), block.getWrites());
+      assertFalse(irohaService.getBlock(2).isPresent());
+    }
+  }
+
+  @Test
+  void blocksAreFollowedFromTheFirstOne() throws InterruptedException {
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api);
+      irohaService.setAccountDetails(KEY, VALUE);
+      List<Long> heights = new CopyOnWriteArrayList<>();
+      CountDownLatch delivered = new CountDownLatch(2);
+      try (BlockFollower follower = new BlockFollower(irohaService, new IrohaProperties())) {
+        follower.addListener(block -> {
+          heights.add(block.getHeight());
+          delivered.countDown();
+        });
+        follower.start();
+        // committed either before or after the stream is opened, it is delivered once anyway
+        irohaService.setAccountDetails(OTHER_KEY, OTHER_VALUE);
+
+        assertTrue(delivered.await(10, SECONDS));
+        assertEquals(asList(1L, 2L), heights);
+      }
+    }
+  }
+
+  @Test
+  void rejectedDetailIsNotStored() {
+    FakeIrohaPeerSettings settings = FakeIrohaPeerSettings.builder().rejectionRate(1).build();
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(settings); IrohaAPI api = peer.api()) {
+      IrohaServiceImpl irohaService = irohaService(api);
+      irohaService.setAccountDetails(KEY, VALUE);
+
+      assertFalse(irohaService.getAccountDetails(KEY).isPresent());
+      assertEquals(1, registry.get(REJECTIONS).counter().count());
+      assertEquals(0, registry.get(IN_FLIGHT).gauge().value());
+    }
+  }
+
+  @Test
+  void transactionsAreBatchedIntoStreamedBlocks() {
+    FakeIrohaPeerSettings settings = FakeIrohaPeerSettings.builder()
+        .commitLatency(Duration.ofMillis(20))
+        .commitJitter(Duration.ofMillis(10))
+        .blockInterval(Duration.ofMillis(100))
+        .build();
+    try (FakeIrohaPeer peer = FakeIrohaPeer.start(settings); IrohaAPI api = peer.api()) {
+      ManagedChannel channel = ManagedChannelBuilder.forAddress(peer.getHost(), peer.getPort())
+          .usePlaintext()
+          .build();
+      Iterator<BlockQueryResponse> blocks = QueryService_v1Grpc.newBlockingStub(channel)
+          .fetchCommits(BlocksQuery.getDefaultInstance());
+
+      irohaService(api).setAccountDetails(KEY, VALUE);
+
+      assertTrue(blocks.hasNext());
+      BlockQueryResponse block = blocks.next();
+      assertEquals(1, block.getBlockResponse().getBlock().getBlockV1().getPayload().getHeight());
+      assertEquals(1, block.getBlockResponse().getBlock().getBlockV1().getPayload()
+          .getTransactionsCount());
+      channel.shutdownNow();
+    }
+  }
+
+  private IrohaServiceImpl irohaService(IrohaAPI api) {
+    return irohaService(api, new IrohaProperties().getDetailsPageSize());
+  }
+
+  private IrohaServiceImpl irohaService(IrohaAPI api, int detailsPageSize) {
+    IrohaProperties irohaProperties = new IrohaProperties();
+    irohaProperties.setDetailsPageSize(detailsPageSize);
+    irohaProperties.getAccount().setName(ACCOUNT);
+    irohaProperties.getAccount().setPublicKey(PUBLICKEY);
+    irohaProperties.getAccount().setPrivateKey(PRIVATEKEY);
+    IrohaBulkhead queries = new IrohaBulkhead(QUERIES, singletonList(api),
+        irohaProperties.getQueries(), registry);
+    IrohaBulkhead transactions = new IrohaBulkhead(TRANSACTIONS, singletonList(api),
+        irohaProperties.getTransactions(), registry);
+    return new IrohaServiceImpl(JsonUtil.buildMapper(), irohaProperties, queries, transactions,
+        new StageMetrics(registry), new TransactionMetrics(registry));
+  }
+}
@@ -0,0 +1,344 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import static iroha.protocol.Endpoint.TxStatus.COMMITTED;
+import static iroha.protocol.Endpoint.TxStatus.MST_EXPIRED;
+import static iroha.protocol.Endpoint.TxStatus.NOT_RECEIVED;
+import static iroha.protocol.Endpoint.TxStatus.REJECTED;
+import static iroha.protocol.Endpoint.TxStatus.STATEFUL_VALIDATION_FAILED;
+import static iroha.protocol.Endpoint.TxStatus.STATEFUL_VALIDATION_SUCCESS;
+import static iroha.protocol.Endpoint.TxStatus.STATELESS_VALIDATION_FAILED;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.BlockOuterClass.Block_v1;
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.SetAccountDetail;
+import iroha.protocol.Endpoint.ToriiResponse;
+import iroha.protocol.Endpoint.TxStatus;
+import iroha.protocol.Primitive.AccountDetailRecordId;
+import iroha.protocol.QryResponses.AccountDetailResponse;
+import iroha.protocol.QryResponses.BlockQueryResponse;
+import iroha.protocol.QryResponses.BlockResponse;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import jp.co.soramitsu.iroha.java.Utils;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * State of {@link FakeIrohaPeer}: account details, transaction statuses and the chain of blocks.
+ * Ready transactions are kept until {@link #commitReady()} puts them into a block. All methods are
+ * synchronized, which also serializes the calls of gRPC observers subscribed to statuses and blocks
+ */
+@Slf4j
+class FakeLedger {
+
+  private static final Set<TxStatus> FINAL_STATUSES =
+      EnumSet.of(COMMITTED, REJECTED, STATELESS_VALIDATION_FAILED, MST_EXPIRED);
+  private static final String EMPTY_HASH = "";
+
+  /**
+   * account -> writer -> key -> value, value is stored as sent, i.e. already escaped for JSON
+   */
+  private final Map<String, Map<String, Map<String, String>>> details = new HashMap<>();
+  private final Map<String, ToriiResponse> statuses = new HashMap<>();
+  private final Map<String, List<StreamObserver<ToriiResponse>>> statusObservers = new HashMap<>();
+  private final List<StreamObserver<BlockQueryResponse>> blockObservers = new ArrayList<>();
+  private final List<Block> blocks = new ArrayList<>();
+  private final Map<String, Transaction> ready = new LinkedHashMap<>();
+  private final Map<String, Boolean> rejections = new HashMap<>();
+  private final boolean blockPerTransaction;
+  private final FaultInjector faults;
+  private long height = 0;
+  private String topBlockHash = EMPTY_HASH;
+
+  /**
+   * @param blockPerTransaction - whether each ready transaction is committed in its own block right
+   * away instead of waiting for {@link #commitReady()}
+   */
+  FakeLedger(boolean blockPerTransaction, FaultInjector faults) {
+    this.blockPerTransaction = blockPerTransaction;
+    this.faults = faults;
+  }
+
+  static String hash(Transaction transaction) {
+    return Utils.toHex(Utils.hash(transaction)).toLowerCase();
+  }
+
+  synchronized void received(String hash) {
+    updateStatus(status(hash, TxStatus.STATELESS_VALIDATION_SUCCESS));
+  }
+
+  /**
+   * Queues transaction for the next block
+   *
+   * @param rejected - whether the transaction fails stateful validation
+   */
+  synchronized void ready(String hash, Transaction transaction, boolean rejected) {
+    ready.put(hash, transaction);
+    rejections.put(hash, rejected);
+    if (blockPerTransaction) {
+      commitReady();
+    }
+  }
+
+  /**
+   * Applies ready transactions and puts them into a new block, nothing happens when there are none
+   */
+  synchronized void commitReady() {
+    if (ready.isEmpty()) {
+      return;
+    }
+    List<Transaction> committed = new ArrayList<>();
+    List<String> rejected = new ArrayList<>();
+    ready.forEach((hash, transaction) -> {
+      if (rejections.remove(hash)) {
+        rejected.add(hash);
+        updateStatus(status(hash, STATEFUL_VALIDATION_FAILED).toBuilder()
+            .setErrOrCmdName("SetAccountDetail")
+            .setFailedCmdIndex(0)
+            .setErrorCode(1)
+            .build());
+        updateStatus(status(hash, REJECTED));
+      } else {
+        apply(transaction);
+        committed.add(transaction);
+        updateStatus(status(hash, STATEFUL_VALIDATION_SUCCESS));
+      }
+    });
+    ready.clear();
+    publish(block(committed, rejected));
+    committed.forEach(transaction -> updateStatus(status(hash(transaction), COMMITTED)));
+  }
+
+  synchronized ToriiResponse getStatus(String hash) {
+    return statuses.getOrDefault(hash, status(hash, NOT_RECEIVED));
+  }
+
+  /**
+   * Sends the current status of the transaction and every following one until the final status
+   */
+  synchronized void subscribeStatus(String hash, StreamObserver<ToriiResponse> observer) {
+    ToriiResponse current = getStatus(hash);
+    observer.onNext(current);
+    if (FINAL_STATUSES.contains(current.getTxStatus())) {
+      observer.onCompleted();
+      return;
+    }
+    statusObservers.computeIfAbsent(hash, h -> new ArrayList<>()).add(observer);
+    onCancel(observer, () -> unsubscribeStatus(hash, observer));
+  }
+
+  /**
+   * Sends every block committed after the subscription
+   */
+  synchronized void subscribeBlocks(StreamObserver<BlockQueryResponse> observer) {
+    blockObservers.add(observer);
+    onCancel(observer, () -> unsubscribeBlocks(observer));
+  }
+
+  /**
+   * Fails every open block stream with {@code UNAVAILABLE} status, as when the peer restarts
+   */
+  synchronized void breakBlockStreams() {
+    for (StreamObserver<BlockQueryResponse> observer : blockObservers) {
+      try {
+        observer.onError(Status.UNAVAILABLE.withDescription("injected by fake peer")
+            .asRuntimeException());
+      } catch (RuntimeException e) {
+        log.debug("block subscriber is gone", e);
+      }
+    }
+    blockObservers.clear();
+  }
+
+  /**
+   * Account detail JSON in the format of Iroha, i.e. {@code {"writer": {"key": "value"}}}
+   *
+   * @param writer - only details of this writer when not empty
+   * @param key - only details with this key when not empty
+   */
+  synchronized String getAccountDetail(String account, String writer, String key) {
+    Map<String, Map<String, String>> found = new TreeMap<>();
+    details.getOrDefault(account, new TreeMap<>()).forEach((detailWriter, values) -> {
+      if (writer.isEmpty() || writer.equals(detailWriter)) {
+        values.forEach((detailKey, value) -> {
+          if (key.isEmpty() || key.equals(detailKey)) {
+            found.computeIfAbsent(detailWriter, w -> new TreeMap<>()).put(detailKey, value);
+          }
+        });
+      }
+    });
+    return toJson(found);
+  }
+
+  /**
+   * Page of account details ordered by writer and key, the same way as Iroha pages them
+   *
+   * @param writer - only details of this writer when not empty
+   * @param first - first detail of the page, {@code null} for the first page
+   * @return empty when the first detail is not found
+   */
+  synchronized Optional<AccountDetailResponse> getAccountDetailPage(String account, String writer,
+      int pageSize, AccountDetailRecordId first) {
+    Map<String, Map<String, String>> written = details.getOrDefault(account, new TreeMap<>());
+    List<AccountDetailRecordId> records = new ArrayList<>();
+    written.forEach((detailWriter, values) -> {
+      if (writer.isEmpty() || writer.equals(detailWriter)) {
+        values.keySet().forEach(detailKey -> records.add(AccountDetailRecordId.newBuilder()
+            .setWriter(detailWriter)
+            .setKey(detailKey)
+            .build()));
+      }
+    });
+    int from = first == null ? 0 : records.indexOf(first);
+    if (from < 0) {
+      return Optional.empty();
+    }
+    int to = Math.min(from + pageSize, records.size());
+    Map<String, Map<String, String>> page = new TreeMap<>();
+    for (AccountDetailRecordId record : records.subList(from, to)) {
+      page.computeIfAbsent(record.getWriter(), w -> new TreeMap<>())
+          .put(record.getKey(), written.get(record.getWriter()).get(record.getKey()));
+    }
+    AccountDetailResponse.Builder response = AccountDetailResponse.newBuilder()
+        .setDetail(toJson(page))
+        .setTotalNumber(records.size());
+    if (to < records.size()) {
+      response.setNextRecordId(records.get(to));
+    }
+    return Optional.of(response.build());
+  }
+
+  /**
+   * Details by writer and key as JSON, values are already escaped
+   */
+  private static String toJson(Map<String, Map<String, String>> details) {
+    StringBuilder json = new StringBuilder("{");
+    details.forEach((writer, values) -> {
+      StringBuilder writerJson = new StringBuilder();
+      values.forEach((key, value) -> writerJson.append(writerJson.length() == 0 ? "" : ", ")
+          .append('"').append(key).append("\": \"").append(value).append('"'));
+      json.append(json.length() == 1 ? "" : ", ")
+          .append('"').append(writer).append("\": {").append(writerJson).append('}');
+    });
+    return json.append('}').toString();
+  }
+
+  synchronized long getHeight() {
+    return height;
+  }
+
+  /**
+   * Committed block, empty when there is no block with such height
+   */
+  synchronized Optional<Block> getBlock(long blockHeight) {
+    if (blockHeight < 1 || blockHeight > height) {
+      return Optional.empty();
+    }
+    return Optional.of(blocks.get((int) blockHeight - 1));
+  }
+
+  private void apply(Transaction transaction) {
+    String creator = transaction.getPayload().getReducedPayload().getCreatorAccountId();
+    for (Command command : transaction.getPayload().getReducedPayload().getCommandsList()) {
+      if (command.hasSetAccountDetail()) {
+        SetAccountDetail detail = command.getSetAccountDetail();
+        details.computeIfAbsent(detail.getAccountId(), a -> new TreeMap<>())
+            .computeIfAbsent(creator, w -> new TreeMap<>())
+            .put(detail.getKey(), detail.getValue());
+      } else {
+        log.warn("command {} is not supported by the fake peer and is skipped", command);
+      }
+    }
+  }
+
+  private Block block(List<Transaction> committed, List<String> rejected) {
+    height++;
+    Block block = Block.newBuilder()
+        .setBlockV1(Block_v1.newBuilder()
+            .setPayload(Block_v1.Payload.newBuilder()
+                .setHeight(height)
+                .setPrevBlockHash(topBlockHash)
+                .setCreatedTime(System.currentTimeMillis())
+                .setTxNumber(committed.size())
+                .addAllTransactions(committed)
+                .addAllRejectedTransactionsHashes(rejected)))
+        .build();
+    topBlockHash = Hex.toHexString(
+        new SHA3.Digest256().digest(block.getBlockV1().getPayload().toByteArray()));
+    blocks.add(block);
+    return block;
+  }
+
+  private void publish(Block block) {
+    if (faults.skipStreamedBlock()) {
+      log.debug("block {} is not streamed", height);
+      return;
+    }
+    BlockQueryResponse response = BlockQueryResponse.newBuilder()
+        .setBlockResponse(BlockResponse.newBuilder().setBlock(block))
+        .build();
+    new ArrayList<>(blockObservers).forEach(observer -> {
+      try {
+        observer.onNext(response);
+      } catch (RuntimeException e) {
+        log.debug("block subscriber is gone", e);
+        blockObservers.remove(observer);
+      }
+    });
+  }
+
+  private void updateStatus(ToriiResponse status) {
+    String hash = status.getTxHash();
+    statuses.put(hash, status);
+    List<StreamObserver<ToriiResponse>> observers = statusObservers.getOrDefault(hash,
+        new ArrayList<>());
+    boolean isFinal = FINAL_STATUSES.contains(status.getTxStatus());
+    for (StreamObserver<ToriiResponse> observer : observers) {
+      try {
+        observer.onNext(status);
+        if (isFinal) {
+          observer.onCompleted();
+        }
+      } catch (RuntimeException e) {
+        log.debug("status subscriber of {} is gone", hash, e);
+      }
+    }
+    if (isFinal) {
+      statusObservers.remove(hash);
+    }
+  }
+
+  private synchronized void unsubscribeStatus(String hash, StreamObserver<ToriiResponse> observer) {
+    List<StreamObserver<ToriiResponse>> observers = statusObservers.get(hash);
+    if (observers != null) {
+      observers.remove(observer);
+    }
+  }
+
+  private synchronized void unsubscribeBlocks(StreamObserver<BlockQueryResponse> observer) {
+    blockObservers.remove(observer);
+  }
+
+  private static ToriiResponse status(String hash, TxStatus status) {
+    return ToriiResponse.newBuilder().setTxHash(hash).setTxStatus(status).build();
+  }
+
+  private static void onCancel(StreamObserver<?> observer, Runnable handler) {
+    if (observer instanceof ServerCallStreamObserver) {
+      ((ServerCallStreamObserver<?>) observer).setOnCancelHandler(handler);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import io.grpc.stub.StreamObserver;
+import iroha.protocol.QryResponses.AccountDetailResponse;
+import iroha.protocol.QryResponses.BlockQueryResponse;
+import iroha.protocol.QryResponses.BlockResponse;
+import iroha.protocol.QryResponses.ErrorResponse;
+import iroha.protocol.QryResponses.ErrorResponse.Reason;
+import iroha.protocol.QryResponses.QueryResponse;
+import iroha.protocol.Queries.AccountDetailPaginationMeta;
+import iroha.protocol.Queries.BlocksQuery;
+import iroha.protocol.Queries.GetAccountDetail;
+import iroha.protocol.Queries.Query;
+import iroha.protocol.QueryService_v1Grpc.QueryService_v1ImplBase;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Query service of {@link FakeIrohaPeer}, supports {@code GetAccountDetail} with and without
+ * pagination, {@code GetBlock} queries and block streaming
+ */
+@RequiredArgsConstructor
+class FakeQueryService extends QueryService_v1ImplBase {
+
+  /**
+   * Error code of Iroha for the height of a block which is not committed
+   */
+  private static final int INVALID_HEIGHT = 3;
+  /**
+   * Error code of Iroha for the first detail of a page which does not exist
+   */
+  private static final int INVALID_PAGINATION = 4;
+
+  private final FakeLedger ledger;
+  private final FaultInjector faults;
+
+  @Override
+  public void find(Query request, StreamObserver<QueryResponse> responseObserver) {
+    if (faults.failCall(responseObserver)) {
+      return;
+    }
+    QueryResponse response = answer(request);
+    faults.afterQueryLatency(() -> {
+      responseObserver.onNext(response);
+      responseObserver.onCompleted();
+    });
+  }
+
+  @Override
+  public void fetchCommits(BlocksQuery request,
+      StreamObserver<BlockQueryResponse> responseObserver) {
+    ledger.subscribeBlocks(responseObserver);
+  }
+
+  private QueryResponse answer(Query query) {
+    if (query.getPayload().hasGetBlock()) {
+      long height = query.getPayload().getGetBlock().getHeight();
+      return ledger.getBlock(height)
+          .map(block -> QueryResponse.newBuilder()
+              .setBlockResponse(BlockResponse.newBuilder().setBlock(block))
+              .build())
+          .orElseGet(() -> QueryResponse.newBuilder()
+              .setErrorResponse(ErrorResponse.newBuilder()
+                  .setReason(Reason.STATEFUL_INVALID)
+                  .setErrorCode(INVALID_HEIGHT)
+                  .setMessage("there is no block with height " + height))
+              .build());
+    }
+    if (!query.getPayload().hasGetAccountDetail()) {
+      return QueryResponse.newBuilder()
+          .setErrorResponse(ErrorResponse.newBuilder()
+              .setReason(Reason.NOT_SUPPORTED)
+              .setMessage("only GetAccountDetail and GetBlock are supported by the fake peer"))
+          .build();
+    }
+    GetAccountDetail detail = query.getPayload().getGetAccountDetail();
+    String account = detail.getAccountId().isEmpty()
+        ? query.getPayload().getMeta().getCreatorAccountId()
+        : detail.getAccountId();
+    if (detail.hasPaginationMeta()) {
+      AccountDetailPaginationMeta pagination = detail.getPaginationMeta();
+      return ledger.getAccountDetailPage(account, detail.getWriter(), pagination.getPageSize(),
+          pagination.hasFirstRecordId() ? pagination.getFirstRecordId() : null)
+          .map(page -> QueryResponse.newBuilder().setAccountDetailResponse(page).build())
+          .orElseGet(() -> QueryResponse.newBuilder()
+              .setErrorResponse(ErrorResponse.newBuilder()
+                  .setReason(Reason.STATEFUL_INVALID)
+                  .setErrorCode(INVALID_PAGINATION)
+                  .setMessage("there is no detail to start the page from"))
+              .build());
+    }
+    return QueryResponse.newBuilder()
+        .setAccountDetailResponse(AccountDetailResponse.newBuilder()
+            .setDetail(ledger.getAccountDetail(account, detail.getWriter(), detail.getKey())))
+        .build();
+  }
+}
@@ -0,0 +1,85 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency and failure decisions of {@link FakeIrohaPeer}, all drawn from a single seeded random.
+ * Blocks missing from the block stream are injected on demand
+ */
+class FaultInjector {
+
+  private final FakeIrohaPeerSettings settings;
+  private final ScheduledExecutorService scheduler;
+  private final Random random;
+  private final AtomicInteger skippedStreamedBlocks = new AtomicInteger();
+
+  FaultInjector(FakeIrohaPeerSettings settings, ScheduledExecutorService scheduler) {
+    this.settings = settings;
+    this.scheduler = scheduler;
+    this.random = new Random(settings.getSeed());
+  }
+
+  /**
+   * Fails the call with {@code UNAVAILABLE} status according to the transport error rate
+   *
+   * @return whether the call was failed
+   */
+  boolean failCall(StreamObserver<?> observer) {
+    if (!happens(settings.getTransportErrorRate())) {
+      return false;
+    }
+    observer.onError(Status.UNAVAILABLE.withDescription("injected by fake peer")
+        .asRuntimeException());
+    return true;
+  }
+
+  boolean reject() {
+    return happens(settings.getRejectionRate());
+  }
+
+  /**
+   * Next {@code count} committed blocks are not sent to block streams
+   */
+  void skipStreamedBlocks(int count) {
+    skippedStreamedBlocks.addAndGet(count);
+  }
+
+  /**
+   * @return whether the committed block is not sent to block streams
+   */
+  boolean skipStreamedBlock() {
+    return skippedStreamedBlocks.getAndUpdate(count -> Math.max(0, count - 1)) > 0;
+  }
+
+  void afterCommitLatency(Runnable task) {
+    long jitter = settings.getCommitJitter().toNanos();
+    long deviation = jitter == 0 ? 0 : (long) ((nextDouble() * 2 - 1) * jitter);
+    schedule(task, Math.max(0, settings.getCommitLatency().toNanos() + deviation));
+  }
+
+  void afterQueryLatency(Runnable task) {
+    schedule(task, settings.getQueryLatency().toNanos());
+  }
+
+  private void schedule(Runnable task, long delayNanos) {
+    if (delayNanos == 0) {
+      task.run();
+    } else {
+      scheduler.schedule(task, delayNanos, NANOSECONDS);
+    }
+  }
+
+  private boolean happens(double rate) {
+    return rate > 0 && nextDouble() < rate;
+  }
+
+  private double nextDouble() {
+    return random.nextDouble();
+  }
+}
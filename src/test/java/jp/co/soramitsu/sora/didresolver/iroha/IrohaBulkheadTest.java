@@ -0,0 +1,101 @@
+package jp.co.soramitsu.sora.didresolver.iroha;
+
+import static java.util.Arrays.asList;
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.IROHA_UNAVAILABLE;
+import static jp.co.soramitsu.sora.didresolver.iroha.IrohaBulkhead.BULKHEAD_TAG;
+import static jp.co.soramitsu.sora.didresolver.iroha.IrohaBulkhead.REJECTIONS;
+import static jp.co.soramitsu.sora.didresolver.iroha.IrohaBulkhead.SATURATION_GAUGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.sora.didresolver.config.properties.IrohaProperties.BulkheadProperties;
+import jp.co.soramitsu.sora.didresolver.exceptions.IrohaUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class IrohaBulkheadTest {
+
+  private static final String NAME = "queries";
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final IrohaAPI first = new IrohaAPI("localhost", 50051);
+  private final IrohaAPI second = new IrohaAPI("localhost", 50051);
+  private IrohaBulkhead bulkhead;
+
+  @AfterEach
+  void close() {
+    bulkhead.close();
+  }
+
+  @Test
+  void callsAreSpreadOverChannels() {
+    bulkhead = bulkhead(new BulkheadProperties(2, 2, 2, Duration.ofSeconds(5)));
+
+    assertSame(first, bulkhead.call(api -> api));
+    assertSame(second, bulkhead.call(api -> api));
+    assertSame(first, bulkhead.call(api -> api));
+  }
+
+  @Test
+  void callsAboveCapacityAreRejected() throws Exception {
+    bulkhead = bulkhead(new BulkheadProperties(1, 1, 1, Duration.ofSeconds(5)));
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> running = CompletableFuture.runAsync(() -> bulkhead.run(api -> {
+      started.countDown();
+      await(release);
+    }));
+    started.await(5, TimeUnit.SECONDS);
+    CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> bulkhead.run(api -> {
+    }));
+    while (registry.get(SATURATION_GAUGE).tag(BULKHEAD_TAG, NAME).gauge().value() < 1) {
+      Thread.sleep(1);
+    }
+
+    assertThrows(IrohaUnavailableException.class, () -> bulkhead.call(api -> api));
+    assertEquals(1, registry.get(REJECTIONS).tag(BULKHEAD_TAG, NAME).counter().count());
+
+    release.countDown();
+    running.get(5, TimeUnit.SECONDS);
+    queued.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void slowCallTimesOut() {
+    bulkhead = bulkhead(new BulkheadProperties(1, 1, 1, Duration.ofMillis(50)));
+
+    IrohaUnavailableException timeout = assertThrows(IrohaUnavailableException.class,
+        () -> bulkhead.run(api -> await(new CountDownLatch(1))));
+    assertEquals(IROHA_UNAVAILABLE, timeout.getResponseCode());
+  }
+
+  @Test
+  void exceptionOfCallIsRethrown() {
+    bulkhead = bulkhead(new BulkheadProperties(1, 1, 1, Duration.ofSeconds(5)));
+    IllegalStateException failure = new IllegalStateException("query failed");
+
+    assertSame(failure, assertThrows(IllegalStateException.class, () -> bulkhead.run(api -> {
+      throw failure;
+    })));
+  }
+
+  private IrohaBulkhead bulkhead(BulkheadProperties properties) {
+    return new IrohaBulkhead(NAME, asList(first, second), properties, registry);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
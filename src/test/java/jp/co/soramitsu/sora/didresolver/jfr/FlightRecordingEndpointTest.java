@@ -0,0 +1,100 @@
+package jp.co.soramitsu.sora.didresolver.jfr;
+
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.DID_NOT_FOUND;
+import static jp.co.soramitsu.sora.didresolver.jfr.DDOWriteEvent.REGISTRATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.boot.actuate.endpoint.web.WebEndpointResponse.STATUS_NOT_FOUND;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import jp.co.soramitsu.sora.didresolver.config.properties.FlightRecordingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+public class FlightRecordingEndpointTest {
+
+  private static final String DID = "did:sora:soraUser8";
+
+  private final FlightRecordingProperties properties = new FlightRecordingProperties();
+  private final FlightRecordingEndpoint endpoint = new FlightRecordingEndpoint(properties);
+
+  @AfterEach
+  void close() {
+    endpoint.close();
+  }
+
+  @Test
+  void dumpContainsResolverEvents(@TempDir Path dir) throws Exception {
+    endpoint.start(null, null);
+
+    ResolutionEvent resolution = new ResolutionEvent(DID);
+    resolution.begin();
+    resolution.setSize(42);
+    resolution.failed(DID_NOT_FOUND);
+    resolution.commit();
+    DDOWriteEvent registration = new DDOWriteEvent(REGISTRATION, 100);
+    registration.begin();
+    registration.setDid(DID);
+    registration.succeeded();
+    registration.commit();
+
+    assertEquals("STOPPED", endpoint.stop().get("state").toString());
+    List<RecordedEvent> events = RecordingFile.readAllEvents(dump(dir));
+
+    RecordedEvent recordedResolution = event(events, "jp.co.soramitsu.sora.didresolver.Resolution");
+    assertEquals(DID, recordedResolution.getString("did"));
+    assertEquals(42, recordedResolution.getLong("size"));
+    assertEquals("DID_NOT_FOUND", recordedResolution.getString("outcome"));
+    RecordedEvent recordedRegistration = event(events, "jp.co.soramitsu.sora.didresolver.DDOWrite");
+    assertEquals(REGISTRATION, recordedRegistration.getString("operation"));
+    assertEquals("OK", recordedRegistration.getString("outcome"));
+  }
+
+  @Test
+  void requestedBoundsAreLimitedByConfiguration() throws Exception {
+    properties.setMaxAge(Duration.ofMinutes(1));
+    properties.setMaxSize(DataSize.ofMegabytes(1));
+
+    endpoint.start(Duration.ofHours(1), DataSize.ofKilobytes(512));
+
+    assertEquals(Duration.ofMinutes(1), endpoint.stop().get("maxAge"));
+    assertEquals(DataSize.ofKilobytes(512).toBytes(), endpoint.stop().get("maxSize"));
+  }
+
+  @Test
+  void dumpWithoutRecordingIsNotFound() throws IOException {
+    assertEquals(STATUS_NOT_FOUND, endpoint.dump().getStatus());
+    assertEquals("NONE", endpoint.stop().get("state"));
+  }
+
+  private Path dump(Path dir) throws IOException {
+    Resource resource = endpoint.dump().getBody();
+    Path file = dir.resolve("recording.jfr");
+    try (InputStream in = resource.getInputStream()) {
+      Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+    assertFalse(resource.getFile().exists());
+    return file;
+  }
+
+  private static RecordedEvent event(List<RecordedEvent> events, String name) {
+    RecordedEvent found = events.stream()
+        .filter(event -> event.getEventType().getName().equals(name))
+        .findFirst()
+        .orElse(null);
+    assertTrue(found != null, name + " is recorded");
+    return found;
+  }
+}
@@ -0,0 +1,53 @@
+package jp.co.soramitsu.sora.didresolver.limits;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import jp.co.soramitsu.sora.didresolver.config.properties.LimitProperties;
+import lombok.val;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ConcurrencyLimitFilterTest {
+
+  private final ConcurrencyLimitFilter filter;
+
+  ConcurrencyLimitFilterTest() {
+    val properties = new LimitProperties();
+    properties.getRead().setInitialLimit(1);
+    properties.getRead().setMinLimit(1);
+    filter = new ConcurrencyLimitFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("Requests above the limit get TOO_MANY_REQUESTS code with HTTP status 200")
+  void testRequestsAboveLimitGetTooManyRequestsCode() throws Exception {
+    val rejected = new MockHttpServletResponse();
+    // the first request holds the only permit while the second one comes
+    filter.doFilter(new MockHttpServletRequest("GET", "/v1/did/did:sora:first"),
+        new MockHttpServletResponse(), (request, response) -> filter.doFilter(
+            new MockHttpServletRequest("GET", "/v1/did/did:sora:second"), rejected,
+            new MockFilterChain()));
+
+    assertEquals(200, rejected.getStatus());
+    assertTrue(rejected.getContentAsString().contains("\"TOO_MANY_REQUESTS\""));
+  }
+
+  @Test
+  @DisplayName("Streams of changes are not limited")
+  void testStreamsOfChangesAreNotLimited() throws Exception {
+    val passed = new AtomicInteger();
+    filter.doFilter(new MockHttpServletRequest("GET", "/v1/did/did:sora:first"),
+        new MockHttpServletResponse(), (request, response) -> filter.doFilter(
+            new MockHttpServletRequest("GET", "/v1/did/changes"), new MockHttpServletResponse(),
+            (changesRequest, changesResponse) -> passed.incrementAndGet()));
+
+    assertEquals(1, passed.get());
+  }
+}
@@ -0,0 +1,95 @@
+package jp.co.soramitsu.sora.didresolver.limits;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import jp.co.soramitsu.sora.didresolver.config.properties.LimitProperties.LimiterProperties;
+import jp.co.soramitsu.sora.didresolver.limits.GradientLimiter.Permit;
+import org.junit.jupiter.api.Test;
+
+public class GradientLimiterTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final LimiterProperties properties = new LimiterProperties();
+
+  GradientLimiterTest() {
+    properties.setInitialLimit(20);
+    properties.setMinLimit(2);
+    properties.setMaxLimit(100);
+  }
+
+  @Test
+  void requestsAboveLimitAreRejected() {
+    properties.setInitialLimit(2);
+    GradientLimiter limiter = new GradientLimiter(properties);
+
+    Permit first = limiter.tryAcquire();
+    assertNotNull(first);
+    assertNotNull(limiter.tryAcquire());
+    assertNull(limiter.tryAcquire());
+
+    first.release();
+    first.release();
+    assertEquals(1, limiter.getInFlight());
+    assertNotNull(limiter.tryAcquire());
+  }
+
+  @Test
+  void limitGrowsWhileLatencyIsStable() {
+    GradientLimiter limiter = new GradientLimiter(properties);
+
+    for (int i = 0; i < 500; i++) {
+      limiter.onSample(FAST, limiter.getLimit());
+    }
+
+    assertEquals(100, limiter.getLimit());
+  }
+
+  @Test
+  void limitGoesDownWhenLatencyGrows() {
+    GradientLimiter limiter = new GradientLimiter(properties);
+    for (int i = 0; i < 100; i++) {
+      limiter.onSample(FAST, limiter.getLimit());
+    }
+
+    int initial = limiter.getLimit();
+
+    for (int i = 0; i < 10; i++) {
+      int limit = limiter.getLimit();
+      limiter.onSample(SLOW, limit);
+      assertTrue(limiter.getLimit() < limit, limiter.getLimit() + " < " + limit);
+    }
+    assertTrue(limiter.getLimit() < initial / 2);
+  }
+
+  @Test
+  void samplesBelowHalfOfLimitDontChangeIt() {
+    GradientLimiter limiter = new GradientLimiter(properties);
+    limiter.onSample(FAST, 20);
+
+    for (int i = 0; i < 50; i++) {
+      limiter.onSample(SLOW, 1);
+    }
+
+    assertEquals(20, limiter.getLimit());
+  }
+
+  @Test
+  void limitStaysWithinBounds() {
+    properties.setInitialLimit(1000);
+    GradientLimiter limiter = new GradientLimiter(properties);
+    assertEquals(100, limiter.getLimit());
+
+    limiter.onSample(FAST, 100);
+    for (int i = 0; i < 200; i++) {
+      limiter.onSample(SLOW * 10, limiter.getLimit());
+    }
+
+    assertTrue(limiter.getLimit() >= 2);
+  }
+}
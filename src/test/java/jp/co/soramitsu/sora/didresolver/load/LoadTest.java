@@ -0,0 +1,356 @@
+package jp.co.soramitsu.sora.didresolver.load;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.Instant.now;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.security.SignatureException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import jp.co.soramitsu.sora.didresolver.util.DDOCorpus;
+import jp.co.soramitsu.sora.didresolver.util.DDOSigner;
+import jp.co.soramitsu.sora.didresolver.util.DDOSigner.Identity;
+import jp.co.soramitsu.sora.sdk.json.JsonUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Closed-loop load test of the HTTP API. DIDs are registered first, then every client picks an
+ * operation by the configured mix and a DID by Zipf popularity and sends the request as soon as
+ * the previous one is answered. Latency of every operation is recorded in microseconds to
+ * HdrHistogram, interval histograms are written to a {@code .hlog} file tagged by operation, and
+ * a summary with throughput, percentiles and response codes is printed at the end.
+ *
+ * <p>Run with {@code gradle loadTest -Dload.concurrency=32 -Dload.duration=PT5M}, see {@link
+ * LoadTestSettings} for the rest of the properties
+ */
+@Slf4j
+public class LoadTest {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  private final LoadTestSettings settings;
+  private final String baseUrl;
+  private final ObjectMapper mapper = JsonUtil.buildMapper();
+  private final RestTemplate restTemplate = new RestTemplate();
+  private final ZipfDistribution zipf;
+  private final String[] dids;
+  private final byte[][] createBodies;
+  private final byte[][] updateBodies;
+  /**
+   * 1 when the DID is registered, writes of deleted DIDs register them again
+   */
+  private final AtomicIntegerArray registered;
+  private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+  private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+  private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+  LoadTest(LoadTestSettings settings, String baseUrl) {
+    this.settings = settings;
+    this.baseUrl = baseUrl;
+    this.zipf = new ZipfDistribution(settings.getDids(), settings.getZipfExponent());
+    this.dids = new String[settings.getDids()];
+    this.createBodies = new byte[settings.getDids()][];
+    this.updateBodies = new byte[settings.getDids()][];
+    this.registered = new AtomicIntegerArray(settings.getDids());
+    for (Operation operation : Operation.values()) {
+      recorders.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+      totals.put(operation, new Histogram(SIGNIFICANT_DIGITS));
+    }
+    restTemplate.setErrorHandler(new ResponseErrorHandler() {
+      @Override
+      public boolean hasError(ClientHttpResponse response) {
+        // every HTTP status is an outcome of the request, not a failure of the client
+        return false;
+      }
+
+      @Override
+      public void handleError(ClientHttpResponse response) {
+      }
+    });
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    if (settings.getBaseUrl() != null) {
+      new LoadTest(settings, settings.getBaseUrl()).run();
+      return;
+    }
+    try (LocalResolver resolver = new LocalResolver(settings.getPeer())) {
+      new LoadTest(settings, resolver.getBaseUrl()).run();
+    }
+  }
+
+  void run() throws InterruptedException {
+    ExecutorService clients = Executors.newFixedThreadPool(settings.getConcurrency());
+    try {
+      prepare(clients);
+      measure(clients);
+    } finally {
+      clients.shutdownNow();
+    }
+    printSummary();
+  }
+
+  /**
+   * Signs or reads from corpus DDOs of all DIDs and registers them
+   */
+  private void prepare(ExecutorService clients) throws InterruptedException {
+    if (settings.getCorpus() != null) {
+      readCorpus(new File(settings.getCorpus()));
+    } else {
+      sign();
+    }
+    log.info("registering {} DIDs at {}", dids.length, baseUrl);
+    CountDownLatch registration = new CountDownLatch(settings.getConcurrency());
+    for (int client = 0; client < settings.getConcurrency(); client++) {
+      int first = client;
+      clients.execute(() -> {
+        for (int i = first; i < dids.length; i += settings.getConcurrency()) {
+          execute(Operation.WRITE, i);
+        }
+        registration.countDown();
+      });
+    }
+    registration.await();
+  }
+
+  private void sign() {
+    log.info("signing {} DDOs", dids.length);
+    Instant created = now();
+    Instant updated = created.plusSeconds(1);
+    ThreadLocal<DDOSigner> signers = ThreadLocal.withInitial(DDOSigner::new);
+    IntStream.range(0, dids.length).parallel().forEach(i -> {
+      DDOSigner signer = signers.get();
+      Identity identity = signer.newIdentity(settings.getKeys());
+      dids[i] = identity.getDid().toString();
+      createBodies[i] = encode(sign(signer, identity, created, null));
+      updateBodies[i] = encode(sign(signer, identity, created, updated));
+    });
+  }
+
+  /**
+   * Takes the first DDOs of the corpus generated with updates
+   */
+  private void readCorpus(File corpus) {
+    log.info("reading {} DDOs from {}", dids.length, corpus);
+    try (Stream<String> ddos = DDOCorpus.ddos(corpus).limit(dids.length);
+        Stream<String> updates = DDOCorpus.updates(corpus).limit(dids.length)) {
+      Iterator<String> updateLines = updates.iterator();
+      int i = 0;
+      for (Iterator<String> ddoLines = ddos.iterator(); ddoLines.hasNext(); i++) {
+        String ddo = ddoLines.next();
+        dids[i] = mapper.readTree(ddo).get("id").asText();
+        createBodies[i] = ddo.getBytes(UTF_8);
+        updateBodies[i] = updateLines.next().getBytes(UTF_8);
+      }
+      if (i < dids.length) {
+        throw new IllegalStateException(
+            "Corpus " + corpus + " has " + i + " DDOs, " + dids.length + " are required");
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void measure(ExecutorService clients) throws InterruptedException {
+    long start = System.nanoTime();
+    long measurementStart = start + settings.getWarmup().toNanos();
+    long end = measurementStart + settings.getDuration().toNanos();
+    for (int client = 0; client < settings.getConcurrency(); client++) {
+      SplittableRandom random = new SplittableRandom(settings.getSeed() + client);
+      clients.execute(() -> {
+        while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+          execute(settings.operation(random.nextInt(100)), zipf.sample(random));
+        }
+      });
+    }
+    log.info("warming up for {}", settings.getWarmup());
+    NANOSECONDS.sleep(measurementStart - System.nanoTime());
+    recorders.values().forEach(Recorder::reset);
+    outcomes.clear();
+
+    log.info("measuring for {}", settings.getDuration());
+    File histogramFile = new File(settings.getOutput(),
+        "load-" + System.currentTimeMillis() + ".hlog");
+    try (HistogramLog histogramLog = new HistogramLog(histogramFile)) {
+      long interval = settings.getReportInterval().toNanos();
+      for (long next = measurementStart + interval; next < end; next += interval) {
+        NANOSECONDS.sleep(next - System.nanoTime());
+        snapshot(histogramLog);
+      }
+      clients.shutdown();
+      clients.awaitTermination(1, MINUTES);
+      snapshot(histogramLog);
+    }
+    log.info("histogram log is written to {}", histogramFile.getAbsolutePath());
+  }
+
+  private void snapshot(HistogramLog histogramLog) {
+    recorders.forEach((operation, recorder) -> {
+      Histogram histogram = recorder.getIntervalHistogram();
+      histogram.setTag(operation.name());
+      histogramLog.write(histogram);
+      totals.get(operation).add(histogram);
+    });
+  }
+
+  private void execute(Operation operation, int index) {
+    long start = System.nanoTime();
+    String outcome;
+    try {
+      outcome = outcome(send(operation, index));
+    } catch (RestClientException e) {
+      outcome = e.getClass().getSimpleName();
+    }
+    recorders.get(operation).recordValue(NANOSECONDS.toMicros(System.nanoTime() - start));
+    outcomes.computeIfAbsent(operation + " " + outcome, key -> new LongAdder()).increment();
+  }
+
+  private ResponseEntity<String> send(Operation operation, int index) {
+    switch (operation) {
+      case READ:
+        return exchange(HttpMethod.GET, index, null);
+      case WRITE:
+        if (registered.compareAndSet(index, 0, 1)) {
+          return restTemplate.exchange(baseUrl, HttpMethod.POST, body(createBodies[index]),
+              String.class);
+        }
+        return exchange(HttpMethod.PUT, index, updateBodies[index]);
+      case DELETE:
+        registered.set(index, 0);
+        return exchange(HttpMethod.DELETE, index, null);
+      default:
+        throw new IllegalArgumentException("Unknown operation " + operation);
+    }
+  }
+
+  private ResponseEntity<String> exchange(HttpMethod method, int index, byte[] body) {
+    return restTemplate.exchange(baseUrl + "/{did}", method, body(body), String.class,
+        dids[index]);
+  }
+
+  private static HttpEntity<byte[]> body(byte[] body) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(APPLICATION_JSON_UTF8);
+    return new HttpEntity<>(body, headers);
+  }
+
+  /**
+   * Response code of the resolver, or HTTP status when the body has none
+   */
+  private String outcome(ResponseEntity<String> response) {
+    try {
+      JsonNode code = response.getBody() == null ? null
+          : mapper.readTree(response.getBody()).path("status").path("code");
+      if (code != null && code.isTextual()) {
+        return code.asText();
+      }
+    } catch (IOException e) {
+      log.debug("response is not JSON", e);
+    }
+    return "HTTP_" + response.getStatusCodeValue();
+  }
+
+  private void printSummary() {
+    double seconds = settings.getDuration().toNanos() / 1e9;
+    System.out.printf("%n%-8s %10s %12s", "op", "count", "ops/s");
+    for (double percentile : PERCENTILES) {
+      System.out.printf(" %10s", "p" + percentile);
+    }
+    System.out.printf(" %10s   (latency in %s)%n", "max", MICROSECONDS);
+    totals.forEach((operation, histogram) -> {
+      System.out.printf("%-8s %10d %12.1f", operation, histogram.getTotalCount(),
+          histogram.getTotalCount() / seconds);
+      for (double percentile : PERCENTILES) {
+        System.out.printf(" %10d", histogram.getValueAtPercentile(percentile));
+      }
+      System.out.printf(" %10d%n", histogram.getMaxValue());
+    });
+    System.out.println();
+    outcomes.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .forEach(entry -> System.out.printf("%-40s %10d%n", entry.getKey(), entry.getValue().sum()));
+  }
+
+  private JsonNode sign(DDOSigner signer, Identity identity, Instant created, Instant updated) {
+    try {
+      return signer.sign(identity, created, updated);
+    } catch (IOException | SignatureException e) {
+      throw new IllegalStateException("Could not sign DDO of " + identity.getDid(), e);
+    }
+  }
+
+  private byte[] encode(JsonNode ddo) {
+    try {
+      return mapper.writeValueAsBytes(ddo);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * HdrHistogram log with interval histograms tagged by operation
+   */
+  private static class HistogramLog implements AutoCloseable {
+
+    private final PrintStream stream;
+    private final HistogramLogWriter writer;
+
+    HistogramLog(File file) {
+      if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+        throw new IllegalStateException("Could not create " + file.getParent());
+      }
+      try {
+        stream = new PrintStream(new FileOutputStream(file), false, UTF_8.name());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      writer = new HistogramLogWriter(stream);
+      writer.outputLogFormatVersion();
+      writer.outputStartTime(System.currentTimeMillis());
+      writer.outputLegend();
+    }
+
+    void write(Histogram histogram) {
+      writer.outputIntervalHistogram(histogram);
+    }
+
+    @Override
+    public void close() {
+      stream.close();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package jp.co.soramitsu.sora.didresolver.load;
+
+import static java.lang.Double.parseDouble;
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+
+import java.time.Duration;
+import jp.co.soramitsu.sora.didresolver.iroha.FakeIrohaPeerSettings;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Workload of {@link LoadTest}, read from {@code load.*} system properties. Durations are in ISO-8601
+ * format, e.g. {@code -Dload.duration=PT5M}
+ */
+@Builder
+@Getter
+class LoadTestSettings {
+
+  private static final String PREFIX = "load.";
+
+  /**
+   * URL of {@code /v1/did} of a running resolver, the resolver is started locally against {@link
+   * jp.co.soramitsu.sora.didresolver.iroha.FakeIrohaPeer} when not set
+   */
+  private final String baseUrl;
+  /**
+   * Number of DIDs registered before the run, i.e. the key space
+   */
+  private final int dids;
+  /**
+   * Public keys in each DDO signed for the run
+   */
+  private final int keys;
+  /**
+   * Directory of {@link jp.co.soramitsu.sora.didresolver.util.DDOCorpus} generated with updates,
+   * DDOs are read from it instead of being signed for the run when set
+   */
+  private final String corpus;
+  /**
+   * Exponent of Zipf popularity of DIDs, 0 is uniform
+   */
+  private final double zipfExponent;
+  private final int readPercent;
+  private final int writePercent;
+  private final int deletePercent;
+  /**
+   * Number of clients, each one sends next request as soon as the previous one is answered
+   */
+  private final int concurrency;
+  /**
+   * Time of load before measurement, results of it are discarded
+   */
+  private final Duration warmup;
+  private final Duration duration;
+  /**
+   * Interval of histogram snapshots in the log
+   */
+  private final Duration reportInterval;
+  private final long seed;
+  /**
+   * Directory of the histogram log
+   */
+  private final String output;
+  /**
+   * Ledger stand-in used when {@code baseUrl} is not set
+   */
+  private final FakeIrohaPeerSettings peer;
+
+  static LoadTestSettings fromSystemProperties() {
+    String[] mix = property("mix", "90:8:2").split(":");
+    if (mix.length != 3) {
+      throw new IllegalArgumentException("load.mix must be read:write:delete percentages");
+    }
+    LoadTestSettings settings = LoadTestSettings.builder()
+        .baseUrl(System.getProperty(PREFIX + "baseUrl"))
+        .dids(parseInt(property("dids", "10000")))
+        .keys(parseInt(property("keys", "1")))
+        .corpus(System.getProperty(PREFIX + "corpus"))
+        .zipfExponent(parseDouble(property("zipfExponent", "1.0")))
+        .readPercent(parseInt(mix[0]))
+        .writePercent(parseInt(mix[1]))
+        .deletePercent(parseInt(mix[2]))
+        .concurrency(parseInt(property("concurrency", "16")))
+        .warmup(Duration.parse(property("warmup", "PT10S")))
+        .duration(Duration.parse(property("duration", "PT60S")))
+        .reportInterval(Duration.parse(property("reportInterval", "PT1S")))
+        .seed(parseLong(property("seed", "0")))
+        .output(property("output", "build/reports/load"))
+        .peer(FakeIrohaPeerSettings.builder()
+            .commitLatency(Duration.parse(property("peer.commitLatency", "PT0S")))
+            .commitJitter(Duration.parse(property("peer.commitJitter", "PT0S")))
+            .blockInterval(Duration.parse(property("peer.blockInterval", "PT0S")))
+            .queryLatency(Duration.parse(property("peer.queryLatency", "PT0S")))
+            .rejectionRate(parseDouble(property("peer.rejectionRate", "0")))
+            .transportErrorRate(parseDouble(property("peer.transportErrorRate", "0")))
+            .seed(parseLong(property("seed", "0")))
+            .build())
+        .build();
+    if (settings.readPercent + settings.writePercent + settings.deletePercent != 100) {
+      throw new IllegalArgumentException("load.mix percentages must sum up to 100");
+    }
+    return settings;
+  }
+
+  Operation operation(int percentile) {
+    if (percentile < readPercent) {
+      return Operation.READ;
+    }
+    return percentile < readPercent + writePercent ? Operation.WRITE : Operation.DELETE;
+  }
+
+  private static String property(String name, String defaultValue) {
+    return System.getProperty(PREFIX + name, defaultValue);
+  }
+}
@@ -0,0 +1,53 @@
+package jp.co.soramitsu.sora.didresolver.load;
+
+import static java.lang.System.setProperty;
+import static jp.co.soramitsu.sora.didresolver.IntegrationTest.PRIVATEKEY;
+import static jp.co.soramitsu.sora.didresolver.IntegrationTest.PUBLICKEY;
+import static jp.co.soramitsu.sora.didresolver.commons.URIConstants.PATH;
+
+import java.io.Closeable;
+import jp.co.soramitsu.sora.didresolver.DIDResolverApplication;
+import jp.co.soramitsu.sora.didresolver.iroha.FakeIrohaPeer;
+import jp.co.soramitsu.sora.didresolver.iroha.FakeIrohaPeerSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+/**
+ * Resolver application on a random port, backed by {@link FakeIrohaPeer} instead of Iroha
+ */
+@Slf4j
+class LocalResolver implements Closeable {
+
+  private final FakeIrohaPeer peer;
+  private final ConfigurableApplicationContext context;
+
+  LocalResolver(FakeIrohaPeerSettings peerSettings) {
+    peer = FakeIrohaPeer.start(peerSettings);
+    setProperty("DIDRESOLVER_IROHA_PUBLIC_KEY", PUBLICKEY);
+    setProperty("DIDRESOLVER_IROHA_PRIVATE_KEY", PRIVATEKEY);
+    setProperty("DIDRESOLVER_IROHA_HOST", peer.getHost());
+    setProperty("DIDRESOLVER_IROHA_PORT", String.valueOf(peer.getPort()));
+    context = new SpringApplicationBuilder(DIDResolverApplication.class).run(
+        "--server.port=0",
+        "--spring.zipkin.enabled=false",
+        "--logging.level.jp.co.soramitsu.sora=warn");
+    log.info("resolver is started at {}", getBaseUrl());
+  }
+
+  /**
+   * URL of {@code /v1/did} of the started resolver
+   */
+  String getBaseUrl() {
+    Environment environment = context.getEnvironment();
+    return "http://localhost:" + environment.getProperty("local.server.port")
+        + environment.getProperty("server.servlet.context-path", "") + PATH;
+  }
+
+  @Override
+  public void close() {
+    context.close();
+    peer.close();
+  }
+}
@@ -0,0 +1,19 @@
+package jp.co.soramitsu.sora.didresolver.load;
+
+/**
+ * Requests issued by the load test
+ */
+enum Operation {
+  /**
+   * {@code GET} of the DDO
+   */
+  READ,
+  /**
+   * {@code PUT} of the updated DDO, or {@code POST} when the DID was deleted during the run
+   */
+  WRITE,
+  /**
+   * {@code DELETE} of the DDO
+   */
+  DELETE
+}
@@ -0,0 +1,39 @@
+package jp.co.soramitsu.sora.didresolver.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution over ranks {@code 0..n-1}, the probability of rank {@code k} is proportional to
+ * {@code 1 / (k + 1)^exponent}. Cumulative probabilities are precomputed, so sampling is a binary
+ * search and the instance can be shared between threads
+ */
+class ZipfDistribution {
+
+  private final double[] cumulative;
+
+  ZipfDistribution(int n, double exponent) {
+    if (n <= 0) {
+      throw new IllegalArgumentException("Number of ranks must be positive: " + n);
+    }
+    cumulative = new double[n];
+    double sum = 0;
+    for (int rank = 0; rank < n; rank++) {
+      sum += 1 / Math.pow(rank + 1, exponent);
+      cumulative[rank] = sum;
+    }
+    for (int rank = 0; rank < n; rank++) {
+      cumulative[rank] /= sum;
+    }
+  }
+
+  int sample(SplittableRandom random) {
+    int index = Arrays.binarySearch(cumulative, random.nextDouble());
+    int rank = index >= 0 ? index : -index - 1;
+    return Math.min(rank, cumulative.length - 1);
+  }
+
+  int size() {
+    return cumulative.length;
+  }
+}
@@ -0,0 +1,54 @@
+package jp.co.soramitsu.sora.didresolver.load;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class ZipfDistributionTest {
+
+  private static final int SAMPLES = 100_000;
+
+  @Test
+  void popularRanksAreSampledMoreOften() {
+    int[] counts = counts(new ZipfDistribution(100, 1.0), 1);
+
+    assertTrue(counts[0] > counts[1]);
+    assertTrue(counts[1] > counts[10]);
+    assertTrue(counts[10] > counts[99]);
+    // probability of the first rank is 1 / H(100) ~ 0.193
+    assertEquals(0.193, (double) counts[0] / SAMPLES, 0.01);
+  }
+
+  @Test
+  void zeroExponentIsUniform() {
+    int[] counts = counts(new ZipfDistribution(4, 0), 1);
+
+    for (int count : counts) {
+      assertEquals(0.25, (double) count / SAMPLES, 0.01);
+    }
+  }
+
+  @Test
+  void sameSeedGivesSameSamples() {
+    ZipfDistribution zipf = new ZipfDistribution(1000, 1.2);
+    assertArrayEquals(counts(zipf, 42), counts(zipf, 42));
+  }
+
+  @Test
+  void rejectsEmptyRange() {
+    assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+  }
+
+  private static int[] counts(ZipfDistribution zipf, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    int[] counts = new int[zipf.size()];
+    for (int i = 0; i < SAMPLES; i++) {
+      counts[zipf.sample(random)]++;
+    }
+    return counts;
+  }
+}
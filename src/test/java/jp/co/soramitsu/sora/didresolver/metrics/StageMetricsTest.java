@@ -0,0 +1,64 @@
+package jp.co.soramitsu.sora.didresolver.metrics;
+
+import static jp.co.soramitsu.sora.didresolver.controllers.dto.ResponseCode.DID_NOT_FOUND;
+import static jp.co.soramitsu.sora.didresolver.metrics.StageMetrics.ENDPOINT_TAG;
+import static jp.co.soramitsu.sora.didresolver.metrics.StageMetrics.NONE;
+import static jp.co.soramitsu.sora.didresolver.metrics.StageMetrics.OUTCOME_TAG;
+import static jp.co.soramitsu.sora.didresolver.metrics.StageMetrics.STAGE_TAG;
+import static jp.co.soramitsu.sora.didresolver.metrics.StageMetrics.STAGE_TIMER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+public class StageMetricsTest {
+
+  private static final String ENDPOINT = "GET /v1/did/{did}";
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final StageMetrics stageMetrics = new StageMetrics(registry);
+
+  @Test
+  void samplesOutsideOfRequestAreRecordedRightAway() {
+    stageMetrics.stop(Stage.DECODE, stageMetrics.start());
+    stageMetrics.size(SizeMetric.DDO, 100);
+
+    assertEquals(1, registry.get(STAGE_TIMER)
+        .tags(STAGE_TAG, "decode", ENDPOINT_TAG, NONE, OUTCOME_TAG, NONE).timer().count());
+    assertEquals(100, registry.get(SizeMetric.DDO.getName())
+        .tags(ENDPOINT_TAG, NONE, OUTCOME_TAG, NONE).summary().totalAmount());
+  }
+
+  @Test
+  void samplesOfRequestAreTaggedWithEndpointAndOutcome() {
+    stageMetrics.begin();
+    stageMetrics.stop(Stage.IROHA_QUERY, stageMetrics.start());
+    stageMetrics.size(SizeMetric.IROHA_DETAIL, 2);
+    assertNull(registry.find(STAGE_TIMER).timer());
+
+    stageMetrics.responseWriteStarted(DID_NOT_FOUND);
+    stageMetrics.end(ENDPOINT, "HTTP_200");
+
+    assertEquals(1, registry.get(STAGE_TIMER)
+        .tags(STAGE_TAG, "iroha_query", ENDPOINT_TAG, ENDPOINT, OUTCOME_TAG, "DID_NOT_FOUND")
+        .timer().count());
+    assertEquals(1, registry.get(STAGE_TIMER)
+        .tags(STAGE_TAG, "response_write", ENDPOINT_TAG, ENDPOINT, OUTCOME_TAG, "DID_NOT_FOUND")
+        .timer().count());
+    assertEquals(1, registry.get(SizeMetric.IROHA_DETAIL.getName())
+        .tags(ENDPOINT_TAG, ENDPOINT, OUTCOME_TAG, "DID_NOT_FOUND").summary().count());
+  }
+
+  @Test
+  void requestWithoutResponseCodeUsesDefaultOutcome() {
+    stageMetrics.begin();
+    stageMetrics.stop(Stage.DECODE, stageMetrics.start());
+    stageMetrics.end(ENDPOINT, "HTTP_400");
+
+    assertEquals(1, registry.get(STAGE_TIMER)
+        .tags(STAGE_TAG, "decode", OUTCOME_TAG, "HTTP_400").timer().count());
+    assertNull(registry.find(STAGE_TIMER).tags(STAGE_TAG, "response_write").timer());
+  }
+}
@@ -0,0 +1,57 @@
+package jp.co.soramitsu.sora.didresolver.metrics;
+
+import static iroha.protocol.Endpoint.TxStatus.COMMITTED;
+import static iroha.protocol.Endpoint.TxStatus.STATELESS_VALIDATION_SUCCESS;
+import static jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.FAILED_COMMAND_TAG;
+import static jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.IN_FLIGHT;
+import static jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.REJECTIONS;
+import static jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.STATUS_TAG;
+import static jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.STATUS_TIMER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.co.soramitsu.sora.didresolver.metrics.TransactionMetrics.Submission;
+import org.junit.jupiter.api.Test;
+
+public class TransactionMetricsTest {
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final TransactionMetrics transactionMetrics = new TransactionMetrics(registry);
+
+  @Test
+  void statusesAreTimedFromSubmission() {
+    try (Submission submission = transactionMetrics.submitted()) {
+      submission.status(STATELESS_VALIDATION_SUCCESS);
+      submission.status(COMMITTED);
+    }
+
+    assertEquals(1, registry.get(STATUS_TIMER)
+        .tags(STATUS_TAG, "stateless_validation_success").timer().count());
+    assertEquals(1, registry.get(STATUS_TIMER).tags(STATUS_TAG, "committed").timer().count());
+  }
+
+  @Test
+  void rejectionsAreCountedByFailedCommand() {
+    try (Submission submission = transactionMetrics.submitted()) {
+      submission.rejected(2);
+    }
+
+    assertEquals(1, registry.get(STATUS_TIMER).tags(STATUS_TAG, "rejected").timer().count());
+    assertEquals(1, registry.get(REJECTIONS).tags(FAILED_COMMAND_TAG, "2").counter().count());
+  }
+
+  @Test
+  void inFlightCountsUnclosedSubmissions() {
+    Submission first = transactionMetrics.submitted();
+    Submission second = transactionMetrics.submitted();
+    assertEquals(2, registry.get(IN_FLIGHT).gauge().value());
+
+    first.close();
+    first.close();
+    assertEquals(1, registry.get(IN_FLIGHT).gauge().value());
+
+    second.close();
+    assertEquals(0, registry.get(IN_FLIGHT).gauge().value());
+  }
+}
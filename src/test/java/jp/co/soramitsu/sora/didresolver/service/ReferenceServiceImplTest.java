@@ -0,0 +1,99 @@
+package jp.co.soramitsu.sora.didresolver.service;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import jp.co.soramitsu.sora.didresolver.config.properties.ResolveProperties;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import jp.co.soramitsu.sora.didresolver.services.ReferenceService.Resolver;
+import jp.co.soramitsu.sora.didresolver.services.impl.ReferenceServiceImpl;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReferenceServiceImplTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final Map<String, ResolvedDDO> ledger = new HashMap<>();
+  private final Resolver resolver = did -> Optional.ofNullable(ledger.get(did));
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+  private ReferenceServiceImpl referenceService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    val properties = new ResolveProperties();
+    properties.getReferences().setMaxDocuments(3);
+    referenceService = new ReferenceServiceImpl(properties, executor);
+    // a is owned by b, b is owned by c and authenticated by a key of a
+    register("did:sora:a", "did:sora:b", "did:sora:a#keys-1");
+    register("did:sora:b", "did:sora:c", "did:sora:a#keys-1");
+    register("did:sora:c", "did:sora:c", "did:sora:c#keys-1");
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void resolvesReferencesUpToTheDepth() {
+    val references = referenceService.resolveReferences(ledger.get("did:sora:a"), 1, resolver);
+    assertEquals(asList("did:sora:b"), new ArrayList<>(references.keySet()));
+    assertEquals(ledger.get("did:sora:b").getJson(), references.get("did:sora:b"));
+  }
+
+  @Test
+  void resolvesEveryDIDOnceThroughCycles() {
+    val references = referenceService.resolveReferences(ledger.get("did:sora:a"), 3, resolver);
+    assertEquals(asList("did:sora:b", "did:sora:c"), new ArrayList<>(references.keySet()));
+  }
+
+  @Test
+  void unresolvedReferencesAreNull() throws IOException {
+    register("did:sora:d", "did:sora:missing", "did:sora:d#keys-1");
+    Resolver failing = did -> {
+      throw new IllegalStateException("ledger is unavailable");
+    };
+    val references = referenceService.resolveReferences(ledger.get("did:sora:d"), 1, resolver);
+    assertTrue(references.containsKey("did:sora:missing"));
+    assertNull(references.get("did:sora:missing"));
+    assertNull(referenceService.resolveReferences(ledger.get("did:sora:a"), 1, failing)
+        .get("did:sora:b"));
+  }
+
+  @Test
+  void stopsAtTheLimitOfDocuments() throws IOException {
+    ledger.put("did:sora:wide", new ResolvedDDO(mapper.readTree(
+        "{\"id\":\"did:sora:wide\",\"publicKey\":["
+            + "{\"id\":\"did:sora:x#keys-1\",\"owner\":\"did:sora:y\"},"
+            + "{\"id\":\"did:sora:wide#keys-1\",\"owner\":\"did:sora:z\"}],"
+            + "\"proof\":{\"creator\":\"did:sora:w#keys-1\"}}")));
+    val references = referenceService.resolveReferences(ledger.get("did:sora:wide"), 1, resolver);
+    assertEquals(asList("did:sora:x", "did:sora:y", "did:sora:z"),
+        new ArrayList<>(references.keySet()));
+  }
+
+  @Test
+  void depthIsLimited() {
+    assertThrows(IllegalArgumentException.class,
+        () -> referenceService.resolveReferences(ledger.get("did:sora:a"), 4, resolver));
+  }
+
+  private void register(String did, String owner, String authenticationKey) throws IOException {
+    ledger.put(did, new ResolvedDDO(mapper.readTree("{\"id\":\"" + did + "\","
+        + "\"publicKey\":[{\"id\":\"" + did + "#keys-1\",\"owner\":\"" + owner + "\"}],"
+        + "\"authentication\":[{\"publicKey\":\"" + authenticationKey + "\"}]}")));
+  }
+}
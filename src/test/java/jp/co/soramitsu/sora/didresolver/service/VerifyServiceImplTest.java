@@ -1,5 +1,10 @@
 package jp.co.soramitsu.sora.didresolver.service;
 
+import static java.util.Arrays.asList;
+import static jp.co.soramitsu.iroha.java.Utils.parseHexKeypair;
+import static jp.co.soramitsu.sora.didresolver.IntegrationTest.PRIVATEKEY;
+import static jp.co.soramitsu.sora.didresolver.IntegrationTest.PUBLICKEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -9,8 +14,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.security.KeyPair;
 import java.util.List;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.sora.didresolver.dto.ResolvedDDO;
+import jp.co.soramitsu.sora.didresolver.dto.SignedDDO;
 import jp.co.soramitsu.sora.didresolver.exceptions.ProofSignatureVerificationException;
+import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyNotFoundException;
 import jp.co.soramitsu.sora.didresolver.exceptions.PublicKeyValueNotPresentedException;
 import jp.co.soramitsu.sora.didresolver.services.VerifyService;
 import jp.co.soramitsu.sora.didresolver.services.impl.VerifyServiceImpl;
@@ -79,6 +89,68 @@ public class VerifyServiceImplTest {
     assertThrows(IllegalArgumentException.class, () -> verifyService.verifyIntegrityOfDDO(ddo, ddoJson));
   }
 
+  @Test
+  void testVerifyDDOsReportsEveryDDO() throws IOException {
+    DDO ddo = mapper.treeToValue(ddoJson, DDO.class);
+    ObjectNode tamperedJson = (ObjectNode) JsonUtil.deepClone(ddoJson, JsonNode.class);
+    tamperedJson.put("proof", "testSig");
+    List<Boolean> results = verifyService.verifyIntegrityOfDDOs(asList(
+        new SignedDDO(ddo, ddoJson),
+        new SignedDDO(ddo, tamperedJson),
+        new SignedDDO(ddo, ddoJson)));
+    assertEquals(asList(true, false, true), results);
+  }
+
+  @Test
+  void testVerifyDDOsReportsMalformedKeyAndAbsentProof()
+      throws IOException, NoSuchFieldException, IllegalAccessException {
+    DDO malformedKeyDdo = mapper.treeToValue(ddoJson, DDO.class);
+    Ed25519Sha3VerificationKey publicKey =
+        (Ed25519Sha3VerificationKey) malformedKeyDdo.getPublicKey().get(0);
+    Field publicKeyField = Ed25519Sha3VerificationKey.class.getDeclaredField("publicKey");
+    publicKeyField.setAccessible(true);
+    publicKeyField.set(publicKey, "testKey".getBytes());
+    DDO noProofDdo = mapper.treeToValue(ddoJson, DDO.class);
+    noProofDdo.setProof(null);
+    List<Boolean> results = verifyService.verifyIntegrityOfDDOs(asList(
+        new SignedDDO(malformedKeyDdo, ddoJson),
+        new SignedDDO(noProofDdo, ddoJson)));
+    assertEquals(asList(false, false), results);
+  }
+
+  @Test
+  void testVerifySignatureByKeyOfDDO() throws Exception {
+    KeyPair keyPair = parseHexKeypair(PUBLICKEY, PRIVATEKEY);
+    ResolvedDDO ddo = new ResolvedDDO(ddoWithKey(PUBLICKEY));
+    byte[] message = "message".getBytes();
+    byte[] signature = new Ed25519Sha3().rawSign(message, keyPair);
+    String keyId = "did:sora:username#keys-1";
+    assertTrue(verifyService.verifySignature(ddo, keyId, message, signature));
+    assertFalse(verifyService.verifySignature(ddo, keyId, "other".getBytes(), signature));
+    assertFalse(verifyService.verifySignature(ddo, keyId, message, "short".getBytes()));
+  }
+
+  @Test
+  void testVerifySignatureByAbsentKey() throws Exception {
+    ResolvedDDO ddo = new ResolvedDDO(ddoWithKey(PUBLICKEY));
+    assertThrows(PublicKeyNotFoundException.class, () -> verifyService
+        .verifySignature(ddo, "did:sora:username#keys-2", "message".getBytes(), new byte[64]));
+  }
+
+  @Test
+  void testVerifySignatureByKeyOfOtherDID() throws Exception {
+    ResolvedDDO ddo = new ResolvedDDO(ddoWithKey(PUBLICKEY));
+    assertThrows(PublicKeyNotFoundException.class, () -> verifyService
+        .verifySignature(ddo, "did:sora:other#keys-1", "message".getBytes(), new byte[64]));
+  }
+
+  @Test
+  void testVerifySignatureByKeyWithoutValue() throws Exception {
+    ResolvedDDO ddo = new ResolvedDDO(ddoWithKey("testKey"));
+    assertThrows(PublicKeyValueNotPresentedException.class, () -> verifyService
+        .verifySignature(ddo, "did:sora:username#keys-1", "message".getBytes(), new byte[64]));
+  }
+
   @Test
   void testSuccessIsProofCreatorInAuth() throws ParserException {
     DID proofCreator = dataProvider.getProofForTest().getOptions().getCreator();
@@ -118,6 +190,12 @@ public class VerifyServiceImplTest {
     assertFalse(verifyService.isCreatorInPublicKeys(proof.getOptions().getCreator(), publicKeys));
   }
 
+  private static JsonNode ddoWithKey(String publicKey) throws IOException {
+    return mapper.readTree("{\"id\":\"did:sora:username\",\"publicKey\":[{"
+        + "\"id\":\"did:sora:username#keys-1\",\"type\":\"Ed25519Sha3VerificationKey\","
+        + "\"publicKey\":\"" + publicKey + "\"}]}");
+  }
+
   @TestConfiguration
   static class CryptoServiceImplTestContextConfiguration {
 
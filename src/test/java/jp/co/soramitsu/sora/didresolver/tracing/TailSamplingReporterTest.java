@@ -0,0 +1,119 @@
+package jp.co.soramitsu.sora.didresolver.tracing;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import jp.co.soramitsu.sora.didresolver.config.properties.TracingProperties.SamplingProperties;
+import org.junit.jupiter.api.Test;
+import zipkin2.Span;
+import zipkin2.Span.Kind;
+
+public class TailSamplingReporterTest {
+
+  private static final String TRACE_ID = "463ac35c9f6413ad";
+
+  private final List<Span> exported = new ArrayList<>();
+  private final SamplingProperties properties = new SamplingProperties();
+
+  TailSamplingReporterTest() {
+    properties.setSlowThreshold(Duration.ofMillis(100));
+    properties.setBaseRate(0);
+  }
+
+  @Test
+  void fastTraceIsDropped() {
+    TailSamplingReporter reporter = new TailSamplingReporter(exported::add, properties);
+    Span child = child(TRACE_ID, "2", 10_000).build();
+
+    reporter.report(child);
+    reporter.report(root(TRACE_ID, 20_000).build());
+
+    assertTrue(exported.isEmpty());
+  }
+
+  @Test
+  void slowTraceIsExportedWithBufferedSpans() {
+    TailSamplingReporter reporter = new TailSamplingReporter(exported::add, properties);
+    Span child = child(TRACE_ID, "2", 10_000).build();
+    Span root = root(TRACE_ID, 150_000).build();
+
+    reporter.report(child);
+    assertTrue(exported.isEmpty());
+    reporter.report(root);
+
+    assertEquals(asList(child, root), exported);
+  }
+
+  @Test
+  void traceWithErrorIsExported() {
+    TailSamplingReporter reporter = new TailSamplingReporter(exported::add, properties);
+    Span child = child(TRACE_ID, "2", 10_000).putTag("error", "UNAVAILABLE").build();
+    Span root = root(TRACE_ID, 20_000).build();
+
+    reporter.report(child);
+    reporter.report(root);
+
+    assertEquals(asList(child, root), exported);
+  }
+
+  @Test
+  void spansAfterRootFollowTheDecision() {
+    TailSamplingReporter reporter = new TailSamplingReporter(exported::add, properties);
+    String droppedTrace = "463ac35c9f6413ae";
+    reporter.report(root(droppedTrace, 20_000).build());
+    reporter.report(root(TRACE_ID, 150_000).build());
+
+    reporter.report(child(droppedTrace, "2", 10_000).build());
+    Span late = child(TRACE_ID, "2", 10_000).build();
+    reporter.report(late);
+
+    assertEquals(2, exported.size());
+    assertEquals(late, exported.get(1));
+  }
+
+  @Test
+  void baseRateIsDecidedByTraceId() {
+    properties.setBaseRate(0.5);
+    TailSamplingReporter reporter = new TailSamplingReporter(exported::add, properties);
+    // 0x2710 % 10000 = 0 and 0x270f % 10000 = 9999
+    reporter.report(root("0000000000002710", 20_000).build());
+    reporter.report(root("000000000000270f", 20_000).build());
+
+    assertEquals(singletonList("0000000000002710"), traceIds());
+  }
+
+  @Test
+  void pendingTracesAreBounded() {
+    properties.setMaxPendingTraces(1);
+    TailSamplingReporter reporter = new TailSamplingReporter(exported::add, properties);
+    String evictedTrace = "463ac35c9f6413ae";
+    reporter.report(child(evictedTrace, "2", 10_000).build());
+    reporter.report(child(TRACE_ID, "2", 10_000).build());
+
+    reporter.report(root(TRACE_ID, 150_000).build());
+    reporter.report(root(evictedTrace, 150_000).build());
+
+    assertEquals(asList(TRACE_ID, TRACE_ID, evictedTrace), traceIds());
+  }
+
+  private List<String> traceIds() {
+    List<String> traceIds = new ArrayList<>();
+    exported.forEach(span -> traceIds.add(span.traceId()));
+    return traceIds;
+  }
+
+  private static Span.Builder root(String traceId, long durationMicros) {
+    return Span.newBuilder().traceId(traceId).id("1").kind(Kind.SERVER).name("get /v1/did/{did}")
+        .timestamp(1).duration(durationMicros);
+  }
+
+  private static Span.Builder child(String traceId, String id, long durationMicros) {
+    return Span.newBuilder().traceId(traceId).parentId("1").id(id).name("iroha query")
+        .timestamp(2).duration(durationMicros);
+  }
+}
@@ -0,0 +1,63 @@
+package jp.co.soramitsu.sora.didresolver.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Directory with DDOs written by {@link DDOCorpusGenerator}. DDOs are stored one per line as compact
+ * JSON, optionally gzipped. When the corpus has updates, line {@code n} of the updates is the DDO
+ * of line {@code n} with update time set, signed by the same key
+ */
+public final class DDOCorpus {
+
+  public static final String DDOS = "ddos.ndjson";
+  public static final String UPDATES = "updates.ndjson";
+  public static final String GZIP_SUFFIX = ".gz";
+
+  private DDOCorpus() {
+
+  }
+
+  /**
+   * Lines of DDOs, the stream has to be closed by the caller
+   */
+  public static Stream<String> ddos(File directory) {
+    return lines(directory, DDOS);
+  }
+
+  /**
+   * Lines of updated DDOs, the stream has to be closed by the caller
+   */
+  public static Stream<String> updates(File directory) {
+    return lines(directory, UPDATES);
+  }
+
+  private static Stream<String> lines(File directory, String name) {
+    File plain = new File(directory, name);
+    File gzipped = new File(directory, name + GZIP_SUFFIX);
+    try {
+      InputStream in = plain.exists()
+          ? new FileInputStream(plain)
+          : new GZIPInputStream(new FileInputStream(gzipped));
+      BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+      return reader.lines().onClose(() -> {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read " + name + " of corpus " + directory, e);
+    }
+  }
+}
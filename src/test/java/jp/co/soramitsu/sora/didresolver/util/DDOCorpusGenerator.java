@@ -0,0 +1,200 @@
+package jp.co.soramitsu.sora.didresolver.util;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+import static java.time.Instant.now;
+import static jp.co.soramitsu.sora.didresolver.util.DDOCorpus.DDOS;
+import static jp.co.soramitsu.sora.didresolver.util.DDOCorpus.GZIP_SUFFIX;
+import static jp.co.soramitsu.sora.didresolver.util.DDOCorpus.UPDATES;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.SignatureException;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import jp.co.soramitsu.sora.didresolver.util.DDOSigner.Identity;
+import jp.co.soramitsu.sora.sdk.json.JsonUtil;
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates a {@link DDOCorpus} of validly signed DDOs, each one with its own DID and key pairs.
+ * DDOs are signed in chunks by a pool of workers and streamed to disk by the calling thread, only a
+ * bounded number of chunks is kept in memory, so the corpus size is limited by disk only.
+ *
+ * <p>Run with {@code gradle generateDDOCorpus -Dcorpus.count=1000000 -Dcorpus.keys=3}, the
+ * properties are the fields of this class with {@code corpus.} prefix
+ */
+@Slf4j
+@Builder
+@Getter
+public class DDOCorpusGenerator {
+
+  private static final String PREFIX = "corpus.";
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  @Default
+  private final long count = 1_000_000;
+  /**
+   * Public keys in each DDO
+   */
+  @Default
+  private final int keys = 1;
+  /**
+   * Authentications in each DDO, they reference public keys in order
+   */
+  @Default
+  private final int authentications = 1;
+  /**
+   * Service endpoints in each DDO, the main knob of DDO size besides keys
+   */
+  @Default
+  private final int services = 0;
+  /**
+   * Whether updated versions of DDOs are generated as well
+   */
+  @Default
+  private final boolean updates = false;
+  @Default
+  private final boolean gzip = false;
+  @Default
+  private final int threads = Runtime.getRuntime().availableProcessors();
+  @Default
+  private final int chunkSize = 1_000;
+  @Default
+  private final File output = new File("build/corpus");
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    DDOCorpusGenerator.builder()
+        .count(parseLong(property("count", "1000000")))
+        .keys(parseInt(property("keys", "1")))
+        .authentications(parseInt(property("authentications", property("keys", "1"))))
+        .services(parseInt(property("services", "0")))
+        .updates(Boolean.parseBoolean(property("updates", "false")))
+        .gzip(Boolean.parseBoolean(property("gzip", "false")))
+        .threads(parseInt(property("threads",
+            String.valueOf(Runtime.getRuntime().availableProcessors()))))
+        .output(new File(property("output", "build/corpus")))
+        .build()
+        .generate();
+  }
+
+  /**
+   * Writes the corpus to {@code output} directory, existing corpus files are removed
+   */
+  public void generate() throws IOException, InterruptedException {
+    if (!output.exists() && !output.mkdirs()) {
+      throw new IOException("Could not create " + output);
+    }
+    for (String name : new String[]{DDOS, UPDATES}) {
+      Files.deleteIfExists(new File(output, name).toPath());
+      Files.deleteIfExists(new File(output, name + GZIP_SUFFIX).toPath());
+    }
+    long chunks = (count + chunkSize - 1) / chunkSize;
+    BlockingQueue<Chunk> signed = new ArrayBlockingQueue<>(threads * 2);
+    AtomicLong nextChunk = new AtomicLong();
+    ExecutorService workers = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      workers.execute(() -> sign(chunks, nextChunk, signed));
+    }
+    log.info("generating {} DDOs with {} keys, {} authentications and {} services to {}",
+        count, keys, authentications, services, output.getAbsolutePath());
+    long start = System.nanoTime();
+    try (OutputStream ddoStream = open(DDOS);
+        OutputStream updateStream = updates ? open(UPDATES) : null) {
+      for (long written = 1; written <= chunks; written++) {
+        Chunk chunk = signed.take();
+        if (chunk.failure != null) {
+          throw new IllegalStateException("Could not sign DDOs", chunk.failure);
+        }
+        ddoStream.write(chunk.ddos);
+        if (updateStream != null) {
+          updateStream.write(chunk.updates);
+        }
+        if (written % Math.max(1, chunks / 20) == 0) {
+          log.info("{} of {} DDOs are written", Math.min(count, written * chunkSize), count);
+        }
+      }
+    } finally {
+      workers.shutdownNow();
+    }
+    log.info("{} DDOs are generated in {} s", count, (System.nanoTime() - start) / 1_000_000_000);
+  }
+
+  private void sign(long chunks, AtomicLong nextChunk, BlockingQueue<Chunk> signed) {
+    DDOSigner signer = new DDOSigner();
+    ObjectMapper mapper = JsonUtil.buildMapper();
+    long chunk;
+    while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+      long size = Math.min(chunkSize, count - chunk * chunkSize);
+      Chunk result;
+      try {
+        result = chunk(signer, mapper, size);
+      } catch (IOException | SignatureException | RuntimeException e) {
+        result = new Chunk(null, null, e);
+      }
+      try {
+        signed.put(result);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private Chunk chunk(DDOSigner signer, ObjectMapper mapper, long size)
+      throws IOException, SignatureException {
+    ByteArrayOutputStream ddos = new ByteArrayOutputStream();
+    ByteArrayOutputStream updated = new ByteArrayOutputStream();
+    for (long i = 0; i < size; i++) {
+      Identity identity = signer.newIdentity(keys);
+      Instant created = now();
+      mapper.writeValue(ddos, signer.sign(identity, authentications, services, created, null));
+      ddos.write('\n');
+      if (updates) {
+        mapper.writeValue(updated, signer.sign(identity, authentications, services, created,
+            created.plusSeconds(1)));
+        updated.write('\n');
+      }
+    }
+    return new Chunk(ddos.toByteArray(), updated.toByteArray(), null);
+  }
+
+  private OutputStream open(String name) throws IOException {
+    if (gzip) {
+      return new GZIPOutputStream(
+          new FileOutputStream(new File(output, name + GZIP_SUFFIX)), BUFFER_SIZE);
+    }
+    return new BufferedOutputStream(new FileOutputStream(new File(output, name)), BUFFER_SIZE);
+  }
+
+  private static String property(String name, String defaultValue) {
+    return System.getProperty(PREFIX + name, defaultValue);
+  }
+
+  private static class Chunk {
+
+    private final byte[] ddos;
+    private final byte[] updates;
+    private final Exception failure;
+
+    Chunk(byte[] ddos, byte[] updates, Exception failure) {
+      this.ddos = ddos;
+      this.updates = updates;
+      this.failure = failure;
+    }
+  }
+}
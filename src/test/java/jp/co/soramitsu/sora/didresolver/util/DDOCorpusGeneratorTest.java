@@ -0,0 +1,68 @@
+package jp.co.soramitsu.sora.didresolver.util;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import jp.co.soramitsu.sora.sdk.json.JsonUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DDOCorpusGeneratorTest {
+
+  private final ObjectMapper mapper = JsonUtil.buildMapper();
+
+  @TempDir
+  File output;
+
+  @Test
+  void generatesAlignedDDOsAndUpdates() throws Exception {
+    DDOCorpusGenerator.builder()
+        .count(25)
+        .keys(2)
+        .authentications(3)
+        .services(1)
+        .updates(true)
+        .gzip(true)
+        .threads(3)
+        .chunkSize(4)
+        .output(output)
+        .build()
+        .generate();
+
+    List<JsonNode> ddos = read(DDOCorpus.ddos(output));
+    List<JsonNode> updates = read(DDOCorpus.updates(output));
+
+    assertEquals(25, ddos.size());
+    assertEquals(25, updates.size());
+    assertEquals(25, ddos.stream().map(ddo -> ddo.get("id")).distinct().count());
+    for (int i = 0; i < ddos.size(); i++) {
+      JsonNode ddo = ddos.get(i);
+      assertEquals(ddo.get("id"), updates.get(i).get("id"));
+      assertEquals(2, ddo.get("publicKey").size());
+      assertEquals(3, ddo.get("authentication").size());
+      assertEquals(1, ddo.get("service").size());
+      assertTrue(ddo.has("proof"));
+      assertFalse(ddo.has("updated"));
+      assertTrue(updates.get(i).has("updated"));
+    }
+  }
+
+  private List<JsonNode> read(Stream<String> lines) throws IOException {
+    List<JsonNode> nodes = new ArrayList<>();
+    try (Stream<String> ddos = lines) {
+      for (String line : ddos.collect(toList())) {
+        nodes.add(mapper.readTree(line));
+      }
+    }
+    return nodes;
+  }
+}
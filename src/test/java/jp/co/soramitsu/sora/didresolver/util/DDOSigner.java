@@ -0,0 +1,127 @@
+package jp.co.soramitsu.sora.didresolver.util;
+
+import static javax.xml.bind.DatatypeConverter.printHexBinary;
+import static jp.co.soramitsu.sora.sdk.did.model.type.SignatureTypeEnum.Ed25519Sha3Signature;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.net.URL;
+import java.security.KeyPair;
+import java.security.SignatureException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.crypto.ed25519.EdDSAPrivateKey;
+import jp.co.soramitsu.sora.sdk.crypto.common.HexdigestSaltGenerator;
+import jp.co.soramitsu.sora.sdk.crypto.json.JSONEd25519Sha3SignatureSuite;
+import jp.co.soramitsu.sora.sdk.did.model.dto.Authentication;
+import jp.co.soramitsu.sora.sdk.did.model.dto.DDO;
+import jp.co.soramitsu.sora.sdk.did.model.dto.DID;
+import jp.co.soramitsu.sora.sdk.did.model.dto.Options;
+import jp.co.soramitsu.sora.sdk.did.model.dto.PublicKey;
+import jp.co.soramitsu.sora.sdk.did.model.dto.Service;
+import jp.co.soramitsu.sora.sdk.did.model.dto.authentication.Ed25519Sha3Authentication;
+import jp.co.soramitsu.sora.sdk.did.model.dto.publickey.Ed25519Sha3VerificationKey;
+import jp.co.soramitsu.sora.sdk.did.model.dto.service.GenericService;
+import lombok.Value;
+
+/**
+ * Creates identities with generated key pairs and DDOs of them signed by the first key. Instances
+ * are not thread safe, use one per thread
+ */
+public class DDOSigner {
+
+  private static final String SERVICE_URL = "https://service.sora.example/endpoint/";
+
+  private final Ed25519Sha3 crypto = new Ed25519Sha3();
+  private final JSONEd25519Sha3SignatureSuite signatureSuite = new JSONEd25519Sha3SignatureSuite();
+  private final HexdigestSaltGenerator saltGenerator = new HexdigestSaltGenerator();
+
+  /**
+   * DID with key pairs of its public keys, the first key is the proof creator
+   */
+  @Value
+  public static class Identity {
+
+    DID did;
+    List<KeyPair> keyPairs;
+  }
+
+  /**
+   * Generates DID identified by the beginning of the first public key and {@code keys} key pairs
+   */
+  public Identity newIdentity(int keys) {
+    List<KeyPair> keyPairs = new ArrayList<>(keys);
+    for (int i = 0; i < keys; i++) {
+      keyPairs.add(crypto.generateKeypair());
+    }
+    DID did = DID.builder()
+        .identifier(printHexBinary(keyPairs.get(0).getPublic().getEncoded())
+            .substring(0, 20)
+            .toLowerCase())
+        .method("sora")
+        .build();
+    return new Identity(did, keyPairs);
+  }
+
+  /**
+   * Signs DDO with every key of the identity as public key and authentication
+   *
+   * @param updated - update time, DDO is not updated when {@code null}
+   */
+  public JsonNode sign(Identity identity, Instant created, Instant updated)
+      throws IOException, SignatureException {
+    return sign(identity, identity.getKeyPairs().size(), 0, created, updated);
+  }
+
+  /**
+   * Signs DDO with every key of the identity as public key
+   *
+   * @param authentications - number of authentications, they reference public keys in order and
+   * wrap around when there are more authentications than keys
+   * @param services - number of service endpoints
+   * @param updated - update time, DDO is not updated when {@code null}
+   */
+  public JsonNode sign(Identity identity, int authentications, int services, Instant created,
+      Instant updated) throws IOException, SignatureException {
+    int keys = identity.getKeyPairs().size();
+    List<PublicKey> publicKeys = new ArrayList<>(keys);
+    for (int i = 0; i < keys; i++) {
+      publicKeys.add(new Ed25519Sha3VerificationKey(keyId(identity, i),
+          identity.getKeyPairs().get(i).getPublic().getEncoded()));
+    }
+    List<Authentication> authenticationList = new ArrayList<>(authentications);
+    for (int i = 0; i < authentications; i++) {
+      authenticationList.add(new Ed25519Sha3Authentication(keyId(identity, i % keys)));
+    }
+    List<Service> serviceList = new ArrayList<>(services);
+    for (int i = 0; i < services; i++) {
+      serviceList.add(new GenericService(identity.getDid().withFragment("service-" + (i + 1)),
+          new URL(SERVICE_URL + i)));
+    }
+    DDO ddo = DDO.builder()
+        .id(identity.getDid())
+        .created(created)
+        .updated(updated)
+        .build();
+    ddo.setPublicKey(publicKeys);
+    ddo.setAuthentication(authenticationList);
+    if (!serviceList.isEmpty()) {
+      ddo.setService(serviceList);
+    }
+
+    Options options = Options.builder()
+        .created(updated == null ? created : updated)
+        .creator(publicKeys.get(0).getId())
+        .type(Ed25519Sha3Signature)
+        .nonce(saltGenerator.next())
+        .build();
+    return signatureSuite.sign(ddo,
+        (EdDSAPrivateKey) identity.getKeyPairs().get(0).getPrivate(), options);
+  }
+
+  private static DID keyId(Identity identity, int index) {
+    return identity.getDid().withFragment("keys-" + (index + 1));
+  }
+}
@@ -0,0 +1,69 @@
+package jp.co.soramitsu.sora.didresolver.validation;
+
+import static java.util.Collections.singleton;
+import static jp.co.soramitsu.sora.didresolver.commons.CryptoActionTypeEnum.VERIFY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import jp.co.soramitsu.sora.didresolver.validation.constrains.CryptoTypeConstraint;
+import jp.co.soramitsu.sora.didresolver.validation.constrains.ExactlyOneConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ValidatorsTest {
+
+  private static Validator validator;
+
+  @BeforeAll
+  static void setUp() {
+    validator = Validation.buildDefaultValidatorFactory().getValidator();
+  }
+
+  @Test
+  void validWhenExactlyOneOfGroupIsSet() {
+    assertTrue(validator.validate(new Key("Ed25519Sha3VerificationKey", "value", null)).isEmpty());
+    assertTrue(validator.validate(new Key("Ed25519Sha3VerificationKey", null, "value")).isEmpty());
+  }
+
+  @Test
+  void invalidWhenNoneOrBothOfGroupAreSet() {
+    assertEquals(singleMessage("Object must include exactly one value property"),
+        messages(validator.validate(new Key("Ed25519Sha3VerificationKey", null, null))));
+    assertEquals(singleMessage("Object must include exactly one value property"),
+        messages(validator.validate(new Key("Ed25519Sha3VerificationKey", "value", "value"))));
+  }
+
+  @Test
+  void invalidWhenCryptoTypeIsUnknown() {
+    assertEquals(singleMessage("Invalid signature type"),
+        messages(validator.validate(new Key("Ed25519Sha3Signature", "value", null))));
+    assertEquals(singleMessage("Invalid signature type"),
+        messages(validator.validate(new Key(null, "value", null))));
+  }
+
+  private static Set<String> singleMessage(String message) {
+    return singleton(message);
+  }
+
+  private static <T> Set<String> messages(Set<ConstraintViolation<T>> violations) {
+    return violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.toSet());
+  }
+
+  @Getter
+  @AllArgsConstructor
+  @ExactlyOneConstraint(group = {"publicKeyHex", "publicKeyBase64"})
+  public static class Key {
+
+    @CryptoTypeConstraint(cryptoTypeEnum = VERIFY)
+    private String type;
+    private String publicKeyHex;
+    private String publicKeyBase64;
+  }
+}